@@ -0,0 +1,104 @@
+package com.example.windsurferweatherservice.benchmark;
+
+import com.example.windsurferweatherservice.application.controller.dto.DailyForecast;
+import com.example.windsurferweatherservice.application.controller.dto.LocationForecast;
+import com.example.windsurferweatherservice.domain.model.ForecastSeries;
+import com.example.windsurferweatherservice.domain.model.Location;
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfiles;
+import com.example.windsurferweatherservice.shared.config.ScoringProperties;
+import com.example.windsurferweatherservice.shared.config.ScoringProperties.ProfileSettings;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic catalogues, so runs of different commits score the same data.
+ */
+final class BenchmarkData {
+
+    static final LocalDate FIRST_DAY = LocalDate.of(2025, 10, 1);
+    static final int FORECAST_DAYS = 7;
+
+    private BenchmarkData() {
+    }
+
+    static List<Location> locations(int count) {
+        var random = new SplittableRandom(42);
+        var locations = new ArrayList<Location>(count);
+        for (int i = 0; i < count; i++) {
+            locations.add(new Location("Spot " + i, "Country " + (i % 50),
+                    random.nextDouble(-85, 85), random.nextDouble(-180, 180)));
+        }
+        return locations;
+    }
+
+    /**
+     * Daily forecasts with wind between 0 and 25 m/s and temperature between -5 and 40 degrees,
+     * so roughly half of them are suitable for windsurfing.
+     */
+    static List<DailyForecast> dailyForecasts(int count, LocalDate date) {
+        var random = new SplittableRandom(7);
+        var forecasts = new ArrayList<DailyForecast>(count);
+        for (int i = 0; i < count; i++) {
+            forecasts.add(new DailyForecast(date.toString(), random.nextDouble(-5, 40), random.nextDouble(0, 25)));
+        }
+        return forecasts;
+    }
+
+    static List<LocationForecast> locationForecasts(int count, LocalDate date) {
+        var locations = locations(count);
+        var forecasts = dailyForecasts(count, date);
+        var result = new ArrayList<LocationForecast>(count);
+        for (int i = 0; i < count; i++) {
+            var forecast = forecasts.get(i);
+            result.add(new LocationForecast(locations.get(i), forecast.temp(), forecast.windSpd(), null));
+        }
+        return result;
+    }
+
+    static List<DailyForecast> week(int seed) {
+        var random = new SplittableRandom(seed);
+        var days = new ArrayList<DailyForecast>(FORECAST_DAYS);
+        for (int day = 0; day < FORECAST_DAYS; day++) {
+            days.add(new DailyForecast(FIRST_DAY.plusDays(day).toString(),
+                    random.nextDouble(-5, 40), random.nextDouble(0, 25)));
+        }
+        return days;
+    }
+
+    static List<ForecastSeries> weeks(int count) {
+        var weeks = new ArrayList<ForecastSeries>(count);
+        for (int i = 0; i < count; i++) {
+            weeks.add(ForecastSeries.of(week(i)));
+        }
+        return weeks;
+    }
+
+    /**
+     * The standard profile followed by profiles with shifted wind and temperature windows.
+     */
+    static ScoringProfiles scoringProfiles(int count) {
+        var profiles = new HashMap<String, ProfileSettings>();
+        profiles.put(ScoringProfiles.STANDARD, new ProfileSettings(5, 18, 5, 35, 3, 1));
+        for (int i = 1; i < count; i++) {
+            profiles.put("profile-" + i, new ProfileSettings(i, 12 + i, i - 5, 30 + i % 5, 2 + i % 3, 0.5 * (i % 4)));
+        }
+        return new ScoringProfiles(new ScoringProperties(ScoringProfiles.STANDARD, profiles));
+    }
+
+    static byte[] recordedPayload() {
+        try (var input = BenchmarkData.class.getResourceAsStream("/weatherbit/forecast-daily.json")) {
+            if (input == null) {
+                throw new IllegalStateException("Recorded payload weatherbit/forecast-daily.json not on the classpath");
+            }
+            return input.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.windsurferweatherservice.benchmark;
+
+import com.example.windsurferweatherservice.application.controller.dto.DailyForecast;
+import com.example.windsurferweatherservice.domain.model.ForecastSeries;
+import com.example.windsurferweatherservice.infra.WeatherbitForecastDecoder;
+import com.example.windsurferweatherservice.shared.config.JacksonConfig;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of a recorded 7-day Weatherbit response: data binding through the {@link JacksonConfig} mapper
+ * against the streaming {@link WeatherbitForecastDecoder} built on the same mapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecodingBenchmark {
+
+    private ObjectMapper mapper;
+    private WeatherbitForecastDecoder decoder;
+    private byte[] payload;
+
+    public record Payload(List<DailyForecast> data, String cityName, String countryCode) {
+    }
+
+    @Setup
+    public void setUp() {
+        mapper = new JacksonConfig().weatherbitObjectMapper();
+        decoder = new WeatherbitForecastDecoder(mapper);
+        payload = BenchmarkData.recordedPayload();
+    }
+
+    @Benchmark
+    public Payload dataBinding() throws IOException {
+        return mapper.readValue(payload, Payload.class);
+    }
+
+    @Benchmark
+    public ForecastSeries streamingDecoder() {
+        return decoder.decode(payload);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.windsurferweatherservice.benchmark;
+
+import com.example.windsurferweatherservice.application.controller.dto.DailyForecast;
+import com.example.windsurferweatherservice.domain.model.ForecastSeries;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The date lookup done by {@code getForecastForDate} for every location of a request: the epoch-day index
+ * of {@link ForecastSeries} against the linear scan comparing date strings it replaced.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ForecastLookupBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    int locations;
+
+    private final LocalDate date = BenchmarkData.FIRST_DAY.plusDays(5);
+    private List<ForecastSeries> series;
+    private List<List<DailyForecast>> lists;
+
+    @Setup
+    public void setUp() {
+        series = new ArrayList<>(locations);
+        lists = new ArrayList<>(locations);
+        for (int i = 0; i < locations; i++) {
+            var week = BenchmarkData.week(i);
+            lists.add(week);
+            series.add(ForecastSeries.of(week));
+        }
+    }
+
+    @Benchmark
+    public void seriesLookup(Blackhole blackhole) {
+        for (var forecast : series) {
+            blackhole.consume(forecast.temperature(date));
+            blackhole.consume(forecast.windSpeed(date));
+        }
+    }
+
+    @Benchmark
+    public void linearStringScan(Blackhole blackhole) {
+        for (var forecast : lists) {
+            blackhole.consume(forecast.stream()
+                    .filter(day -> day.validDate().equals(date.toString()))
+                    .findFirst());
+        }
+    }
+}
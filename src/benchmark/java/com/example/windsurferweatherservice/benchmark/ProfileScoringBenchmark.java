@@ -0,0 +1,62 @@
+package com.example.windsurferweatherservice.benchmark;
+
+import com.example.windsurferweatherservice.domain.model.ForecastSeries;
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfiles;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scoring the whole week of every location with all profiles in one pass, as the ranking table does for every
+ * refreshed forecast. The gc profiler should report no allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProfileScoringBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int locations;
+
+    @Param({"1", "3", "8"})
+    int profiles;
+
+    private List<ForecastSeries> weeks;
+    private ScoringProfiles scoringProfiles;
+    private double[] scores;
+
+    @Setup
+    public void setUp() {
+        weeks = BenchmarkData.weeks(locations);
+        scoringProfiles = BenchmarkData.scoringProfiles(profiles);
+        scores = new double[profiles * BenchmarkData.FORECAST_DAYS];
+    }
+
+    @Benchmark
+    public double evaluate() {
+        double total = 0;
+        for (var week : weeks) {
+            scoringProfiles.evaluate(week, scores);
+            for (double score : scores) {
+                if (!Double.isNaN(score)) {
+                    total += score;
+                }
+            }
+        }
+        return total;
+    }
+}
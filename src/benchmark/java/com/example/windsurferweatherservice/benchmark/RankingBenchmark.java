@@ -0,0 +1,89 @@
+package com.example.windsurferweatherservice.benchmark;
+
+import com.example.windsurferweatherservice.domain.model.ForecastSeries;
+import com.example.windsurferweatherservice.domain.model.Freshness;
+import com.example.windsurferweatherservice.domain.model.Location;
+import com.example.windsurferweatherservice.domain.ranking.RankedLocation;
+import com.example.windsurferweatherservice.domain.ranking.RankingTable;
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfile;
+import com.example.windsurferweatherservice.domain.validator.WeatherValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries answered from the ranking table, and re-ranking one refreshed location as the refresher does.
+ * Queries scan one score column of the requested day, so they should scale linearly with the catalogue size
+ * and allocate only the returned entries.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RankingBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    int locations;
+
+    @Param({"1", "3", "8"})
+    int profiles;
+
+    private final LocalDate date = BenchmarkData.FIRST_DAY.plusDays(3);
+    private RankingTable rankingTable;
+    private ScoringProfile profile;
+    private List<Location> spots;
+    private List<ForecastSeries> weeks;
+    private Freshness freshness;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        var scoringProfiles = BenchmarkData.scoringProfiles(profiles);
+        rankingTable = new RankingTable(new WeatherValidator(), scoringProfiles);
+        profile = scoringProfiles.defaultProfile();
+        spots = BenchmarkData.locations(locations);
+        freshness = new Freshness(Instant.now(), Instant.now().plusSeconds(3600));
+        weeks = BenchmarkData.weeks(locations);
+        for (int i = 0; i < locations; i++) {
+            rankingTable.update(spots.get(i), weeks.get(i), freshness);
+        }
+    }
+
+    @Benchmark
+    public Optional<RankedLocation> best() {
+        return rankingTable.best(date, profile);
+    }
+
+    @Benchmark
+    public Optional<RankedLocation> bestCandidate() {
+        return rankingTable.best(date, profile, location -> location.latitude() < 0);
+    }
+
+    @Benchmark
+    public List<RankedLocation> top10() {
+        return rankingTable.top(date, profile, 10);
+    }
+
+    @Benchmark
+    public long update() {
+        int i = next++ % locations;
+        rankingTable.update(spots.get(i), weeks.get(i), freshness);
+        return rankingTable.version();
+    }
+}
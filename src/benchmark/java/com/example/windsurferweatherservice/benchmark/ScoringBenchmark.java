@@ -0,0 +1,66 @@
+package com.example.windsurferweatherservice.benchmark;
+
+import com.example.windsurferweatherservice.application.controller.dto.DailyForecast;
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfile;
+import com.example.windsurferweatherservice.domain.validator.WeatherValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the per-location suitability check and score over a whole catalogue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    int locations;
+
+    private final WeatherValidator validator = new WeatherValidator();
+    private final ScoringProfile profile = BenchmarkData.scoringProfiles(1).defaultProfile();
+    private List<Optional<DailyForecast>> forecasts;
+
+    @Setup
+    public void setUp() {
+        forecasts = BenchmarkData.dailyForecasts(locations, BenchmarkData.FIRST_DAY).stream()
+                .map(Optional::of)
+                .toList();
+    }
+
+    @Benchmark
+    public int isSuitableForWindsurfing() {
+        int suitable = 0;
+        for (var forecast : forecasts) {
+            if (validator.isSuitableForWindsurfing(forecast, profile)) {
+                suitable++;
+            }
+        }
+        return suitable;
+    }
+
+    @Benchmark
+    public double calculateScore() {
+        double total = 0;
+        for (var forecast : forecasts) {
+            total += validator.calculateScore(forecast, profile);
+        }
+        return total;
+    }
+}
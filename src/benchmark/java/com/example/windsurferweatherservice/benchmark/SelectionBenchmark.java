@@ -0,0 +1,58 @@
+package com.example.windsurferweatherservice.benchmark;
+
+import com.example.windsurferweatherservice.application.controller.dto.LocationForecast;
+import com.example.windsurferweatherservice.application.controller.response.WindsurfingResponse;
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfile;
+import com.example.windsurferweatherservice.domain.service.WindsurfingServiceImpl;
+import com.example.windsurferweatherservice.domain.validator.WeatherValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Selection of the best and the top suitable locations from already fetched forecasts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectionBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    int locations;
+
+    private WindsurfingServiceImpl service;
+    private List<LocationForecast> forecasts;
+    private final ScoringProfile profile = BenchmarkData.scoringProfiles(1).defaultProfile();
+
+    @Setup
+    public void setUp() {
+        // selecting from fetched forecasts only consults the validator, the storage and the cache are never built
+        service = new WindsurfingServiceImpl(null, null, new WeatherValidator());
+        forecasts = BenchmarkData.locationForecasts(locations, BenchmarkData.FIRST_DAY);
+    }
+
+    @Benchmark
+    public Optional<WindsurfingResponse> findBestSuitableLocation() {
+        return service.findBestSuitableLocation(forecasts, BenchmarkData.FIRST_DAY, profile);
+    }
+
+    @Benchmark
+    public List<WindsurfingResponse> findTopSuitableLocations() {
+        return service.findTopSuitableLocations(forecasts, BenchmarkData.FIRST_DAY, 3, profile);
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.windsurferweatherservice.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Drives {@code GET /api/windsurfing/best-location} and reports throughput, status codes and latency percentiles.
+ *
+ * Without a rate, {@code concurrency} clients send their next request as soon as the previous one returned.
+ * With {@code --rate=<requests per second>} requests are started on a fixed schedule regardless of how slow the
+ * service is, and latency is measured from the scheduled start, so stalls are not hidden by the clients waiting.
+ *
+ * <pre>
+ * --url=http://localhost:8080/api/windsurfing/best-location --concurrency=64 --rate=0
+ * --duration=30s --warm-up=5s --days=7 --timeout=15s
+ * </pre>
+ */
+public final class LoadDriver {
+
+    private final HttpClient client;
+    private final String url;
+    private final int days;
+    private final Duration timeout;
+    private final Latencies latencies = new Latencies();
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private long recordFrom;
+
+    LoadDriver(Options options) {
+        this.url = options.string("url", "http://localhost:8080/api/windsurfing/best-location");
+        this.days = options.integer("days", 7);
+        this.timeout = options.duration("timeout", "15s");
+        this.client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        var options = new Options(args);
+        var driver = new LoadDriver(options);
+        int concurrency = options.integer("concurrency", 64);
+        double rate = options.decimal("rate", 0);
+        var warmUp = options.duration("warm-up", "5s");
+        var duration = options.duration("duration", "30s");
+
+        System.out.printf("Driving %s for %s after %s warm-up, %s%n", driver.url, duration, warmUp,
+                rate > 0 ? rate + " requests/s" : concurrency + " concurrent clients");
+        long start = System.nanoTime();
+        long recordFrom = start + warmUp.toNanos();
+        long end = recordFrom + duration.toNanos();
+        driver.recordFrom = recordFrom;
+        if (rate > 0) {
+            driver.openLoop(rate, end);
+        } else {
+            driver.closedLoop(concurrency, end);
+        }
+        driver.report(duration);
+    }
+
+    private void closedLoop(int concurrency, long end) throws InterruptedException {
+        try (var clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                clients.execute(() -> {
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        send(now);
+                    }
+                });
+            }
+            clients.shutdown();
+            clients.awaitTermination(end - System.nanoTime() + timeout.toNanos() * 2, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void openLoop(double rate, long end) throws InterruptedException {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        try (var requests = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long scheduled = System.nanoTime(); scheduled < end; scheduled += interval) {
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                }
+                long intendedStart = scheduled;
+                requests.execute(() -> send(intendedStart));
+            }
+            requests.shutdown();
+            requests.awaitTermination(timeout.toNanos() * 2, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void send(long startedAt) {
+        var date = LocalDate.now().plusDays(sequence.getAndIncrement() % days);
+        var request = HttpRequest.newBuilder(URI.create(url + (url.contains("?") ? "&" : "?") + "date=" + date))
+                .timeout(timeout)
+                .GET()
+                .build();
+        String outcome;
+        try {
+            outcome = String.valueOf(client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode());
+        } catch (IOException e) {
+            outcome = e.getClass().getSimpleName();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        if (startedAt >= recordFrom) {
+            latencies.record(System.nanoTime() - startedAt);
+            outcomes.computeIfAbsent(outcome, ignored -> new LongAdder()).increment();
+        }
+    }
+
+    private void report(Duration duration) {
+        var sorted = latencies.sorted();
+        System.out.printf("%nrequests: %d in %s (%.1f req/s)%n", sorted.length, duration,
+                sorted.length / (duration.toNanos() / 1e9));
+        var byOutcome = new TreeMap<String, Long>();
+        outcomes.forEach((outcome, count) -> byOutcome.put(outcome, count.sum()));
+        System.out.printf("outcomes: %s%n", byOutcome);
+        if (sorted.length > 0) {
+            System.out.printf("latency ms: p50=%.1f p90=%.1f p99=%.1f p999=%.1f max=%.1f%n",
+                    millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.90)),
+                    millis(percentile(sorted, 0.99)), millis(percentile(sorted, 0.999)),
+                    millis(sorted[sorted.length - 1]));
+        }
+    }
+
+    static long percentile(long[] sorted, double quantile) {
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static final class Latencies {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private long[] values = new long[1 << 16];
+        private int count;
+
+        void record(long nanos) {
+            lock.lock();
+            try {
+                if (count == values.length) {
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                values[count++] = nanos;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long[] sorted() {
+            lock.lock();
+            try {
+                var copy = Arrays.copyOf(values, count);
+                Arrays.sort(copy);
+                return copy;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
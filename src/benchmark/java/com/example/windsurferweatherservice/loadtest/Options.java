@@ -0,0 +1,41 @@
+package com.example.windsurferweatherservice.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@code --name=value} command line options of the load test tools, with durations in the Spring Boot style.
+ */
+final class Options {
+
+    private final Map<String, String> values = new HashMap<>();
+
+    Options(String[] args) {
+        for (var arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+    }
+
+    String string(String name, String defaultValue) {
+        return values.getOrDefault(name, defaultValue);
+    }
+
+    int integer(String name, int defaultValue) {
+        return values.containsKey(name) ? Integer.parseInt(values.get(name)) : defaultValue;
+    }
+
+    double decimal(String name, double defaultValue) {
+        return values.containsKey(name) ? Double.parseDouble(values.get(name)) : defaultValue;
+    }
+
+    Duration duration(String name, String defaultValue) {
+        return DurationStyle.detectAndParse(values.getOrDefault(name, defaultValue));
+    }
+}
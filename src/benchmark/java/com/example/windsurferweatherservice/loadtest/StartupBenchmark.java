@@ -0,0 +1,133 @@
+package com.example.windsurferweatherservice.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the service repeatedly in each build flavour and reports how long it takes until it answers
+ * {@code /actuator/health/readiness} with 200, i.e. until the warm-up sweep returned and a new instance can take
+ * traffic. Flavours whose artifact was not built are skipped:
+ *
+ * <ul>
+ *     <li>{@code jvm}: the plain jar, {@code mvn package}</li>
+ *     <li>{@code cds}: AOT-processed beans and a class data sharing archive, {@code mvn -Pcds package}</li>
+ *     <li>{@code native}: the GraalVM native image, {@code mvn -Pnative native:compile}</li>
+ * </ul>
+ *
+ * <pre>
+ * --modes=jvm,cds,native --runs=5 --port=8090 --timeout=60s
+ * --app-args="--weatherbit.api.url=http://localhost:8089 --windsurfing.forecast-store.enabled=false"
+ * </pre>
+ */
+public final class StartupBenchmark {
+
+    private static final String JAR = "windsurfer-weather-service-0.0.1-SNAPSHOT.jar";
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(200)).build();
+    private final int port;
+    private final Duration timeout;
+    private final List<String> appArgs;
+
+    StartupBenchmark(Options options) {
+        this.port = options.integer("port", 8090);
+        this.timeout = options.duration("timeout", "60s");
+        var args = options.string("app-args", "").strip();
+        this.appArgs = args.isEmpty() ? List.of() : List.of(args.split("\\s+"));
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        var options = new Options(args);
+        var benchmark = new StartupBenchmark(options);
+        int runs = options.integer("runs", 5);
+        var target = Path.of(options.string("target", "target"));
+        var java = ProcessHandle.current().info().command().orElse("java");
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("jvm", List.of(java, "-jar", target.resolve(JAR).toString()));
+        modes.put("cds", List.of(java, "-XX:SharedArchiveFile=" + target.resolve("cds/application.jsa"),
+                "-Dspring.aot.enabled=true", "-jar", target.resolve("cds/" + JAR).toString()));
+        modes.put("native", List.of(target.resolve("windsurfer-weather-service").toString()));
+
+        for (var mode : options.string("modes", "jvm,cds,native").split(",")) {
+            var command = modes.get(mode);
+            if (command == null) {
+                throw new IllegalArgumentException("Unknown mode " + mode + ", expected one of " + modes.keySet());
+            }
+            var artifact = Path.of(command.getLast().endsWith(".jar") ? command.getLast() : command.getFirst());
+            if (!Files.exists(artifact) || mode.equals("cds") && !Files.exists(target.resolve("cds/application.jsa"))) {
+                System.out.printf("%-6s skipped, %s not built%n", mode, artifact);
+                continue;
+            }
+            benchmark.measure(mode, command, runs);
+        }
+    }
+
+    private void measure(String mode, List<String> command, int runs) throws IOException, InterruptedException {
+        // the first start warms up the file system cache and is not recorded
+        var startups = new long[runs];
+        startUntilReady(command);
+        for (int i = 0; i < runs; i++) {
+            startups[i] = startUntilReady(command);
+        }
+        Arrays.sort(startups);
+        System.out.printf("%-6s ready in ms: min=%.0f p50=%.0f max=%.0f over %d runs%n", mode,
+                millis(startups[0]), millis(LoadDriver.percentile(startups, 0.5)), millis(startups[runs - 1]), runs);
+    }
+
+    /**
+     * @return nanos from launching the process until its readiness probe answered with 200
+     */
+    private long startUntilReady(List<String> command) throws IOException, InterruptedException {
+        var arguments = new ArrayList<>(command);
+        arguments.add("--server.port=" + port);
+        arguments.addAll(appArgs);
+        var builder = new ProcessBuilder(arguments).redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD);
+        builder.environment().putIfAbsent("WEATHERBIT_API_KEY", "startup-benchmark");
+
+        long start = System.nanoTime();
+        var process = builder.start();
+        try {
+            var readiness = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/readiness"))
+                    .timeout(Duration.ofSeconds(1))
+                    .GET()
+                    .build();
+            long deadline = start + timeout.toNanos();
+            while (System.nanoTime() < deadline) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(command.getFirst() + " exited with " + process.exitValue());
+                }
+                try {
+                    if (client.send(readiness, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return System.nanoTime() - start;
+                    }
+                } catch (IOException notListeningYet) {
+                    // the port is not bound yet
+                }
+                TimeUnit.MILLISECONDS.sleep(5);
+            }
+            throw new IllegalStateException("Not ready within " + timeout + ": " + String.join(" ", arguments));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(10, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,168 @@
+package com.example.windsurferweatherservice.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-in for {@code GET /forecast/daily} of Weatherbit, to run the service against with
+ * {@code --weatherbit.api.url=http://localhost:<port>}.
+ *
+ * Every response is delayed by a log-normal latency given by its median and 99th percentile, a share of the
+ * requests fails with an error status or hangs past any client timeout, and the payload can be padded to the
+ * size of real responses. Forecasts are derived from the coordinates, so repeated runs see the same weather.
+ *
+ * <pre>
+ * --port=8089 --latency-median=80ms --latency-p99=600ms --error-rate=0.02 --error-status=503
+ * --hang-rate=0.0 --hang=30s --days=7 --padding-bytes=0
+ * </pre>
+ */
+public final class StubWeatherbitServer {
+
+    private static final double Z_99 = 2.326;
+
+    private final double latencyMu;
+    private final double latencySigma;
+    private final double errorRate;
+    private final int errorStatus;
+    private final double hangRate;
+    private final Duration hang;
+    private final int defaultDays;
+    private final String padding;
+    private final LongAdder served = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder hung = new LongAdder();
+
+    StubWeatherbitServer(Options options) {
+        var median = options.duration("latency-median", "80ms");
+        var p99 = options.duration("latency-p99", "600ms");
+        if (p99.compareTo(median) < 0) {
+            throw new IllegalArgumentException("latency-p99 must not be below latency-median");
+        }
+        this.latencyMu = Math.log(Math.max(1, median.toNanos()));
+        this.latencySigma = (Math.log(Math.max(1, p99.toNanos())) - latencyMu) / Z_99;
+        this.errorRate = options.decimal("error-rate", 0.0);
+        this.errorStatus = options.integer("error-status", 503);
+        this.hangRate = options.decimal("hang-rate", 0.0);
+        this.hang = options.duration("hang", "30s");
+        this.defaultDays = options.integer("days", 7);
+        this.padding = "x".repeat(options.integer("padding-bytes", 0));
+    }
+
+    public static void main(String[] args) throws IOException {
+        var options = new Options(args);
+        var stub = new StubWeatherbitServer(options);
+        int port = options.integer("port", 8089);
+
+        var server = HttpServer.create(new InetSocketAddress(port), 1024);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/forecast/daily", stub::handle);
+        server.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop(0);
+            stub.printSummary();
+        }));
+        System.out.printf("Stub Weatherbit listening on http://localhost:%d/forecast/daily%n", port);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            var random = ThreadLocalRandom.current();
+            if (random.nextDouble() < hangRate) {
+                hung.increment();
+                sleep(hang.toNanos());
+                exchange.sendResponseHeaders(504, -1);
+                return;
+            }
+            sleep((long) Math.exp(latencyMu + latencySigma * random.nextGaussian()));
+            if (random.nextDouble() < errorRate) {
+                failed.increment();
+                exchange.sendResponseHeaders(errorStatus, -1);
+                return;
+            }
+
+            var query = query(exchange);
+            double latitude = Double.parseDouble(query.getOrDefault("lat", "0"));
+            double longitude = Double.parseDouble(query.getOrDefault("lon", "0"));
+            int days = Integer.parseInt(query.getOrDefault("days", String.valueOf(defaultDays)));
+            var body = forecast(latitude, longitude, days).getBytes(StandardCharsets.UTF_8);
+
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            served.increment();
+        }
+    }
+
+    String forecast(double latitude, double longitude, int days) {
+        var today = LocalDate.now(ZoneOffset.UTC);
+        var json = new StringBuilder(512 + days * 400 + padding.length())
+                .append("{\"city_name\":\"Stub\",\"country_code\":\"XX\",\"lat\":").append(latitude)
+                .append(",\"lon\":").append(longitude).append(",\"timezone\":\"UTC\",\"data\":[");
+        long seed = Double.hashCode(latitude) * 31L + Double.hashCode(longitude);
+        for (int day = 0; day < days; day++) {
+            var weather = new SplittableRandom(seed + day);
+            double temperature = weather.nextDouble(-5, 40);
+            double windSpeed = weather.nextDouble(0, 25);
+            if (day > 0) {
+                json.append(',');
+            }
+            json.append("{\"valid_date\":\"").append(today.plusDays(day))
+                    .append("\",\"datetime\":\"").append(today.plusDays(day))
+                    .append("\",\"temp\":").append(Math.round(temperature * 10) / 10.0)
+                    .append(",\"max_temp\":").append(Math.round((temperature + 3) * 10) / 10.0)
+                    .append(",\"min_temp\":").append(Math.round((temperature - 3) * 10) / 10.0)
+                    .append(",\"wind_spd\":").append(Math.round(windSpeed * 10) / 10.0)
+                    .append(",\"wind_gust_spd\":").append(Math.round((windSpeed + 4) * 10) / 10.0)
+                    .append(",\"wind_cdir\":\"WSW\",\"wind_dir\":247,\"pop\":20,\"precip\":0.25,\"rh\":78,")
+                    .append("\"weather\":{\"description\":\"Scattered clouds\",\"code\":802,\"icon\":\"c02d\"}}");
+        }
+        json.append(']');
+        if (!padding.isEmpty()) {
+            json.append(",\"padding\":\"").append(padding).append('"');
+        }
+        return json.append('}').toString();
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        var parameters = new HashMap<String, String>();
+        var raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return parameters;
+        }
+        for (var pair : raw.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                parameters.put(URLDecoder.decode(pair.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void printSummary() {
+        System.out.printf("Stub Weatherbit served %d forecasts, failed %d, hung %d requests%n",
+                served.sum(), failed.sum(), hung.sum());
+    }
+}
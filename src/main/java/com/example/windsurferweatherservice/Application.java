@@ -1,9 +1,14 @@
 package com.example.windsurferweatherservice;
 
+import com.example.windsurferweatherservice.shared.config.NativeRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@ImportRuntimeHints(NativeRuntimeHints.class)
 public class Application {
 
     public static void main(String[] args) {
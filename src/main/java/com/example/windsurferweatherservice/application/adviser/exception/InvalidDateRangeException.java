@@ -0,0 +1,8 @@
+package com.example.windsurferweatherservice.application.adviser.exception;
+
+public class InvalidDateRangeException extends RuntimeException {
+
+    public InvalidDateRangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.windsurferweatherservice.application.adviser.exception;
+
+public class UnknownScoringProfileException extends RuntimeException {
+
+    public UnknownScoringProfileException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,10 @@ package com.example.windsurferweatherservice.application.adviser.exception;
 
 public class WeatherApiException extends RuntimeException {
 
+    public WeatherApiException(String message) {
+        super(message);
+    }
+
     public WeatherApiException(String message, Throwable cause) {
         super(message, cause);
     }
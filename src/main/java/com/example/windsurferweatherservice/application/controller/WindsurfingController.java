@@ -1,22 +1,45 @@
 package com.example.windsurferweatherservice.application.controller;
 
+import com.example.windsurferweatherservice.application.adviser.exception.InvalidDateRangeException;
 import com.example.windsurferweatherservice.application.adviser.exception.NoSuitableLocationException;
+import com.example.windsurferweatherservice.application.controller.cache.BestLocationResponseCache;
+import com.example.windsurferweatherservice.application.controller.response.DailyRankingResponse;
 import com.example.windsurferweatherservice.application.controller.response.WindsurfingResponse;
+import com.example.windsurferweatherservice.application.controller.validation.FutureOrPresentAtLocations;
 import com.example.windsurferweatherservice.domain.WindsurfingFacade;
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfiles;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import jakarta.validation.constraints.NotNull;
 import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequiredArgsConstructor
@@ -24,50 +47,245 @@ import java.time.LocalDate;
 @Tag(name = "Windsurfing", description = "API for finding best windsurfing locations")
 public class WindsurfingController {
 
+    private static final int MAX_RANGE_DAYS = 7;
+
     private final WindsurfingFacade facade;
+    private final BestLocationResponseCache responseCache;
+    private final ScoringProfiles scoringProfiles;
 
     @GetMapping("/best-location")
     @Operation(
             summary = "Get best windsurfing location",
-            description = "Returns the best location for windsurfing based on weather conditions"
+            description = "Returns the best location for windsurfing based on weather conditions. "
+                          + "Answers carry an ETag and may be cached until the next forecast refresh "
+                          + "or midnight at one of the spots"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Best location found",
+                    content = @Content(schema = @Schema(implementation = WindsurfingResponse.class))),
+            @ApiResponse(responseCode = "304",
+                    description = "Best location unchanged since the ETag sent in If-None-Match"),
+            @ApiResponse(responseCode = "404", description = "No suitable location found"),
+            @ApiResponse(responseCode = "400", description = "Invalid date parameter or unknown scoring profile"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<byte[]> getBestLocation(
+            @RequestParam
+            @DateTimeFormat(pattern = "yyyy-MM-dd")
+            @FutureOrPresentAtLocations
+            @NotNull(message = "Date is required")
+            LocalDate date,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+            String ifNoneMatch,
+            @RequestParam(required = false)
+            @Parameter(description = "Scoring profile, the default one when omitted")
+            String profile) {
+        var response = responseCache.get(date, scoringProfiles.resolve(profile));
+        if (response.isEmpty()) {
+            throw new NoSuitableLocationException("No suitable location found for date: " + date);
+        }
+        // "*" only matches an answer that exists, so it is checked once the answer is known not to be a 404
+        if (response.etag() != null && (isWildcard(ifNoneMatch) || matches(ifNoneMatch, response.etag()))) {
+            return notModified(response.etag());
+        }
+        var builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(cacheControl(response.etag()));
+        if (response.etag() != null) {
+            builder.eTag(response.etag());
+        }
+        return builder.body(response.body());
+    }
+
+    @GetMapping("/reactive/best-location")
+    @Operation(
+            summary = "Get best windsurfing location without blocking a request thread",
+            description = "Same as /best-location, but forecasts are fetched without blocking and "
+                          + "a disconnected client cancels the Weatherbit calls nobody else waits for"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Best location found"),
             @ApiResponse(responseCode = "404", description = "No suitable location found"),
-            @ApiResponse(responseCode = "400", description = "Invalid date parameter"),
+            @ApiResponse(responseCode = "400", description = "Invalid date parameter or unknown scoring profile"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public WindsurfingResponse getBestLocation(
+    public DeferredResult<WindsurfingResponse> getBestLocationReactive(
             @RequestParam
             @DateTimeFormat(pattern = "yyyy-MM-dd")
-            @FutureOrPresent(message = "Date must be today or in the future")
+            @FutureOrPresentAtLocations
             @NotNull(message = "Date is required")
-            LocalDate date) {
-        return facade.getBestLocation(date)
-                .orElseThrow(() -> new NoSuitableLocationException("No suitable location found for date: " + date));
+            LocalDate date,
+            @RequestParam(required = false)
+            @Parameter(description = "Scoring profile, the default one when omitted")
+            String profile) {
+        return deferred(facade.bestLocation(date, scoringProfiles.resolve(profile))
+                .switchIfEmpty(Mono.error(() -> new NoSuitableLocationException("No suitable location found for date: " + date))));
+    }
+
+    @GetMapping("/best-location/nearby")
+    @Operation(
+            summary = "Get best windsurfing location near a point",
+            description = "Returns the best location for windsurfing among the locations within the radius around the point"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Best location found"),
+            @ApiResponse(responseCode = "404", description = "No suitable location found within the radius"),
+            @ApiResponse(responseCode = "400", description = "Invalid date, coordinates, radius or scoring profile"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public WindsurfingResponse getBestLocationNearby(
+            @RequestParam
+            @DateTimeFormat(pattern = "yyyy-MM-dd")
+            @FutureOrPresentAtLocations
+            @NotNull(message = "Date is required")
+            LocalDate date,
+            @RequestParam
+            @DecimalMin(value = "-90", message = "Latitude must be between -90 and 90")
+            @DecimalMax(value = "90", message = "Latitude must be between -90 and 90")
+            double latitude,
+            @RequestParam
+            @DecimalMin(value = "-180", message = "Longitude must be between -180 and 180")
+            @DecimalMax(value = "180", message = "Longitude must be between -180 and 180")
+            double longitude,
+            @RequestParam
+            @DecimalMin(value = "1", message = "Radius must be at least 1 km")
+            @DecimalMax(value = "20000", message = "Radius must be at most 20000 km")
+            double radiusKm,
+            @RequestParam(required = false)
+            @Parameter(description = "Scoring profile, the default one when omitted")
+            String profile) {
+        return facade.getBestLocationNear(date, latitude, longitude, radiusKm, scoringProfiles.resolve(profile))
+                .orElseThrow(() -> new NoSuitableLocationException(
+                        "No suitable location found within " + radiusKm + " km for date: " + date));
+    }
+
+    @GetMapping(value = "/rankings", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(
+            summary = "Get top windsurfing locations for a date range",
+            description = "Returns the best suitable locations for every day of the range, best first. "
+                          + "Request application/x-ndjson to receive each day as soon as it is ranked"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rankings computed, days without suitable location are empty"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range, limit or scoring profile"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public List<DailyRankingResponse> getRankings(
+            @RequestParam
+            @DateTimeFormat(pattern = "yyyy-MM-dd")
+            @FutureOrPresentAtLocations
+            @NotNull(message = "Start date is required")
+            LocalDate from,
+            @RequestParam
+            @DateTimeFormat(pattern = "yyyy-MM-dd")
+            @NotNull(message = "End date is required")
+            LocalDate to,
+            @RequestParam(defaultValue = "3")
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = 20, message = "Limit must be at most 20")
+            int limit,
+            @RequestParam(required = false)
+            @Parameter(description = "Scoring profile, the default one when omitted")
+            String profile) {
+        var scoringProfile = scoringProfiles.resolve(profile);
+        return datesBetween(from, to)
+                .map(date -> facade.getRanking(date, limit, scoringProfile))
+                .toList();
+    }
+
+    @GetMapping(value = "/rankings", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+            summary = "Stream top windsurfing locations for a date range",
+            description = "Same as /rankings, but every day is written as one JSON line as soon as it is ranked"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200",
+                    description = "One ranking per day, days without suitable location are empty",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = DailyRankingResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid date range, limit or scoring profile"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public Flux<DailyRankingResponse> streamRankings(
+            @RequestParam
+            @DateTimeFormat(pattern = "yyyy-MM-dd")
+            @FutureOrPresentAtLocations
+            @NotNull(message = "Start date is required")
+            LocalDate from,
+            @RequestParam
+            @DateTimeFormat(pattern = "yyyy-MM-dd")
+            @NotNull(message = "End date is required")
+            LocalDate to,
+            @RequestParam(defaultValue = "3")
+            @Min(value = 1, message = "Limit must be at least 1")
+            @Max(value = 20, message = "Limit must be at most 20")
+            int limit,
+            @RequestParam(required = false)
+            @Parameter(description = "Scoring profile, the default one when omitted")
+            String profile) {
+        var scoringProfile = scoringProfiles.resolve(profile);
+        var dates = datesBetween(from, to).toList();
+        return Flux.fromIterable(dates)
+                .concatMap(date -> facade.ranking(date, limit, scoringProfile));
+    }
+
+    /*
+     * Spring MVC cancels a returned Mono only when the request times out. Completing the DeferredResult
+     * ourselves lets an async error, e.g. the servlet container noticing a disconnected client, cancel it too.
+     */
+    private static <T> DeferredResult<T> deferred(Mono<T> result) {
+        var deferred = new DeferredResult<T>();
+        Disposable subscription = result.subscribe(deferred::setResult, deferred::setErrorResult);
+        deferred.onTimeout(subscription::dispose);
+        deferred.onError(ignored -> subscription.dispose());
+        deferred.onCompletion(subscription::dispose);
+        return deferred;
     }
 
     /*
-     * NOTE: @FutureOrPresent validates the date relative to the server’s time zone.
-     *
-     * Potential improvement:
-     * For more accurate validation, time zones of the locations could be taken into account.
-     * For example, when it’s still 23:00 (September 30) in Poland (UTC+2),
-     * it’s already 01:00 (October 1) in Mauritius (UTC+4).
-     *
-     * Solution: to use the latest time zone from the list of locations
-     * as the reference point for validation or the maximum offset (UTC+14).:
-     *
-     * ZoneId latestTimezone = ZoneId.of("Indian/Mauritius"); // UTC+4
-     * LocalDate latestToday = LocalDate.now(latestTimezone);
-     * if (date.isBefore(latestToday)) {
-     *     throw new ValidationException("Date is in the past for all locations");
-     * }
-     *
-     * Current implementation uses simple validation because:
-     * 1. Weatherbit API itself filters out unavailable dates
-     * 2. If the date is unavailable for all locations → exception is returned
-     * 3. This is an edge case, and it doesn't significantly impact the overall functionality
+     * Answers may be cached until the next refresh sweep or date change may change them, and revalidated with their
+     * ETag after that.
+     * Answers computed from live fetches, before the ranking is ready, are not cacheable.
      */
+    private CacheControl cacheControl(String etag) {
+        if (etag == null) {
+            return CacheControl.noCache();
+        }
+        return CacheControl.maxAge(responseCache.maxAge()).cachePublic().mustRevalidate();
+    }
+
+    private ResponseEntity<byte[]> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(cacheControl(etag))
+                .build();
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (var candidate : ifNoneMatch.split(",")) {
+            var tag = candidate.trim();
+            if (tag.equals(etag) || tag.startsWith("W/") && tag.substring(2).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWildcard(String ifNoneMatch) {
+        return ifNoneMatch != null && ifNoneMatch.trim().equals("*");
+    }
+
+    private static Stream<LocalDate> datesBetween(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new InvalidDateRangeException("End date must not be before start date");
+        }
+        if (from.plusDays(MAX_RANGE_DAYS).isBefore(to.plusDays(1))) {
+            throw new InvalidDateRangeException("Date range must not exceed " + MAX_RANGE_DAYS + " days");
+        }
+        return from.datesUntil(to.plusDays(1));
+    }
 
 }
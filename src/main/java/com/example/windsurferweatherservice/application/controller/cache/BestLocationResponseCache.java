@@ -0,0 +1,117 @@
+package com.example.windsurferweatherservice.application.controller.cache;
+
+import com.example.windsurferweatherservice.application.controller.response.WindsurfingResponse;
+import com.example.windsurferweatherservice.domain.WindsurfingFacade;
+import com.example.windsurferweatherservice.domain.model.Freshness;
+import com.example.windsurferweatherservice.domain.ranking.RankingTable;
+import com.example.windsurferweatherservice.domain.refresh.ForecastRefresher;
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfile;
+import com.example.windsurferweatherservice.domain.time.LocationCalendar;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Keeps the best-location answer of every date and scoring profile serialized, tagged with the {@link RankingTable}
+ * version and the {@link LocationCalendar} day it was derived from. Repeated requests between two changes of either
+ * skip scoring and JSON serialization, and clients holding the entity tag of the answer are answered without a body.
+ * An answer whose forecast goes stale is rendered again at that instant, as its body tells whether it is stale.
+ *
+ * Entity tags combine the table version, the last date change and the staleness of the answer with the start of
+ * this instance, as versions restart from zero.
+ * Before the ranking table is ready answers are computed from live fetches and are not cached.
+ */
+@Component
+public class BestLocationResponseCache {
+
+    private static final int MAX_ANSWERS = 256;
+
+    private final WindsurfingFacade facade;
+    private final RankingTable rankingTable;
+    private final LocationCalendar calendar;
+    private final ObjectMapper objectMapper;
+    private final ObjectProvider<ForecastRefresher> refresher;
+    private final String instance = Long.toString(System.currentTimeMillis(), 36);
+    private final Cache<Key, Entry> responses = Caffeine.newBuilder()
+            .maximumSize(MAX_ANSWERS)
+            .build();
+
+    public BestLocationResponseCache(WindsurfingFacade facade, RankingTable rankingTable, LocationCalendar calendar,
+                                     ObjectMapper objectMapper, ObjectProvider<ForecastRefresher> refresher) {
+        this.facade = facade;
+        this.rankingTable = rankingTable;
+        this.calendar = calendar;
+        this.objectMapper = objectMapper;
+        this.refresher = refresher;
+    }
+
+    public SerializedResponse get(LocalDate date, ScoringProfile profile) {
+        if (!rankingTable.isReady()) {
+            return new SerializedResponse(null, body(facade.getBestLocation(date, profile)));
+        }
+        // read before answering: should the table or the day change meanwhile, the entry is just re-rendered once more
+        long version = rankingTable.version();
+        long day = calendar.lastDateChange().getEpochSecond();
+        var key = new Key(date, profile.name());
+        var cached = responses.getIfPresent(key);
+        if (cached != null && cached.version() == version && cached.day() == day
+            && Instant.now().isBefore(cached.staleAt())) {
+            return cached.response();
+        }
+        var answer = facade.getBestLocation(date, profile);
+        var staleAt = answer.map(WindsurfingResponse::freshness).map(Freshness::staleAt).orElse(Instant.MAX);
+        boolean stale = !Instant.now().isBefore(staleAt);
+        var response = new SerializedResponse(etag(version, day, stale), body(answer));
+        // a stale answer stays stale, so it is kept until the table or the day changes
+        responses.put(key, new Entry(version, day, stale ? Instant.MAX : staleAt, response));
+        return response;
+    }
+
+    /**
+     * @return how long answers may be cached by clients: until the next refresh sweep or date change may change them
+     */
+    public Duration maxAge() {
+        var nextSweep = refresher.getIfAvailable();
+        if (nextSweep == null) {
+            return Duration.ZERO;
+        }
+        var now = Instant.now();
+        var nextDateChange = calendar.nextDateChange();
+        return nextSweep.nextSweepAt()
+                .map(at -> at.isBefore(nextDateChange) ? at : nextDateChange)
+                .map(at -> Duration.between(now, at))
+                .filter(remaining -> !remaining.isNegative())
+                .orElse(Duration.ZERO);
+    }
+
+    private byte[] body(Optional<WindsurfingResponse> answer) {
+        return answer.map(this::serialize).orElse(null);
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
+    }
+
+    private String etag(long version, long day, boolean stale) {
+        return "\"" + instance + "-" + Long.toString(version, 36) + "-" + Long.toString(day, 36) + (stale ? "-s" : "")
+               + "\"";
+    }
+
+    private record Key(LocalDate date, String profile) {
+    }
+
+    private record Entry(long version, long day, Instant staleAt, SerializedResponse response) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.windsurferweatherservice.application.controller.cache;
+
+/**
+ * An answer rendered to JSON once and served as is until the ranking it was derived from changes.
+ *
+ * @param etag strong entity tag of the body, {@code null} when the answer is not cacheable
+ * @param body JSON body, {@code null} when no location is suitable
+ */
+public record SerializedResponse(String etag, byte[] body) {
+
+    public boolean isEmpty() {
+        return body == null;
+    }
+}
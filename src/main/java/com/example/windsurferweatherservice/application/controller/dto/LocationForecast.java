@@ -1,7 +1,10 @@
 package com.example.windsurferweatherservice.application.controller.dto;
 
+import com.example.windsurferweatherservice.domain.model.Freshness;
 import com.example.windsurferweatherservice.domain.model.Location;
-import java.util.Optional;
 
-public record LocationForecast(Location location, Optional<DailyForecast> forecast) {
-}
\ No newline at end of file
+/**
+ * Forecast of a location for one day, with the freshness of the cached forecast it was read from.
+ */
+public record LocationForecast(Location location, double temperature, double windSpeed, Freshness freshness) {
+}
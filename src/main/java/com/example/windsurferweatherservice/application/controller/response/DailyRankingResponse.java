@@ -0,0 +1,7 @@
+package com.example.windsurferweatherservice.application.controller.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public record DailyRankingResponse(LocalDate date, List<WindsurfingResponse> locations) {
+}
@@ -1,6 +1,13 @@
 package com.example.windsurferweatherservice.application.controller.response;
 
+import com.example.windsurferweatherservice.domain.model.Freshness;
+
 import java.time.LocalDate;
 
-public record WindsurfingResponse(String location, String country, LocalDate date, double temperature, double windSpeed) {
+public record WindsurfingResponse(String location, String country, LocalDate date, double temperature, double windSpeed,
+                                  Freshness freshness) {
+
+    public WindsurfingResponse(String location, String country, LocalDate date, double temperature, double windSpeed) {
+        this(location, country, date, temperature, windSpeed, null);
+    }
 }
@@ -0,0 +1,27 @@
+package com.example.windsurferweatherservice.application.controller.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Like {@link jakarta.validation.constraints.FutureOrPresent}, but today is judged by the time zones of the
+ * locations instead of the one of the server: a date is accepted as long as it is not over at one of them.
+ */
+@Documented
+@Constraint(validatedBy = FutureOrPresentAtLocationsValidator.class)
+@Target({ElementType.PARAMETER, ElementType.FIELD})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface FutureOrPresentAtLocations {
+
+    String message() default "Date must be today or in the future";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
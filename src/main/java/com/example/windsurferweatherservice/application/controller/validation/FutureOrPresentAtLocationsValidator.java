@@ -0,0 +1,22 @@
+package com.example.windsurferweatherservice.application.controller.validation;
+
+import com.example.windsurferweatherservice.domain.time.LocationCalendar;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Created by Spring's validator factory, which injects the {@link LocationCalendar}.
+ */
+@RequiredArgsConstructor
+public class FutureOrPresentAtLocationsValidator implements ConstraintValidator<FutureOrPresentAtLocations, LocalDate> {
+
+    private final LocationCalendar calendar;
+
+    @Override
+    public boolean isValid(LocalDate date, ConstraintValidatorContext context) {
+        return date == null || !date.isBefore(calendar.earliestToday());
+    }
+}
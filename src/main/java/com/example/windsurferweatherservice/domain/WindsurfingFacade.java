@@ -1,32 +1,234 @@
 package com.example.windsurferweatherservice.domain;
 
 import com.example.windsurferweatherservice.application.controller.dto.LocationForecast;
+import com.example.windsurferweatherservice.application.controller.response.DailyRankingResponse;
 import com.example.windsurferweatherservice.application.controller.response.WindsurfingResponse;
+import com.example.windsurferweatherservice.domain.model.Location;
+import com.example.windsurferweatherservice.domain.ranking.RankingTable;
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfile;
+import com.example.windsurferweatherservice.domain.service.ReactiveWindsurfingService;
 import com.example.windsurferweatherservice.domain.service.WindsurfingService;
+import com.example.windsurferweatherservice.domain.time.LocationCalendar;
+import com.example.windsurferweatherservice.shared.config.FetchProperties;
+import com.example.windsurferweatherservice.shared.metrics.ForecastMetrics;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
+/**
+ * Every request is timed per stage in {@link ForecastMetrics}: {@code ranking} when answered from the precomputed
+ * ranking, otherwise {@code fetch} for the forecasts and {@code select} for filtering, scoring and picking the
+ * locations, which run fused in one pass. The nearby query also times its spatial {@code candidates} lookup.
+ *
+ * Locations are scored with the {@link ScoringProfile} selected by the request. Locations where the date is over
+ * already by their own time zone are left out, see {@link LocationCalendar}.
+ *
+ * The {@link Mono} variants of the queries never block: forecasts come from {@link ReactiveWindsurfingService}
+ * and cancelling the subscription, e.g. when the client disconnects, cancels the fetches still running.
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class WindsurfingFacade {
 
     private final WindsurfingService service;
+    private final ReactiveWindsurfingService reactiveService;
+    private final RankingTable rankingTable;
+    private final FetchProperties fetchProperties;
+    private final ForecastMetrics metrics;
+    private final LocationCalendar calendar;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
 
-    public Optional<WindsurfingResponse> getBestLocation(LocalDate date) {
-        var locations = service.getAllLocations();
-        List<LocationForecast> forecasts = locations.stream()
-                .map(location -> new LocationForecast(
-                        location,
-                        service.getForecastForDate(location, date)
-                ))
-                .filter(lf -> lf.forecast().isPresent())
+    public Optional<WindsurfingResponse> getBestLocation(LocalDate date, ScoringProfile profile) {
+        if (rankingTable.isReady()) {
+            return metrics.stage("best", "ranking")
+                    .record(() -> rankingTable.best(date, profile, calendar.openOn(date))
+                            .map(ranked -> ranked.toResponse(date)));
+        }
+
+        var locations = openOn(service.getAllLocations(), date);
+        List<LocationForecast> forecasts = metrics.stage("best", "fetch").record(() -> fetchForecasts(locations, date));
+
+        return metrics.stage("best", "select")
+                .record(() -> service.findBestSuitableLocation(forecasts, date, profile));
+    }
+
+    /**
+     * Like {@link #getBestLocation(LocalDate, ScoringProfile)}, but only the locations within the radius are fetched
+     * and scored.
+     */
+    public Optional<WindsurfingResponse> getBestLocationNear(LocalDate date, double latitude, double longitude,
+                                                             double radiusKm, ScoringProfile profile) {
+        var candidates = metrics.stage("nearby", "candidates")
+                .record(() -> openOn(service.getLocationsWithin(latitude, longitude, radiusKm), date));
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+        if (rankingTable.isReady()) {
+            return metrics.stage("nearby", "ranking").record(() -> {
+                var nearby = Set.copyOf(candidates);
+                return rankingTable.best(date, profile, nearby::contains).map(ranked -> ranked.toResponse(date));
+            });
+        }
+
+        List<LocationForecast> forecasts = metrics.stage("nearby", "fetch").record(() -> fetchForecasts(candidates, date));
+        return metrics.stage("nearby", "select")
+                .record(() -> service.findBestSuitableLocation(forecasts, date, profile));
+    }
+
+    public DailyRankingResponse getRanking(LocalDate date, int limit, ScoringProfile profile) {
+        if (rankingTable.isReady()) {
+            var ranked = metrics.stage("ranking", "ranking")
+                    .record(() -> rankingTable.top(date, profile, limit, calendar.openOn(date)).stream()
+                            .map(it -> it.toResponse(date))
+                            .toList());
+            return new DailyRankingResponse(date, ranked);
+        }
+
+        var locations = openOn(service.getAllLocations(), date);
+        List<LocationForecast> forecasts = metrics.stage("ranking", "fetch").record(() -> fetchForecasts(locations, date));
+        var top = metrics.stage("ranking", "select")
+                .record(() -> service.findTopSuitableLocations(forecasts, date, limit, profile));
+        return new DailyRankingResponse(date, top);
+    }
+
+    /**
+     * Non-blocking variant of {@link #getBestLocation(LocalDate, ScoringProfile)}, empty when no location is suitable.
+     */
+    public Mono<WindsurfingResponse> bestLocation(LocalDate date, ScoringProfile profile) {
+        if (rankingTable.isReady()) {
+            return Mono.fromSupplier(() -> getBestLocation(date, profile)).flatMap(Mono::justOrEmpty);
+        }
+        var forecasts = timed(streamForecasts(openOn(reactiveService.getAllLocations(), date), date), "best", "fetch");
+        return reactiveService.findBestSuitableLocation(forecasts, date, profile);
+    }
+
+    /**
+     * Non-blocking variant of {@link #getBestLocationNear(LocalDate, double, double, double, ScoringProfile)}.
+     */
+    public Mono<WindsurfingResponse> bestLocationNear(LocalDate date, double latitude, double longitude,
+                                                      double radiusKm, ScoringProfile profile) {
+        if (rankingTable.isReady()) {
+            return Mono.fromSupplier(() -> getBestLocationNear(date, latitude, longitude, radiusKm, profile))
+                    .flatMap(Mono::justOrEmpty);
+        }
+        var candidates = openOn(reactiveService.getLocationsWithin(latitude, longitude, radiusKm), date);
+        var forecasts = timed(streamForecasts(candidates, date), "nearby", "fetch");
+        return reactiveService.findBestSuitableLocation(forecasts, date, profile);
+    }
+
+    /**
+     * Non-blocking variant of {@link #getRanking(LocalDate, int, ScoringProfile)}.
+     */
+    public Mono<DailyRankingResponse> ranking(LocalDate date, int limit, ScoringProfile profile) {
+        if (rankingTable.isReady()) {
+            return Mono.fromSupplier(() -> getRanking(date, limit, profile));
+        }
+        var forecasts = timed(streamForecasts(openOn(reactiveService.getAllLocations(), date), date), "ranking", "fetch");
+        return reactiveService.findTopSuitableLocations(forecasts, date, limit, profile)
+                .collectList()
+                .map(top -> new DailyRankingResponse(date, top));
+    }
+
+    // the date may be over at some spots already, they are left out before anything is fetched or ranked
+    private List<Location> openOn(List<Location> locations, LocalDate date) {
+        var open = calendar.openOn(date);
+        return open == null ? locations : locations.stream().filter(open).toList();
+    }
+
+    private Flux<Location> openOn(Flux<Location> locations, LocalDate date) {
+        var open = calendar.openOn(date);
+        return open == null ? locations : locations.filter(open);
+    }
+
+    /*
+     * Reactive counterpart of fetchForecasts: at most maxConcurrency fetches are subscribed at a time and the
+     * deadline cancels the ones still running, so their locations are left out.
+     */
+    Flux<LocationForecast> streamForecasts(Flux<Location> locations, LocalDate date) {
+        return locations
+                .flatMap(location -> reactiveService.getForecastForDate(location, date),
+                        fetchProperties.maxConcurrency())
+                .take(fetchProperties.deadline());
+    }
+
+    // locations are filtered and scored as their forecasts arrive, so only the fetch is a stage of its own here
+    private <T> Flux<T> timed(Flux<T> stage, String operation, String name) {
+        return Flux.defer(() -> {
+            var sample = Timer.start();
+            return stage.doFinally(ignored -> sample.stop(metrics.stage(operation, name)));
+        });
+    }
+
+    /*
+     * Every location is fetched on its own virtual thread, at most maxConcurrency at a time.
+     * All of them share one deadline, so the request waits for the slowest call instead of
+     * the sum of all calls. Locations that miss the deadline are cancelled and left out.
+     */
+    List<LocationForecast> fetchForecasts(List<Location> locations, LocalDate date) {
+        var permits = new Semaphore(fetchProperties.maxConcurrency());
+        long deadline = System.nanoTime() + fetchProperties.deadline().toNanos();
+
+        List<Future<Optional<LocationForecast>>> pending = locations.stream()
+                .map(location -> executor.submit(() -> fetchForecast(location, date, permits)))
                 .toList();
 
-        return service.findBestSuitableLocation(forecasts, date);
+        var forecasts = new ArrayList<LocationForecast>(locations.size());
+        for (int i = 0; i < locations.size(); i++) {
+            var location = locations.get(i);
+            awaitForecast(location, pending.get(i), deadline).ifPresent(forecasts::add);
+        }
+        return forecasts;
+    }
+
+    private Optional<LocationForecast> fetchForecast(Location location, LocalDate date, Semaphore permits)
+            throws InterruptedException {
+        permits.acquire();
+        try {
+            return service.getForecastForDate(location, date);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private Optional<LocationForecast> awaitForecast(Location location, Future<Optional<LocationForecast>> future,
+                                                     long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Forecast for {} missed the request deadline, skipping it", location.name());
+            return Optional.empty();
+        } catch (ExecutionException e) {
+            log.error("Error fetching forecast for {}: {}", location.name(), e.getCause().getMessage(), e.getCause());
+            return Optional.empty();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return Optional.empty();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
     }
 
 }
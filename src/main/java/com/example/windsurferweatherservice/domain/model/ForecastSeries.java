@@ -0,0 +1,105 @@
+package com.example.windsurferweatherservice.domain.model;
+
+import com.example.windsurferweatherservice.application.controller.dto.DailyForecast;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Daily forecast of one spot stored as primitive columns indexed by day offset from the first forecast date,
+ * so a date is looked up by index instead of comparing date strings. Days missing from the forecast hold NaN.
+ * Lookups return the primitive values; a {@link DailyForecast} is only built for the days that make it into a response.
+ */
+public final class ForecastSeries {
+
+    /**
+     * Most days a series may span; longer Weatherbit forecasts are rejected and longer stored records skipped.
+     */
+    public static final int MAX_DAYS = 32;
+
+    private final long firstEpochDay;
+    private final double[] temperatures;
+    private final double[] windSpeeds;
+
+    public ForecastSeries(long firstEpochDay, double[] temperatures, double[] windSpeeds) {
+        if (temperatures.length != windSpeeds.length) {
+            throw new IllegalArgumentException("Temperature and wind speed columns must have the same length");
+        }
+        this.firstEpochDay = firstEpochDay;
+        this.temperatures = temperatures;
+        this.windSpeeds = windSpeeds;
+    }
+
+    public static ForecastSeries of(List<DailyForecast> days) {
+        if (days.isEmpty()) {
+            return new ForecastSeries(0, new double[0], new double[0]);
+        }
+        long first = days.stream().mapToLong(day -> LocalDate.parse(day.validDate()).toEpochDay()).min().orElseThrow();
+        long last = days.stream().mapToLong(day -> LocalDate.parse(day.validDate()).toEpochDay()).max().orElseThrow();
+        var temperatures = new double[(int) (last - first + 1)];
+        var windSpeeds = new double[temperatures.length];
+        Arrays.fill(temperatures, Double.NaN);
+        Arrays.fill(windSpeeds, Double.NaN);
+        for (var day : days) {
+            int offset = (int) (LocalDate.parse(day.validDate()).toEpochDay() - first);
+            temperatures[offset] = day.temp();
+            windSpeeds[offset] = day.windSpd();
+        }
+        return new ForecastSeries(first, temperatures, windSpeeds);
+    }
+
+    public boolean isEmpty() {
+        return temperatures.length == 0;
+    }
+
+    public int size() {
+        return temperatures.length;
+    }
+
+    public long firstEpochDay() {
+        return firstEpochDay;
+    }
+
+    public LocalDate date(int offset) {
+        return LocalDate.ofEpochDay(firstEpochDay + offset);
+    }
+
+    public boolean hasDay(int offset) {
+        return offset >= 0 && offset < temperatures.length && !Double.isNaN(temperatures[offset]);
+    }
+
+    public double temperature(int offset) {
+        return temperatures[offset];
+    }
+
+    public double windSpeed(int offset) {
+        return windSpeeds[offset];
+    }
+
+    public boolean hasDay(LocalDate date) {
+        return hasDay(offset(date));
+    }
+
+    /**
+     * @return temperature forecast for the date, NaN when the date is not forecast
+     */
+    public double temperature(LocalDate date) {
+        int offset = offset(date);
+        return offset < 0 ? Double.NaN : temperatures[offset];
+    }
+
+    /**
+     * @return wind speed forecast for the date, NaN when the date is not forecast
+     */
+    public double windSpeed(LocalDate date) {
+        int offset = offset(date);
+        return offset < 0 ? Double.NaN : windSpeeds[offset];
+    }
+
+    // -1 for a date outside the columns
+    private int offset(LocalDate date) {
+        long offset = date.toEpochDay() - firstEpochDay;
+        return offset < 0 || offset >= temperatures.length ? -1 : (int) offset;
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.windsurferweatherservice.domain.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.time.Instant;
+
+/**
+ * When the forecast behind an answer was fetched and from when on it is past its regular lifetime.
+ * Stale forecasts are only served while Weatherbit cannot deliver a fresh one.
+ */
+public record Freshness(Instant fetchedAt, Instant staleAt) {
+
+    @JsonProperty("stale")
+    public boolean isStale() {
+        return Instant.now().isAfter(staleAt);
+    }
+}
@@ -1,4 +1,15 @@
 package com.example.windsurferweatherservice.domain.model;
 
-public record Location(String name, String country, double latitude, double longitude) {
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * @param zone time zone of the spot, resolved once when the catalogue is loaded; it decides when a forecast day
+ *             is over at the spot
+ */
+public record Location(String name, String country, double latitude, double longitude, ZoneId zone) {
+
+    public Location(String name, String country, double latitude, double longitude) {
+        this(name, country, latitude, longitude, ZoneOffset.UTC);
+    }
 }
@@ -0,0 +1,293 @@
+package com.example.windsurferweatherservice.domain.ranking;
+
+import com.example.windsurferweatherservice.application.controller.dto.DailyForecast;
+import com.example.windsurferweatherservice.domain.model.ForecastSeries;
+import com.example.windsurferweatherservice.domain.model.Freshness;
+import com.example.windsurferweatherservice.domain.model.Location;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * Forecasts of all ranked locations stored as a structure of arrays: every forecast day is a set of primitive
+ * columns - temperature, wind speed and the score of every profile - indexed by location ordinal. Ordinals of
+ * removed locations are reused, so the columns stay dense.
+ *
+ * Storing a forecast writes a few values per day, and answering a query is a scan over a single score column,
+ * so the JIT compiles it to a tight loop over contiguous doubles without any pointer chasing.
+ * Days live in a ring of {@value #WINDOW_DAYS} slots indexed by epoch day; a slot is reused once its day was evicted
+ * or is older than the day to store.
+ */
+final class ForecastMatrix {
+
+    /** The seven days Weatherbit forecasts plus slack for days not evicted yet and spots ahead of UTC. */
+    static final int WINDOW_DAYS = 16;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final long UNUSED = Long.MIN_VALUE;
+
+    private final int profiles;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Location, Integer> ordinals = new HashMap<>();
+    private final Deque<Integer> freeOrdinals = new ArrayDeque<>();
+    private final long[] slotDays = new long[WINDOW_DAYS];
+    private final DayColumns[] slots = new DayColumns[WINDOW_DAYS];
+    private Location[] locations = new Location[INITIAL_CAPACITY];
+    private Freshness[] freshness = new Freshness[INITIAL_CAPACITY];
+    private int size;
+
+    ForecastMatrix(int profiles) {
+        this.profiles = profiles;
+        Arrays.fill(slotDays, UNUSED);
+    }
+
+    /**
+     * Replaces the row of the location with its new forecast.
+     *
+     * @param scores score of every day for every profile, laid out as by
+     *               {@link com.example.windsurferweatherservice.domain.scoring.ScoringProfiles#evaluate}
+     */
+    void put(Location location, ForecastSeries forecast, double[] scores, Freshness freshness) {
+        lock.writeLock().lock();
+        try {
+            int ordinal = ordinals.computeIfAbsent(location, ignored -> allocate());
+            clearRow(ordinal);
+            locations[ordinal] = location;
+            this.freshness[ordinal] = freshness;
+
+            int days = forecast.size();
+            for (int offset = 0; offset < days; offset++) {
+                if (!forecast.hasDay(offset)) {
+                    continue;
+                }
+                var columns = claim(forecast.firstEpochDay() + offset);
+                if (columns == null) {
+                    continue;
+                }
+                columns.temperatures[ordinal] = forecast.temperature(offset);
+                columns.windSpeeds[ordinal] = forecast.windSpeed(offset);
+                for (int profile = 0; profile < profiles; profile++) {
+                    columns.scores[profile][ordinal] = scores[profile * days + offset];
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    boolean remove(Location location) {
+        lock.writeLock().lock();
+        try {
+            var ordinal = ordinals.remove(location);
+            if (ordinal == null) {
+                return false;
+            }
+            clearRow(ordinal);
+            locations[ordinal] = null;
+            freshness[ordinal] = null;
+            freeOrdinals.push(ordinal);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return whether any day was evicted
+     */
+    boolean evictBefore(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        lock.writeLock().lock();
+        try {
+            boolean evicted = false;
+            for (int slot = 0; slot < WINDOW_DAYS; slot++) {
+                if (slotDays[slot] != UNUSED && slotDays[slot] < epochDay) {
+                    slotDays[slot] = UNUSED;
+                    evicted = true;
+                }
+            }
+            return evicted;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param candidates locations to choose from, {@code null} for all; only tested for locations scoring better
+     *                   than the best candidate found so far
+     */
+    Optional<RankedLocation> best(LocalDate date, int profile, Predicate<Location> candidates) {
+        lock.readLock().lock();
+        try {
+            var columns = columnsOf(date.toEpochDay());
+            if (columns == null) {
+                return Optional.empty();
+            }
+            double[] scores = columns.scores[profile];
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            // unsuitable and missing days hold NaN, which never compares greater
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                double score = scores[ordinal];
+                if (score > bestScore && (candidates == null || candidates.test(locations[ordinal]))) {
+                    bestScore = score;
+                    best = ordinal;
+                }
+            }
+            return best < 0 ? Optional.empty() : Optional.of(ranked(columns, profile, best, date));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return up to limit best scored candidates, best first; equal scores keep the order of their ordinals.
+     *         Candidates are only tested for locations that would make it into the top.
+     */
+    List<RankedLocation> top(LocalDate date, int profile, int limit, Predicate<Location> candidates) {
+        lock.readLock().lock();
+        try {
+            var columns = columnsOf(date.toEpochDay());
+            if (columns == null || limit <= 0) {
+                return List.of();
+            }
+            double[] scores = columns.scores[profile];
+            var topOrdinals = new int[limit];
+            var topScores = new double[limit];
+            int count = 0;
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                double score = scores[ordinal];
+                if (!(score > (count < limit ? Double.NEGATIVE_INFINITY : topScores[limit - 1]))
+                    || candidates != null && !candidates.test(locations[ordinal])) {
+                    continue;
+                }
+                int position = Math.min(count, limit - 1);
+                while (position > 0 && topScores[position - 1] < score) {
+                    topScores[position] = topScores[position - 1];
+                    topOrdinals[position] = topOrdinals[position - 1];
+                    position--;
+                }
+                topScores[position] = score;
+                topOrdinals[position] = ordinal;
+                count = Math.min(count + 1, limit);
+            }
+
+            var ranked = new ArrayList<RankedLocation>(count);
+            for (int i = 0; i < count; i++) {
+                ranked.add(ranked(columns, profile, topOrdinals[i], date));
+            }
+            return ranked;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private RankedLocation ranked(DayColumns columns, int profile, int ordinal, LocalDate date) {
+        var forecast = new DailyForecast(date.toString(), columns.temperatures[ordinal], columns.windSpeeds[ordinal]);
+        return new RankedLocation(locations[ordinal], forecast, columns.scores[profile][ordinal], freshness[ordinal]);
+    }
+
+    private DayColumns columnsOf(long epochDay) {
+        int slot = Math.floorMod(epochDay, WINDOW_DAYS);
+        return slotDays[slot] == epochDay ? slots[slot] : null;
+    }
+
+    /**
+     * @return columns of the day, taking over its slot when that holds an older or evicted day;
+     *         {@code null} when the slot holds a newer day
+     */
+    private DayColumns claim(long epochDay) {
+        int slot = Math.floorMod(epochDay, WINDOW_DAYS);
+        if (slotDays[slot] == epochDay) {
+            return slots[slot];
+        }
+        if (slotDays[slot] != UNUSED && slotDays[slot] > epochDay) {
+            return null;
+        }
+        if (slots[slot] == null) {
+            slots[slot] = new DayColumns(locations.length, profiles);
+        }
+        slots[slot].clear();
+        slotDays[slot] = epochDay;
+        return slots[slot];
+    }
+
+    private int allocate() {
+        if (!freeOrdinals.isEmpty()) {
+            return freeOrdinals.pop();
+        }
+        if (size == locations.length) {
+            int capacity = locations.length * 2;
+            locations = Arrays.copyOf(locations, capacity);
+            freshness = Arrays.copyOf(freshness, capacity);
+            for (var columns : slots) {
+                if (columns != null) {
+                    columns.grow(capacity);
+                }
+            }
+        }
+        return size++;
+    }
+
+    private void clearRow(int ordinal) {
+        for (var columns : slots) {
+            if (columns != null) {
+                columns.clear(ordinal);
+            }
+        }
+    }
+
+    private static final class DayColumns {
+
+        private double[] temperatures;
+        private double[] windSpeeds;
+        private final double[][] scores;
+
+        DayColumns(int capacity, int profiles) {
+            temperatures = new double[capacity];
+            windSpeeds = new double[capacity];
+            scores = new double[profiles][capacity];
+            clear();
+        }
+
+        void clear() {
+            Arrays.fill(temperatures, Double.NaN);
+            Arrays.fill(windSpeeds, Double.NaN);
+            for (var column : scores) {
+                Arrays.fill(column, Double.NaN);
+            }
+        }
+
+        void clear(int ordinal) {
+            temperatures[ordinal] = Double.NaN;
+            windSpeeds[ordinal] = Double.NaN;
+            for (var column : scores) {
+                column[ordinal] = Double.NaN;
+            }
+        }
+
+        void grow(int capacity) {
+            temperatures = grown(temperatures, capacity);
+            windSpeeds = grown(windSpeeds, capacity);
+            for (int profile = 0; profile < scores.length; profile++) {
+                scores[profile] = grown(scores[profile], capacity);
+            }
+        }
+
+        private static double[] grown(double[] column, int capacity) {
+            int length = column.length;
+            var grown = Arrays.copyOf(column, capacity);
+            Arrays.fill(grown, length, capacity, Double.NaN);
+            return grown;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.windsurferweatherservice.domain.ranking;
+
+import com.example.windsurferweatherservice.application.controller.dto.DailyForecast;
+import com.example.windsurferweatherservice.application.controller.response.WindsurfingResponse;
+import com.example.windsurferweatherservice.domain.model.Freshness;
+import com.example.windsurferweatherservice.domain.model.Location;
+
+import java.time.LocalDate;
+
+public record RankedLocation(Location location, DailyForecast forecast, double score, Freshness freshness) {
+
+    public WindsurfingResponse toResponse(LocalDate date) {
+        return new WindsurfingResponse(
+                location.name(),
+                location.country(),
+                date,
+                forecast.temp(),
+                forecast.windSpd(),
+                freshness
+        );
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.windsurferweatherservice.domain.ranking;
+
+import com.example.windsurferweatherservice.domain.model.ForecastSeries;
+import com.example.windsurferweatherservice.domain.model.Freshness;
+import com.example.windsurferweatherservice.domain.model.Location;
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfile;
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfiles;
+import com.example.windsurferweatherservice.domain.storage.LocationsReloadedEvent;
+import com.example.windsurferweatherservice.domain.validator.WeatherValidator;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Ranking of suitable locations per scoring profile and forecast date, best score first.
+ *
+ * The table is maintained by the background refresher: every refreshed forecast re-scores only that one
+ * location, for all profiles in one pass over its forecast, and stores the scores in a columnar
+ * {@link ForecastMatrix}. Answering "best location for a date" is a scan over one primitive column
+ * instead of fetching and re-scoring all locations.
+ * It becomes the source of answers once {@link #markReady()} is called after the first full sweep.
+ * Every change bumps {@link #version()}, so answers derived from the table can be cached per version.
+ */
+@Component
+public class RankingTable {
+
+    private final WeatherValidator weatherValidator;
+    private final ScoringProfiles scoringProfiles;
+    private final ForecastMatrix matrix;
+    private final AtomicLong version = new AtomicLong();
+    private volatile boolean ready;
+
+    public RankingTable(WeatherValidator weatherValidator, ScoringProfiles scoringProfiles) {
+        this.weatherValidator = weatherValidator;
+        this.scoringProfiles = scoringProfiles;
+        this.matrix = new ForecastMatrix(scoringProfiles.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void markReady() {
+        ready = true;
+        version.incrementAndGet();
+    }
+
+    /**
+     * @return number of changes made to the table so far
+     */
+    public long version() {
+        return version.get();
+    }
+
+    public Optional<RankedLocation> best(LocalDate date, ScoringProfile profile) {
+        return matrix.best(date, profile.index(), null);
+    }
+
+    /**
+     * @return best ranked location among the candidates; the candidates are only tested for locations that
+     *         score better than the best candidate found so far
+     */
+    public Optional<RankedLocation> best(LocalDate date, ScoringProfile profile, Predicate<Location> candidates) {
+        return matrix.best(date, profile.index(), candidates);
+    }
+
+    public List<RankedLocation> top(LocalDate date, ScoringProfile profile, int limit) {
+        return matrix.top(date, profile.index(), limit, null);
+    }
+
+    /**
+     * @return up to limit best ranked locations among the candidates
+     */
+    public List<RankedLocation> top(LocalDate date, ScoringProfile profile, int limit, Predicate<Location> candidates) {
+        return matrix.top(date, profile.index(), limit, candidates);
+    }
+
+    /**
+     * Replaces all entries of the location with the days of its new forecast.
+     */
+    public void update(Location location, ForecastSeries forecast, Freshness freshness) {
+        if (weatherValidator.isForecastValid(forecast)) {
+            var scores = new double[scoringProfiles.size() * forecast.size()];
+            scoringProfiles.evaluate(forecast, scores);
+            matrix.put(location, forecast, scores, freshness);
+        } else {
+            matrix.remove(location);
+        }
+        version.incrementAndGet();
+    }
+
+    /**
+     * Drops all entries of the given locations, e.g. after they were removed from the catalogue.
+     */
+    public void remove(Collection<Location> locations) {
+        if (locations.isEmpty()) {
+            return;
+        }
+        locations.forEach(matrix::remove);
+        version.incrementAndGet();
+    }
+
+    @EventListener
+    public void handleLocationsReloaded(LocationsReloadedEvent event) {
+        remove(event.removed());
+    }
+
+    public void evictBefore(LocalDate date) {
+        if (matrix.evictBefore(date)) {
+            version.incrementAndGet();
+        }
+    }
+}
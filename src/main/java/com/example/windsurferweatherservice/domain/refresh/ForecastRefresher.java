@@ -0,0 +1,200 @@
+package com.example.windsurferweatherservice.domain.refresh;
+
+import com.example.windsurferweatherservice.domain.model.Location;
+import com.example.windsurferweatherservice.domain.ranking.RankingTable;
+import com.example.windsurferweatherservice.domain.storage.LocationStorage;
+import com.example.windsurferweatherservice.domain.storage.LocationsReloadedEvent;
+import com.example.windsurferweatherservice.infra.cache.ForecastCache;
+import com.example.windsurferweatherservice.infra.quota.FetchPriority;
+import com.example.windsurferweatherservice.shared.config.RefreshProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Refreshes the forecasts of all configured locations ahead of their cache expiry,
+ * so requests are answered from precomputed data only.
+ *
+ * The first sweep runs while the application is starting, right after {@link LocationStorage} has loaded
+ * the locations. Spring Boot switches readiness to ACCEPTING_TRAFFIC only after all
+ * {@link ApplicationStartedEvent} listeners returned, so the service reports ready once that sweep is done.
+ * Forecasts restored from the on-disk store that stay fresh until the next sweep are ranked as they are,
+ * so a warm restart only fetches the spots the previous run had not fetched recently.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "windsurfing.refresh", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ForecastRefresher {
+
+    private final LocationStorage storage;
+    private final ForecastCache forecastCache;
+    private final RankingTable rankingTable;
+    private final RefreshProperties properties;
+    private final ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("forecast-refresher").daemon().factory());
+    private volatile Instant nextSweepAt;
+
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void handleApplicationStartedEvent(ApplicationStartedEvent ignored) {
+        log.info("Warming up forecasts of all locations.");
+        int refreshed = sweep(storage.findAll(), Duration.ZERO, properties.warmUpTimeout(), true);
+        log.info("Warm-up finished, {} locations refreshed.", refreshed);
+        markReadyIfRanked(refreshed);
+
+        long interval = properties.interval().toMillis();
+        nextSweepAt = Instant.now().plus(properties.interval());
+        scheduler.scheduleWithFixedDelay(this::scheduledSweep, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return when the next scheduled sweep starts, empty before the warm-up finished
+     */
+    public Optional<Instant> nextSweepAt() {
+        return Optional.ofNullable(nextSweepAt);
+    }
+
+    /**
+     * Locations added by a catalogue reload are fetched and ranked right away instead of waiting for the next sweep.
+     */
+    @EventListener
+    public void handleLocationsReloaded(LocationsReloadedEvent event) {
+        if (event.added().isEmpty()) {
+            return;
+        }
+        workers.execute(() -> {
+            int refreshed = sweep(event.added(), Duration.ZERO, properties.warmUpTimeout(), true);
+            log.info("Catalogue version {} loaded, {} of {} added locations refreshed.",
+                    event.version(), refreshed, event.added().size());
+            markReadyIfRanked(refreshed);
+        });
+    }
+
+    void scheduledSweep() {
+        try {
+            int refreshed = sweep(properties.jitter(), properties.interval());
+            log.info("Refresh sweep finished, {} locations refreshed.", refreshed);
+            markReadyIfRanked(refreshed);
+        } catch (Exception e) {
+            // an exception escaping here would cancel all following sweeps
+            log.error("Refresh sweep failed: {}", e.getMessage(), e);
+        } finally {
+            nextSweepAt = Instant.now().plus(properties.interval());
+        }
+    }
+
+    /*
+     * An empty sweep, e.g. while Weatherbit is down or the call quota rejects it at boot, leaves the ranking table
+     * empty; it only becomes the source of answers once a sweep ranked a location. Until then the live path answers,
+     * and as the cache holds next to nothing, it fetches the missing forecasts itself.
+     */
+    private void markReadyIfRanked(int refreshed) {
+        if (refreshed > 0) {
+            rankingTable.markReady();
+            forecastCache.loadMissesOnRequest(false);
+        } else if (!rankingTable.isReady()) {
+            forecastCache.loadMissesOnRequest(true);
+            log.warn("No location ranked yet, requests fetch missing forecasts until a sweep ranks one.");
+        }
+    }
+
+    /**
+     * Refreshes every location, at most maxConcurrency at a time, each one delayed by a random part of the jitter.
+     * Locations not refreshed within the timeout are cancelled and keep their previous forecast.
+     * Every refreshed forecast is re-ranked right away; days already in the past are dropped from the ranking.
+     *
+     * @return number of locations refreshed successfully
+     */
+    int sweep(Duration jitter, Duration timeout) {
+        return sweep(storage.findAll(), jitter, timeout, false);
+    }
+
+    // a warm-up reuses forecasts restored fresh and is fetched without the pacing of refreshes
+    private int sweep(List<Location> locations, Duration jitter, Duration timeout, boolean warmUp) {
+        var permits = new Semaphore(properties.maxConcurrency());
+        var priority = warmUp ? FetchPriority.WARM_UP : FetchPriority.REFRESH;
+        List<Callable<Boolean>> tasks = locations.stream()
+                .map(location -> (Callable<Boolean>) () -> warmUp && reuse(location)
+                                                          || refresh(location, jitter, permits, priority))
+                .toList();
+
+        try {
+            return (int) workers.invokeAll(tasks, timeout.toMillis(), TimeUnit.MILLISECONDS).stream()
+                    .filter(ForecastRefresher::succeeded)
+                    .count();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 0;
+        } finally {
+            rankingTable.evictBefore(LocalDate.now().minusDays(1));
+        }
+    }
+
+    private boolean reuse(Location location) {
+        var fresh = forecastCache.freshFor(location.latitude(), location.longitude(), properties.interval());
+        fresh.ifPresent(cached -> rankingTable.update(location, cached.forecast(), cached.freshness()));
+        return fresh.isPresent();
+    }
+
+    private boolean refresh(Location location, Duration jitter, Semaphore permits, FetchPriority priority)
+            throws InterruptedException {
+        if (!jitter.isZero()) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1));
+        }
+        permits.acquire();
+        try {
+            var cached = forecastCache.refresh(location.latitude(), location.longitude(), priority);
+            if (cached == null) {
+                return false;
+            }
+            rankingTable.update(location, cached.forecast(), cached.freshness());
+            return true;
+        } catch (Exception e) {
+            log.warn("Refreshing forecast for {} failed: {}", location.name(), e.getMessage());
+            return false;
+        } finally {
+            permits.release();
+        }
+    }
+
+    private static boolean succeeded(Future<Boolean> result) {
+        try {
+            return result.get();
+        } catch (CancellationException | ExecutionException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        workers.shutdownNow();
+    }
+}
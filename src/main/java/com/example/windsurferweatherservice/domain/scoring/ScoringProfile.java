@@ -0,0 +1,33 @@
+package com.example.windsurferweatherservice.domain.scoring;
+
+/**
+ * Rules of one scoring profile compiled to primitive bounds and weights, so a day is evaluated with a few
+ * comparisons and multiplications on {@code double}s, without boxing or allocation.
+ *
+ * @param index position of the profile in {@link ScoringProfiles}, also its slot in per-profile arrays
+ */
+public record ScoringProfile(String name,
+                             int index,
+                             double minWindSpeed,
+                             double maxWindSpeed,
+                             double minTemperature,
+                             double maxTemperature,
+                             double windWeight,
+                             double temperatureWeight) {
+
+    public boolean isSuitable(double temperature, double windSpeed) {
+        return windSpeed >= minWindSpeed && windSpeed <= maxWindSpeed
+               && temperature >= minTemperature && temperature <= maxTemperature;
+    }
+
+    public double score(double temperature, double windSpeed) {
+        return windSpeed * windWeight + temperature * temperatureWeight;
+    }
+
+    /**
+     * @return score of the day, NaN when the day is not suitable; missing days, held as NaN, are never suitable
+     */
+    public double evaluate(double temperature, double windSpeed) {
+        return isSuitable(temperature, windSpeed) ? score(temperature, windSpeed) : Double.NaN;
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.windsurferweatherservice.domain.scoring;
+
+import com.example.windsurferweatherservice.application.adviser.exception.UnknownScoringProfileException;
+import com.example.windsurferweatherservice.domain.model.ForecastSeries;
+import com.example.windsurferweatherservice.shared.config.ScoringProperties;
+import com.example.windsurferweatherservice.shared.config.ScoringProperties.ProfileSettings;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Scoring profiles compiled from {@link ScoringProperties} at startup. Invalid rules fail the startup instead of
+ * silently ranking nothing, and every profile gets a fixed index, so per-profile results are kept in arrays.
+ */
+@Component
+public class ScoringProfiles {
+
+    public static final String STANDARD = "standard";
+
+    private final ScoringProfile[] profiles;
+    private final List<ScoringProfile> all;
+    private final Map<String, ScoringProfile> byName = new TreeMap<>();
+    private final ScoringProfile defaultProfile;
+
+    public ScoringProfiles(ScoringProperties properties) {
+        var settings = new TreeMap<>(properties.profiles());
+        if (settings.isEmpty()) {
+            settings.put(STANDARD, new ProfileSettings(5, 18, 5, 35, 3, 1));
+        }
+        var compiled = new ArrayList<ScoringProfile>(settings.size());
+        settings.forEach((name, rules) -> {
+            var profile = compile(name, compiled.size(), rules);
+            compiled.add(profile);
+            byName.put(name, profile);
+        });
+        this.profiles = compiled.toArray(ScoringProfile[]::new);
+        this.all = List.copyOf(compiled);
+        this.defaultProfile = byName.get(properties.defaultProfile());
+        if (defaultProfile == null) {
+            throw new IllegalStateException("Default scoring profile '" + properties.defaultProfile()
+                                            + "' is not configured, available: " + byName.keySet());
+        }
+    }
+
+    private static ScoringProfile compile(String name, int index, ProfileSettings rules) {
+        if (rules.minWindSpeed() > rules.maxWindSpeed()) {
+            throw new IllegalStateException("Invalid scoring profile '" + name
+                                            + "': minimum wind speed must not be greater than maximum wind speed");
+        }
+        if (rules.minTemperature() > rules.maxTemperature()) {
+            throw new IllegalStateException("Invalid scoring profile '" + name
+                                            + "': minimum temperature must not be greater than maximum temperature");
+        }
+        return new ScoringProfile(name, index, rules.minWindSpeed(), rules.maxWindSpeed(), rules.minTemperature(),
+                rules.maxTemperature(), rules.windWeight(), rules.temperatureWeight());
+    }
+
+    public ScoringProfile defaultProfile() {
+        return defaultProfile;
+    }
+
+    /**
+     * @return all profiles ordered by their index
+     */
+    public List<ScoringProfile> all() {
+        return all;
+    }
+
+    public int size() {
+        return profiles.length;
+    }
+
+    /**
+     * @param name profile selected by a request, {@code null} or blank for the default one
+     * @throws UnknownScoringProfileException when no profile has the name
+     */
+    public ScoringProfile resolve(String name) {
+        if (name == null || name.isBlank()) {
+            return defaultProfile;
+        }
+        var profile = byName.get(name);
+        if (profile == null) {
+            throw new UnknownScoringProfileException("Unknown scoring profile: " + name
+                                                     + ", available: " + String.join(", ", byName.keySet()));
+        }
+        return profile;
+    }
+
+    /**
+     * Evaluates every day of the forecast with every profile in a single pass over the forecast, so each day is
+     * read once however many profiles there are. Nothing is allocated; the caller provides the result array.
+     *
+     * @param scores receives the score of day {@code offset} for profile {@code index} at
+     *               {@code index * forecast.size() + offset}, NaN when the day is not suitable for the profile
+     */
+    public void evaluate(ForecastSeries forecast, double[] scores) {
+        int days = forecast.size();
+        int count = profiles.length;
+        for (int offset = 0; offset < days; offset++) {
+            double temperature = forecast.temperature(offset);
+            double windSpeed = forecast.windSpeed(offset);
+            for (int index = 0; index < count; index++) {
+                scores[index * days + offset] = profiles[index].evaluate(temperature, windSpeed);
+            }
+        }
+    }
+}
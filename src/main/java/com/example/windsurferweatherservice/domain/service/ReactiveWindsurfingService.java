@@ -0,0 +1,32 @@
+package com.example.windsurferweatherservice.domain.service;
+
+import com.example.windsurferweatherservice.application.controller.dto.LocationForecast;
+import com.example.windsurferweatherservice.application.controller.response.WindsurfingResponse;
+import com.example.windsurferweatherservice.domain.model.Location;
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfile;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * Non-blocking variant of {@link WindsurfingService}. Nothing blocks a thread while forecasts are fetched,
+ * and cancelling a subscription cancels the upstream calls nobody else waits for.
+ */
+public interface ReactiveWindsurfingService {
+
+    Flux<Location> getAllLocations();
+
+    Flux<Location> getLocationsWithin(double latitude, double longitude, double radiusKm);
+
+    /**
+     * @return the forecast of the day with its freshness, empty when it is unknown or could not be fetched
+     */
+    Mono<LocationForecast> getForecastForDate(Location location, LocalDate date);
+
+    Mono<WindsurfingResponse> findBestSuitableLocation(Flux<LocationForecast> forecasts, LocalDate date,
+                                                       ScoringProfile profile);
+
+    Flux<WindsurfingResponse> findTopSuitableLocations(Flux<LocationForecast> forecasts, LocalDate date, int limit,
+                                                       ScoringProfile profile);
+}
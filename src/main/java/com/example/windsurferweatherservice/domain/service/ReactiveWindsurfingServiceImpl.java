@@ -0,0 +1,89 @@
+package com.example.windsurferweatherservice.domain.service;
+
+import com.example.windsurferweatherservice.application.controller.dto.LocationForecast;
+import com.example.windsurferweatherservice.application.controller.response.WindsurfingResponse;
+import com.example.windsurferweatherservice.domain.model.Location;
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfile;
+import com.example.windsurferweatherservice.domain.storage.LocationStorage;
+import com.example.windsurferweatherservice.domain.validator.WeatherValidator;
+import com.example.windsurferweatherservice.infra.cache.ForecastCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveWindsurfingServiceImpl implements ReactiveWindsurfingService {
+
+    private final LocationStorage storage;
+    private final ForecastCache forecastCache;
+    private final WeatherValidator weatherValidator;
+
+    @Override
+    public Flux<Location> getAllLocations() {
+        return Flux.fromIterable(storage.findAll());
+    }
+
+    @Override
+    public Flux<Location> getLocationsWithin(double latitude, double longitude, double radiusKm) {
+        return Flux.fromIterable(storage.findWithinRadius(latitude, longitude, radiusKm));
+    }
+
+    @Override
+    public Mono<LocationForecast> getForecastForDate(Location location, LocalDate date) {
+        return forecastCache.cachedForecast(location.latitude(), location.longitude())
+                .filter(cached -> weatherValidator.isForecastValid(cached.forecast()))
+                .filter(cached -> cached.forecast().hasDay(date))
+                .map(cached -> new LocationForecast(location, cached.forecast().temperature(date),
+                        cached.forecast().windSpeed(date), cached.freshness()))
+                .onErrorResume(e -> {
+                    log.error("Error fetching forecast for {}: {}", location.name(), e.getMessage(), e);
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Mono<WindsurfingResponse> findBestSuitableLocation(Flux<LocationForecast> forecasts, LocalDate date,
+                                                              ScoringProfile profile) {
+        return forecasts
+                .filter(lf -> isSuitable(lf, profile))
+                .reduce((best, next) -> score(next, profile) > score(best, profile) ? next : best)
+                .map(lf -> buildResponse(lf, date));
+    }
+
+    @Override
+    public Flux<WindsurfingResponse> findTopSuitableLocations(Flux<LocationForecast> forecasts, LocalDate date,
+                                                              int limit, ScoringProfile profile) {
+        return forecasts
+                .filter(lf -> isSuitable(lf, profile))
+                .collectSortedList(Comparator.comparingDouble((LocationForecast lf) -> score(lf, profile)).reversed())
+                .flatMapIterable(sorted -> sorted.subList(0, Math.min(limit, sorted.size())))
+                .map(lf -> buildResponse(lf, date));
+    }
+
+    private WindsurfingResponse buildResponse(LocationForecast lf, LocalDate date) {
+        var location = lf.location();
+        return new WindsurfingResponse(
+                location.name(),
+                location.country(),
+                date,
+                lf.temperature(),
+                lf.windSpeed(),
+                lf.freshness()
+        );
+    }
+
+    private boolean isSuitable(LocationForecast lf, ScoringProfile profile) {
+        return weatherValidator.isSuitableForWindsurfing(lf.temperature(), lf.windSpeed(), profile);
+    }
+
+    private double score(LocationForecast lf, ScoringProfile profile) {
+        return weatherValidator.calculateScore(lf.temperature(), lf.windSpeed(), profile);
+    }
+}
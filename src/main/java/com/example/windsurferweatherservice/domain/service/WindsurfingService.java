@@ -1,9 +1,9 @@
 package com.example.windsurferweatherservice.domain.service;
 
-import com.example.windsurferweatherservice.application.controller.dto.DailyForecast;
 import com.example.windsurferweatherservice.application.controller.dto.LocationForecast;
 import com.example.windsurferweatherservice.application.controller.response.WindsurfingResponse;
 import com.example.windsurferweatherservice.domain.model.Location;
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfile;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -13,7 +13,16 @@ public interface WindsurfingService {
 
     List<Location> getAllLocations();
 
-    Optional<DailyForecast> getForecastForDate(Location location, LocalDate date);
+    List<Location> getLocationsWithin(double latitude, double longitude, double radiusKm);
 
-    Optional<WindsurfingResponse> findBestSuitableLocation(List<LocationForecast> forecasts, LocalDate date);
+    /**
+     * @return the forecast of the day with its freshness, empty when it is unknown or could not be fetched
+     */
+    Optional<LocationForecast> getForecastForDate(Location location, LocalDate date);
+
+    Optional<WindsurfingResponse> findBestSuitableLocation(List<LocationForecast> forecasts, LocalDate date,
+                                                          ScoringProfile profile);
+
+    List<WindsurfingResponse> findTopSuitableLocations(List<LocationForecast> forecasts, LocalDate date, int limit,
+                                                       ScoringProfile profile);
 }
@@ -1,13 +1,13 @@
 package com.example.windsurferweatherservice.domain.service;
 
-import com.example.windsurferweatherservice.application.controller.dto.DailyForecast;
 import com.example.windsurferweatherservice.application.controller.dto.LocationForecast;
-import com.example.windsurferweatherservice.application.controller.dto.WeatherForecast;
 import com.example.windsurferweatherservice.application.controller.response.WindsurfingResponse;
 import com.example.windsurferweatherservice.domain.model.Location;
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfile;
 import com.example.windsurferweatherservice.domain.storage.LocationStorage;
 import com.example.windsurferweatherservice.domain.validator.WeatherValidator;
-import com.example.windsurferweatherservice.infra.WeatherBitClient;
+import com.example.windsurferweatherservice.infra.cache.CachedForecast;
+import com.example.windsurferweatherservice.infra.cache.ForecastCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -23,7 +23,7 @@ import java.util.Optional;
 public class WindsurfingServiceImpl implements WindsurfingService {
 
     private final LocationStorage storage;
-    private final WeatherBitClient weatherBitClient;
+    private final ForecastCache forecastCache;
     private final WeatherValidator weatherValidator;
 
 
@@ -33,20 +33,28 @@ public class WindsurfingServiceImpl implements WindsurfingService {
     }
 
     @Override
-    public Optional<DailyForecast> getForecastForDate(Location location, LocalDate date) {
+    public List<Location> getLocationsWithin(double latitude, double longitude, double radiusKm) {
+        return storage.findWithinRadius(latitude, longitude, radiusKm);
+    }
+
+    @Override
+    public Optional<LocationForecast> getForecastForDate(Location location, LocalDate date) {
         try {
-            WeatherForecast forecast = weatherBitClient.getForecast(
+            CachedForecast cached = forecastCache.getCachedForecast(
                     location.latitude(),
                     location.longitude()
             );
 
-            if (!weatherValidator.isForecastValid(forecast)) {
+            if (cached == null || !weatherValidator.isForecastValid(cached.forecast())) {
                 return Optional.empty();
             }
 
-            return forecast.data().stream()
-                    .filter(f -> f.validDate().equals(date.toString()))
-                    .findFirst();
+            var forecast = cached.forecast();
+            if (!forecast.hasDay(date)) {
+                return Optional.empty();
+            }
+            return Optional.of(new LocationForecast(location, forecast.temperature(date), forecast.windSpeed(date),
+                    cached.freshness()));
         } catch (Exception e) {
             log.error("Error fetching forecast for {}: {}", location.name(), e.getMessage(), e);
             return Optional.empty();
@@ -54,20 +62,42 @@ public class WindsurfingServiceImpl implements WindsurfingService {
     }
 
     @Override
-    public Optional<WindsurfingResponse> findBestSuitableLocation(List<LocationForecast> forecasts, LocalDate date) {
+    public Optional<WindsurfingResponse> findBestSuitableLocation(List<LocationForecast> forecasts, LocalDate date,
+                                                                 ScoringProfile profile) {
         return forecasts.stream()
-                .filter(lf -> weatherValidator.isSuitableForWindsurfing(lf.forecast()))
-                .max(Comparator.comparingDouble(lf -> weatherValidator.calculateScore(lf.forecast())))
-                .map(lf -> buildResponse(lf.location(), lf.forecast(), date));
+                .filter(lf -> isSuitable(lf, profile))
+                .max(Comparator.comparingDouble(lf -> score(lf, profile)))
+                .map(lf -> buildResponse(lf, date));
     }
 
-    WindsurfingResponse buildResponse(Location location, Optional<DailyForecast> forecast, LocalDate date) {
+    @Override
+    public List<WindsurfingResponse> findTopSuitableLocations(List<LocationForecast> forecasts, LocalDate date,
+                                                              int limit, ScoringProfile profile) {
+        return forecasts.stream()
+                .filter(lf -> isSuitable(lf, profile))
+                .sorted(Comparator.comparingDouble((LocationForecast lf) -> score(lf, profile)).reversed())
+                .limit(limit)
+                .map(lf -> buildResponse(lf, date))
+                .toList();
+    }
+
+    WindsurfingResponse buildResponse(LocationForecast lf, LocalDate date) {
+        var location = lf.location();
         return new WindsurfingResponse(
                 location.name(),
                 location.country(),
                 date,
-                forecast.get().temp(),
-                forecast.get().windSpd()
+                lf.temperature(),
+                lf.windSpeed(),
+                lf.freshness()
         );
     }
-}
\ No newline at end of file
+
+    private boolean isSuitable(LocationForecast lf, ScoringProfile profile) {
+        return weatherValidator.isSuitableForWindsurfing(lf.temperature(), lf.windSpeed(), profile);
+    }
+
+    private double score(LocationForecast lf, ScoringProfile profile) {
+        return weatherValidator.calculateScore(lf.temperature(), lf.windSpeed(), profile);
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.windsurferweatherservice.domain.spatial;
+
+/**
+ * Latitude/longitude rectangle in degrees. A box whose {@code minLongitude} is greater than its
+ * {@code maxLongitude} crosses the antimeridian, e.g. 170..-170 covers the 20 degrees around 180.
+ */
+public record BoundingBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+
+    public BoundingBox {
+        if (minLatitude > maxLatitude) {
+            throw new IllegalArgumentException("Minimum latitude must not be greater than maximum latitude");
+        }
+        if (minLatitude < -90 || maxLatitude > 90 || Math.abs(minLongitude) > 180 || Math.abs(maxLongitude) > 180) {
+            throw new IllegalArgumentException("Bounding box must lie within -90..90 and -180..180");
+        }
+    }
+
+    /**
+     * Smallest box containing the circle of the given radius; covers all longitudes when the circle reaches a pole.
+     */
+    public static BoundingBox around(double latitude, double longitude, double radiusKm) {
+        double latitudeDelta = radiusKm / GeoDistance.KM_PER_DEGREE_LATITUDE;
+        double minLatitude = latitude - latitudeDelta;
+        double maxLatitude = latitude + latitudeDelta;
+        if (minLatitude <= -90 || maxLatitude >= 90) {
+            return new BoundingBox(Math.max(-90, minLatitude), -180, Math.min(90, maxLatitude), 180);
+        }
+
+        double longitudeDelta = Math.toDegrees(Math.asin(
+                Math.min(1.0, Math.sin(radiusKm / GeoDistance.EARTH_RADIUS_KM) / Math.cos(Math.toRadians(latitude)))));
+        if (longitudeDelta >= 180) {
+            return new BoundingBox(minLatitude, -180, maxLatitude, 180);
+        }
+        return new BoundingBox(minLatitude, wrap(longitude - longitudeDelta), maxLatitude, wrap(longitude + longitudeDelta));
+    }
+
+    public boolean crossesAntimeridian() {
+        return minLongitude > maxLongitude;
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        if (latitude < minLatitude || latitude > maxLatitude) {
+            return false;
+        }
+        return crossesAntimeridian()
+                ? longitude >= minLongitude || longitude <= maxLongitude
+                : longitude >= minLongitude && longitude <= maxLongitude;
+    }
+
+    private static double wrap(double longitude) {
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        if (longitude > 180) {
+            return longitude - 360;
+        }
+        return longitude;
+    }
+}
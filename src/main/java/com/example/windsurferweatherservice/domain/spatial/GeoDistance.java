@@ -0,0 +1,22 @@
+package com.example.windsurferweatherservice.domain.spatial;
+
+/**
+ * Great-circle distances on a spherical Earth, accurate to well below a kilometre for spot searches.
+ */
+public final class GeoDistance {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    public static final double KM_PER_DEGREE_LATITUDE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    private GeoDistance() {
+    }
+
+    public static double haversineKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLatitude = Math.toRadians(latitude2 - latitude1);
+        double dLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dLatitude / 2) * Math.sin(dLatitude / 2)
+                   + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                     * Math.sin(dLongitude / 2) * Math.sin(dLongitude / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.windsurferweatherservice.domain.spatial;
+
+import com.example.windsurferweatherservice.domain.model.Location;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable grid index over location coordinates. Every location is put into the one-degree cell it lies in,
+ * so a bounding box or radius query only visits the cells overlapping the searched area instead of every spot.
+ */
+public final class LocationIndex {
+
+    private static final int CELLS_PER_DEGREE = 1;
+    private static final int LATITUDE_CELLS = 180 * CELLS_PER_DEGREE;
+    private static final int LONGITUDE_CELLS = 360 * CELLS_PER_DEGREE;
+
+    private final List<Location> locations;
+    private final Map<Integer, List<Location>> cells;
+
+    private LocationIndex(List<Location> locations, Map<Integer, List<Location>> cells) {
+        this.locations = locations;
+        this.cells = cells;
+    }
+
+    public static LocationIndex of(List<Location> locations) {
+        var cells = new HashMap<Integer, List<Location>>();
+        for (var location : locations) {
+            cells.computeIfAbsent(cell(latitudeCell(location.latitude()), longitudeCell(location.longitude())),
+                    ignored -> new ArrayList<>()).add(location);
+        }
+        cells.replaceAll((cell, members) -> List.copyOf(members));
+        return new LocationIndex(List.copyOf(locations), Map.copyOf(cells));
+    }
+
+    public List<Location> all() {
+        return locations;
+    }
+
+    public int size() {
+        return locations.size();
+    }
+
+    public List<Location> withinBox(BoundingBox box) {
+        var found = new ArrayList<Location>();
+        int fromLatitude = latitudeCell(box.minLatitude());
+        int toLatitude = latitudeCell(box.maxLatitude());
+        if (box.crossesAntimeridian()) {
+            collect(box, fromLatitude, toLatitude, longitudeCell(box.minLongitude()), LONGITUDE_CELLS - 1, found);
+            collect(box, fromLatitude, toLatitude, 0, longitudeCell(box.maxLongitude()), found);
+        } else {
+            collect(box, fromLatitude, toLatitude, longitudeCell(box.minLongitude()), longitudeCell(box.maxLongitude()), found);
+        }
+        return found;
+    }
+
+    /**
+     * @return locations within the radius, nearest first
+     */
+    public List<Location> withinRadius(double latitude, double longitude, double radiusKm) {
+        record Candidate(Location location, double distanceKm) {
+        }
+        return withinBox(BoundingBox.around(latitude, longitude, radiusKm)).stream()
+                .map(location -> new Candidate(location,
+                        GeoDistance.haversineKm(latitude, longitude, location.latitude(), location.longitude())))
+                .filter(candidate -> candidate.distanceKm() <= radiusKm)
+                .sorted(Comparator.comparingDouble(Candidate::distanceKm))
+                .map(Candidate::location)
+                .toList();
+    }
+
+    private void collect(BoundingBox box, int fromLatitude, int toLatitude, int fromLongitude, int toLongitude,
+                         List<Location> found) {
+        for (int latitudeCell = fromLatitude; latitudeCell <= toLatitude; latitudeCell++) {
+            for (int longitudeCell = fromLongitude; longitudeCell <= toLongitude; longitudeCell++) {
+                var members = cells.get(cell(latitudeCell, longitudeCell));
+                if (members == null) {
+                    continue;
+                }
+                for (var location : members) {
+                    if (box.contains(location.latitude(), location.longitude())) {
+                        found.add(location);
+                    }
+                }
+            }
+        }
+    }
+
+    private static int latitudeCell(double latitude) {
+        return Math.min(LATITUDE_CELLS - 1, (int) Math.floor((latitude + 90) * CELLS_PER_DEGREE));
+    }
+
+    private static int longitudeCell(double longitude) {
+        return Math.min(LONGITUDE_CELLS - 1, (int) Math.floor((longitude + 180) * CELLS_PER_DEGREE));
+    }
+
+    private static int cell(int latitudeCell, int longitudeCell) {
+        return latitudeCell * LONGITUDE_CELLS + longitudeCell;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.windsurferweatherservice.domain.storage;
+
+import com.example.windsurferweatherservice.shared.config.CatalogueProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+/**
+ * Reloads the catalogue when its file, or any shard in its directory, changes. Changes are collected until
+ * the source stayed quiet for the debounce time, so one reload follows a burst of writes. Reloads run on the
+ * watcher thread, never on a request thread.
+ */
+@Slf4j
+@Component
+public class LocationCatalogueWatcher {
+
+    private final LocationStorage storage;
+    private final CatalogueProperties properties;
+    private volatile WatchService watchService;
+    private Thread thread;
+
+    public LocationCatalogueWatcher(LocationStorage storage, CatalogueProperties properties) {
+        this.storage = storage;
+        this.properties = properties;
+    }
+
+    @EventListener
+    public void handleApplicationStartedEvent(ApplicationStartedEvent ignored) throws IOException {
+        if (!properties.watch() || properties.isClasspathSource()) {
+            return;
+        }
+        var source = Path.of(properties.source()).toAbsolutePath();
+        var directory = Files.isDirectory(source) ? source : source.getParent();
+        var fileName = Files.isDirectory(source) ? null : source.getFileName();
+
+        watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+        thread = Thread.ofPlatform().name("location-catalogue-watcher").daemon()
+                .start(() -> watch(watchService, fileName));
+        log.info("Watching {} for location catalogue changes.", source);
+    }
+
+    private void watch(WatchService watcher, Path fileName) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                if (!isRelevant(watcher.take(), fileName)) {
+                    continue;
+                }
+                WatchKey next;
+                while ((next = watcher.poll(properties.debounce().toMillis(), TimeUnit.MILLISECONDS)) != null) {
+                    isRelevant(next, fileName);
+                }
+                log.info("Location catalogue changed, reloading.");
+                storage.reload();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            log.debug("Location catalogue watcher closed.");
+        }
+    }
+
+    // drains the key's events and re-arms it; only the catalogue file counts when a single file is watched
+    private static boolean isRelevant(WatchKey key, Path fileName) {
+        boolean relevant = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            relevant |= fileName == null || event.kind() == OVERFLOW || fileName.equals(event.context());
+        }
+        key.reset();
+        return relevant;
+    }
+
+    @PreDestroy
+    void shutdown() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+}
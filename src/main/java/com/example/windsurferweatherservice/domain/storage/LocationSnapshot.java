@@ -0,0 +1,21 @@
+package com.example.windsurferweatherservice.domain.storage;
+
+import com.example.windsurferweatherservice.domain.spatial.LocationIndex;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * One immutable, fully indexed version of the location catalogue. Readers always see a complete snapshot,
+ * a reload publishes the next one as a whole.
+ *
+ * @param version increases with every successful load, starting at 1
+ */
+public record LocationSnapshot(long version, Instant loadedAt, LocationIndex index) {
+
+    static final LocationSnapshot EMPTY = new LocationSnapshot(0, Instant.EPOCH, LocationIndex.of(List.of()));
+
+    public boolean isEmpty() {
+        return index.size() == 0;
+    }
+}
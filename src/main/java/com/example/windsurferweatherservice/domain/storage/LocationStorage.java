@@ -1,40 +1,115 @@
 package com.example.windsurferweatherservice.domain.storage;
 
 import com.example.windsurferweatherservice.application.adviser.exception.NoAvailableLocationsException;
+import com.example.windsurferweatherservice.shared.loader.LocationsConfiguration;
 import com.example.windsurferweatherservice.shared.loader.LocationsDataLoader;
 import com.example.windsurferweatherservice.domain.model.Location;
+import com.example.windsurferweatherservice.domain.spatial.BoundingBox;
+import com.example.windsurferweatherservice.domain.spatial.LocationIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Holds the location catalogue as an immutable {@link LocationSnapshot}. A reload parses and indexes the new
+ * catalogue on the calling thread and publishes it with one reference swap, so readers never wait for a reload
+ * and never see a partially loaded catalogue.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class LocationStorage {
 
     private final LocationsDataLoader dataLoader;
-    private static final List<Location> locations = new CopyOnWriteArrayList<>();
+    private final ApplicationEventPublisher eventPublisher;
+    private final AtomicReference<LocationSnapshot> snapshot = new AtomicReference<>(LocationSnapshot.EMPTY);
+    private final ReentrantLock reloadLock = new ReentrantLock();
 
     @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
     public void handleApplicationStartingEvent(ApplicationStartedEvent ignored) {
         log.info("Application is started, loading cached positions.");
-        dataLoader.load()
-                .getLocations()
-                .forEach(it -> {
-                    var location = new Location(it.getName(), it.getCountry(), it.getLatitude(), it.getLongitude());
-                    locations.add(location);
-                });
+        load();
     }
 
+    /**
+     * Loads the catalogue again. When loading fails the current snapshot stays in place.
+     *
+     * @return whether a new snapshot was published
+     */
+    public boolean reload() {
+        try {
+            load();
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Reloading locations failed, keeping version {}: {}", snapshot.get().version(), e.getMessage(), e);
+            return false;
+        }
+    }
+
+    private void load() {
+        reloadLock.lock();
+        try {
+            var locations = dataLoader.load()
+                    .getLocations()
+                    .stream()
+                    .map(LocationStorage::toLocation)
+                    .distinct()
+                    .toList();
+            var previous = snapshot.get();
+            var next = new LocationSnapshot(previous.version() + 1, Instant.now(), LocationIndex.of(locations));
+            snapshot.set(next);
+            log.info("Indexed {} locations as version {}.", next.index().size(), next.version());
+
+            if (previous.version() > 0) {
+                eventPublisher.publishEvent(LocationsReloadedEvent.between(previous, next));
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    // the loader resolves every zone, only a catalogue built by hand may lack one
+    private static Location toLocation(LocationsConfiguration.LocationConfiguration config) {
+        var zone = config.getTimezone() == null ? ZoneOffset.UTC : ZoneId.of(config.getTimezone());
+        return new Location(config.getName(), config.getCountry(), config.getLatitude(), config.getLongitude(), zone);
+    }
+
+    public LocationSnapshot snapshot() {
+        return snapshot.get();
+    }
 
     public List<Location> findAll() {
-        if (locations.isEmpty())
+        return current().index().all();
+    }
+
+    /**
+     * @return locations within the radius around the point, nearest first
+     */
+    public List<Location> findWithinRadius(double latitude, double longitude, double radiusKm) {
+        return current().index().withinRadius(latitude, longitude, radiusKm);
+    }
+
+    public List<Location> findWithinBox(BoundingBox box) {
+        return current().index().withinBox(box);
+    }
+
+    private LocationSnapshot current() {
+        var current = snapshot.get();
+        if (current.isEmpty())
             throw new NoAvailableLocationsException("No locations configured in the system");
-        return locations;
+        return current;
     }
 }
@@ -0,0 +1,20 @@
+package com.example.windsurferweatherservice.domain.storage;
+
+import com.example.windsurferweatherservice.domain.model.Location;
+
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Published after a reload replaced the catalogue with a new snapshot.
+ */
+public record LocationsReloadedEvent(long version, List<Location> added, List<Location> removed) {
+
+    static LocationsReloadedEvent between(LocationSnapshot previous, LocationSnapshot current) {
+        var before = new HashSet<>(previous.index().all());
+        var after = new HashSet<>(current.index().all());
+        return new LocationsReloadedEvent(current.version(),
+                current.index().all().stream().filter(location -> !before.contains(location)).toList(),
+                previous.index().all().stream().filter(location -> !after.contains(location)).toList());
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.windsurferweatherservice.domain.time;
+
+import com.example.windsurferweatherservice.domain.model.Location;
+import com.example.windsurferweatherservice.domain.storage.LocationSnapshot;
+import com.example.windsurferweatherservice.domain.storage.LocationStorage;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Tells which dates are over at which locations, by the time zone each location was given when the catalogue was
+ * loaded. Only the distinct zones of the catalogue are evaluated, through their {@link ZoneTable}s; a location is
+ * then tested by the zone it carries, so no location is converted to its local time on the request path.
+ */
+@Component
+public class LocationCalendar {
+
+    // no zone is ahead of UTC+14 or behind UTC-12
+    private static final ZoneOffset LATEST = ZoneOffset.ofHours(14);
+    private static final ZoneOffset EARLIEST = ZoneOffset.ofHours(-12);
+
+    private final LocationStorage storage;
+    private final Clock clock;
+    private final Map<ZoneId, ZoneTable> tables = new ConcurrentHashMap<>();
+    private volatile CatalogueZones catalogueZones = new CatalogueZones(null, Set.of());
+    private volatile DateChanges dateChanges = new DateChanges(Set.of(), Instant.MAX, Instant.MIN);
+
+    @Autowired
+    public LocationCalendar(LocationStorage storage) {
+        this(storage, Clock.systemUTC());
+    }
+
+    LocationCalendar(LocationStorage storage, Clock clock) {
+        this.storage = storage;
+        this.clock = clock;
+    }
+
+    /**
+     * @return the earliest date that is still today at one of the locations; earlier dates are over everywhere
+     */
+    public LocalDate earliestToday() {
+        var now = clock.instant();
+        var zones = zones();
+        if (zones.isEmpty()) {
+            return LocalDate.ofInstant(now, EARLIEST);
+        }
+        long earliest = Long.MAX_VALUE;
+        for (var zone : zones) {
+            earliest = Math.min(earliest, table(zone, now).epochDay(now.getEpochSecond()));
+        }
+        return LocalDate.ofEpochDay(earliest);
+    }
+
+    /**
+     * @return the locations at which the date is not over yet, {@code null} when it is not over anywhere, which is
+     *         the case for every date but today in the zones past midnight already
+     */
+    public Predicate<Location> openOn(LocalDate date) {
+        var now = clock.instant();
+        long day = date.toEpochDay();
+        if (day >= LocalDate.ofInstant(now, LATEST).toEpochDay()) {
+            return null;
+        }
+        Set<ZoneId> over = new HashSet<>();
+        for (var zone : zones()) {
+            if (table(zone, now).epochDay(now.getEpochSecond()) > day) {
+                over.add(zone);
+            }
+        }
+        return over.isEmpty() ? null : location -> !over.contains(location.zone());
+    }
+
+    /**
+     * @return the latest instant at which the date changed at one of the locations; {@link #openOn} answers the same
+     *         until {@link #nextDateChange()}
+     */
+    public Instant lastDateChange() {
+        return dateChanges(clock.instant()).last();
+    }
+
+    /**
+     * @return the next instant at which the date changes at one of the locations
+     */
+    public Instant nextDateChange() {
+        return dateChanges(clock.instant()).next();
+    }
+
+    /**
+     * @return the table of the zone covering the instant, built once and shared until the instant leaves its window
+     */
+    ZoneTable table(ZoneId zone, Instant now) {
+        long second = now.getEpochSecond();
+        var table = tables.computeIfAbsent(zone, ignored -> ZoneTable.covering(zone, now));
+        if (table.covers(second)) {
+            return table;
+        }
+        return tables.compute(zone, (ignored, current) ->
+                current != null && current.covers(second) ? current : ZoneTable.covering(zone, now));
+    }
+
+    private Set<ZoneId> zones() {
+        var snapshot = storage.snapshot();
+        var cached = catalogueZones;
+        if (cached.snapshot() != snapshot) {
+            var zones = snapshot.index().all().stream().map(Location::zone).collect(Collectors.toUnmodifiableSet());
+            cached = new CatalogueZones(snapshot, zones);
+            catalogueZones = cached;
+        }
+        return cached.zones();
+    }
+
+    private DateChanges dateChanges(Instant now) {
+        var zones = zones();
+        var cached = dateChanges;
+        if (cached.zones() == zones && !now.isBefore(cached.last()) && now.isBefore(cached.next())) {
+            return cached;
+        }
+        var last = Instant.MIN;
+        var next = Instant.MAX;
+        for (ZoneId zone : zones.isEmpty() ? Set.<ZoneId>of(EARLIEST) : zones) {
+            var today = LocalDate.ofInstant(now, zone);
+            last = max(last, today.atStartOfDay(zone).toInstant());
+            next = min(next, today.plusDays(1).atStartOfDay(zone).toInstant());
+        }
+        cached = new DateChanges(zones, last, next);
+        dateChanges = cached;
+        return cached;
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static Instant min(Instant a, Instant b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    private record DateChanges(Set<ZoneId> zones, Instant last, Instant next) {
+    }
+
+    private record CatalogueZones(LocationSnapshot snapshot, Set<ZoneId> zones) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.windsurferweatherservice.domain.time;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The UTC offsets of one zone for about a year, precomputed from its {@link java.time.zone.ZoneRules}. Telling the
+ * local date of an instant is then a scan over the handful of transitions in the window and a division, instead of
+ * a rules lookup. Instants outside the window fall back to the rules.
+ */
+public final class ZoneTable {
+
+    private static final long SECONDS_PER_DAY = 86_400;
+    private static final Duration BEFORE = Duration.ofDays(2);
+    private static final Duration SPAN = Duration.ofDays(400);
+
+    private final ZoneId zone;
+    private final long from;
+    private final long until;
+    private final long[] transitions;
+    private final int[] offsets;
+
+    private ZoneTable(ZoneId zone, long from, long until, long[] transitions, int[] offsets) {
+        this.zone = zone;
+        this.from = from;
+        this.until = until;
+        this.transitions = transitions;
+        this.offsets = offsets;
+    }
+
+    /**
+     * @return a table of the zone whose window starts shortly before the instant
+     */
+    static ZoneTable covering(ZoneId zone, Instant now) {
+        return build(zone, now.minus(BEFORE));
+    }
+
+    static ZoneTable build(ZoneId zone, Instant from) {
+        var rules = zone.getRules();
+        var until = from.plus(SPAN);
+        List<Long> transitions = new ArrayList<>();
+        List<Integer> offsets = new ArrayList<>();
+        offsets.add(rules.getOffset(from).getTotalSeconds());
+        for (var transition = rules.nextTransition(from);
+             transition != null && transition.getInstant().isBefore(until);
+             transition = rules.nextTransition(transition.getInstant())) {
+            transitions.add(transition.getInstant().getEpochSecond());
+            offsets.add(transition.getOffsetAfter().getTotalSeconds());
+        }
+        return new ZoneTable(zone, from.getEpochSecond(), until.getEpochSecond(),
+                transitions.stream().mapToLong(Long::longValue).toArray(),
+                offsets.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    public ZoneId zone() {
+        return zone;
+    }
+
+    boolean covers(long epochSecond) {
+        return epochSecond >= from && epochSecond < until;
+    }
+
+    /**
+     * @return the local date at the instant as epoch day
+     */
+    public long epochDay(long epochSecond) {
+        return Math.floorDiv(epochSecond + offset(epochSecond), SECONDS_PER_DAY);
+    }
+
+    int offset(long epochSecond) {
+        if (!covers(epochSecond)) {
+            return zone.getRules().getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        }
+        int i = 0;
+        while (i < transitions.length && epochSecond >= transitions[i]) {
+            i++;
+        }
+        return offsets[i];
+    }
+}
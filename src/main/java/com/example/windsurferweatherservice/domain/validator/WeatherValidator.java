@@ -1,48 +1,42 @@
 package com.example.windsurferweatherservice.domain.validator;
 
 import com.example.windsurferweatherservice.application.controller.dto.DailyForecast;
-import com.example.windsurferweatherservice.application.controller.dto.WeatherForecast;
+import com.example.windsurferweatherservice.domain.model.ForecastSeries;
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfile;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
 
+/**
+ * Applies a {@link ScoringProfile} to single forecast days of the request path.
+ * The ranking table evaluates whole forecasts with all profiles at once through
+ * {@link com.example.windsurferweatherservice.domain.scoring.ScoringProfiles}.
+ */
 @Component
 public class WeatherValidator {
 
-    private static final double MIN_WIND_SPEED = 5.0;
-    private static final double MAX_WIND_SPEED = 18.0;
-    private static final double MIN_TEMPERATURE = 5.0;
-    private static final double MAX_TEMPERATURE = 35.0;
-    private static final int WIND_SCORE_MULTIPLIER = 3;
-
-    public boolean isForecastValid(WeatherForecast forecast) {
-        return forecast != null
-               && forecast.data() != null
-               && !forecast.data().isEmpty();
+    public boolean isForecastValid(ForecastSeries forecast) {
+        return forecast != null && !forecast.isEmpty();
     }
 
-    public boolean isSuitableForWindsurfing(Optional<DailyForecast> forecast) {
+    public boolean isSuitableForWindsurfing(Optional<DailyForecast> forecast, ScoringProfile profile) {
         if (forecast.isEmpty()) return false;
 
-        double windSpeed = forecast.get().windSpd();
-        double temperature = forecast.get().temp();
-
-        boolean windOk = isWindSpeedSuitable(windSpeed);
-        boolean tempOk = isTemperatureSuitable(temperature);
-
-        return windOk && tempOk;
+        var day = forecast.get();
+        return isSuitableForWindsurfing(day.temp(), day.windSpd(), profile);
     }
 
-    boolean isWindSpeedSuitable(double windSpeed) {
-        return windSpeed >= MIN_WIND_SPEED && windSpeed <= MAX_WIND_SPEED;
+    public boolean isSuitableForWindsurfing(double temperature, double windSpeed, ScoringProfile profile) {
+        return profile.isSuitable(temperature, windSpeed);
     }
 
-    boolean isTemperatureSuitable(double temperature) {
-        return temperature >= MIN_TEMPERATURE && temperature <= MAX_TEMPERATURE;
+    public double calculateScore(Optional<DailyForecast> forecast, ScoringProfile profile) {
+        var day = forecast.get();
+        return calculateScore(day.temp(), day.windSpd(), profile);
     }
 
-    public double calculateScore(Optional<DailyForecast> forecast) {
-        return forecast.get().windSpd() * WIND_SCORE_MULTIPLIER + forecast.get().temp();
+    public double calculateScore(double temperature, double windSpeed, ScoringProfile profile) {
+        return profile.score(temperature, windSpeed);
     }
 
 }
@@ -0,0 +1,14 @@
+package com.example.windsurferweatherservice.infra;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * A Weatherbit response that arrived but could not be decoded into a forecast.
+ */
+public class ForecastDecodingException extends UncheckedIOException {
+
+    public ForecastDecodingException(String message, IOException cause) {
+        super(message, cause);
+    }
+}
@@ -1,23 +1,44 @@
 package com.example.windsurferweatherservice.infra;
 
-import com.example.windsurferweatherservice.application.controller.dto.WeatherForecast;
+import com.example.windsurferweatherservice.domain.model.ForecastSeries;
+import com.example.windsurferweatherservice.shared.metrics.ForecastMetrics;
+import com.example.windsurferweatherservice.shared.metrics.ForecastMetrics.Outcome;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
-
-import java.time.Duration;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
 
 @Component
 @RequiredArgsConstructor
 public class WeatherBitClient {
 
     private final WebClient webClient;
+    private final WeatherbitForecastDecoder decoder;
+    private final ForecastMetrics metrics;
 
     @Value("${weatherbit.api.key}")
     private String apiKey;
 
-    public WeatherForecast getForecast(double latitude, double longitude) {
+    public ForecastSeries getForecast(double latitude, double longitude) {
+        return forecast(latitude, longitude).block();
+    }
+
+    /**
+     * Non-blocking variant of {@link #getForecast(double, double)}; cancelling the subscription aborts the call.
+     */
+    public Mono<ForecastSeries> forecast(double latitude, double longitude) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return request(latitude, longitude)
+                    .doOnSuccess(ignored -> record(latitude, longitude, start, Outcome.SUCCESS))
+                    .doOnError(e -> record(latitude, longitude, start, isTimeout(e) ? Outcome.TIMEOUT : Outcome.ERROR))
+                    .doOnCancel(() -> record(latitude, longitude, start, Outcome.CANCELLED));
+        });
+    }
+
+    private Mono<ForecastSeries> request(double latitude, double longitude) {
         return webClient
                 .get()
                 .uri(uriBuilder -> uriBuilder
@@ -28,9 +49,23 @@ public class WeatherBitClient {
                         .queryParam("days", 7)
                 .build())
                 .retrieve()
-                .bodyToMono(WeatherForecast.class)
-                .timeout(Duration.ofSeconds(10))
-                .block();
+                .bodyToMono(byte[].class)
+                // bounded by weatherbit.http.response-timeout of the underlying client, no second timeout here
+                .map(decoder::decode);
+    }
+
+    private void record(double latitude, double longitude, long start, Outcome outcome) {
+        metrics.recordUpstreamCall(latitude, longitude, System.nanoTime() - start, outcome);
+    }
+
+    // Netty's response timeout ends up somewhere in the cause chain
+    static boolean isTimeout(Throwable error) {
+        for (var cause = Exceptions.unwrap(error); cause != null; cause = cause.getCause()) {
+            if (cause instanceof io.netty.handler.timeout.TimeoutException) {
+                return true;
+            }
+        }
+        return false;
     }
 
 }
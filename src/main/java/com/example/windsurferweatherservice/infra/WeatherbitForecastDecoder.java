@@ -0,0 +1,188 @@
+package com.example.windsurferweatherservice.infra;
+
+import com.example.windsurferweatherservice.domain.model.ForecastSeries;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Decodes a Weatherbit daily forecast with the Jackson streaming API. Only {@code valid_date}, {@code temp}
+ * and {@code wind_spd} of the {@code data} entries are read into primitive columns; everything else is skipped
+ * token by token without building objects or trees.
+ */
+@Component
+public class WeatherbitForecastDecoder {
+
+    private final JsonFactory jsonFactory;
+
+    public WeatherbitForecastDecoder(ObjectMapper weatherbitObjectMapper) {
+        this.jsonFactory = weatherbitObjectMapper.getFactory();
+    }
+
+    public ForecastSeries decode(byte[] json) {
+        try (var parser = jsonFactory.createParser(json)) {
+            return decode(parser);
+        } catch (IOException e) {
+            throw new ForecastDecodingException("Failed to decode Weatherbit forecast", e);
+        }
+    }
+
+    private ForecastSeries decode(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Expected a JSON object");
+        }
+        var days = new Days();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.currentName();
+            var value = parser.nextToken();
+            if ("data".equals(field) && value == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    readDay(parser, days);
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return days.toSeries();
+    }
+
+    private void readDay(JsonParser parser, Days days) throws IOException {
+        long epochDay = Long.MIN_VALUE;
+        double temperature = Double.NaN;
+        double windSpeed = Double.NaN;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var field = parser.currentName();
+            var value = parser.nextToken();
+            switch (field) {
+                case "valid_date" -> epochDay = value == JsonToken.VALUE_STRING ? parseEpochDay(parser) : Long.MIN_VALUE;
+                case "temp" -> temperature = value.isNumeric() ? parser.getDoubleValue() : Double.NaN;
+                case "wind_spd" -> windSpeed = value.isNumeric() ? parser.getDoubleValue() : Double.NaN;
+                default -> parser.skipChildren();
+            }
+        }
+        if (epochDay != Long.MIN_VALUE && !Double.isNaN(temperature) && !Double.isNaN(windSpeed)) {
+            days.add(epochDay, temperature, windSpeed);
+        }
+    }
+
+    // reads yyyy-MM-dd straight from the parser's character buffer instead of materializing a String
+    private static long parseEpochDay(JsonParser parser) throws IOException {
+        var chars = parser.getTextCharacters();
+        int offset = parser.getTextOffset();
+        if (parser.getTextLength() != 10 || chars[offset + 4] != '-' || chars[offset + 7] != '-') {
+            throw new IOException("Unexpected valid_date format: " + parser.getText());
+        }
+        int year = digits(chars, offset, 4);
+        int month = digits(chars, offset + 5, 2);
+        int day = digits(chars, offset + 8, 2);
+        if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            throw new IOException("Unexpected valid_date: " + parser.getText());
+        }
+        return epochDay(year, month, day);
+    }
+
+    private static int digits(char[] chars, int offset, int length) throws IOException {
+        int value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            int digit = chars[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IOException("Unexpected digit in valid_date");
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    // same arithmetic as LocalDate.toEpochDay(), without creating the LocalDate
+    static long epochDay(int year, int month, int day) {
+        long y = year;
+        long total = 365 * y;
+        if (y >= 0) {
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            total -= y / -4 - y / -100 + y / -400;
+        }
+        total += (367L * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(y)) {
+                total--;
+            }
+        }
+        return total - 719_528;
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> isLeapYear(year) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    private static boolean isLeapYear(long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static final class Days {
+
+        private long[] epochDays = new long[8];
+        private double[] temperatures = new double[8];
+        private double[] windSpeeds = new double[8];
+        private int count;
+        private long first = Long.MAX_VALUE;
+        private long last = Long.MIN_VALUE;
+
+        void add(long epochDay, double temperature, double windSpeed) {
+            if (count == epochDays.length) {
+                epochDays = Arrays.copyOf(epochDays, count * 2);
+                temperatures = Arrays.copyOf(temperatures, count * 2);
+                windSpeeds = Arrays.copyOf(windSpeeds, count * 2);
+            }
+            epochDays[count] = epochDay;
+            temperatures[count] = temperature;
+            windSpeeds[count] = windSpeed;
+            count++;
+            first = Math.min(first, epochDay);
+            last = Math.max(last, epochDay);
+        }
+
+        ForecastSeries toSeries() throws IOException {
+            if (count == 0) {
+                return new ForecastSeries(0, new double[0], new double[0]);
+            }
+            if (last - first >= ForecastSeries.MAX_DAYS) {
+                throw new IOException("Forecast spans more than " + ForecastSeries.MAX_DAYS + " days");
+            }
+            int size = (int) (last - first + 1);
+            if (size == count && isAscending()) {
+                return new ForecastSeries(first, Arrays.copyOf(temperatures, count), Arrays.copyOf(windSpeeds, count));
+            }
+            var temperatureColumn = new double[size];
+            var windSpeedColumn = new double[size];
+            Arrays.fill(temperatureColumn, Double.NaN);
+            Arrays.fill(windSpeedColumn, Double.NaN);
+            for (int i = 0; i < count; i++) {
+                int offset = (int) (epochDays[i] - first);
+                temperatureColumn[offset] = temperatures[i];
+                windSpeedColumn[offset] = windSpeeds[i];
+            }
+            return new ForecastSeries(first, temperatureColumn, windSpeedColumn);
+        }
+
+        private boolean isAscending() {
+            for (int i = 1; i < count; i++) {
+                if (epochDays[i] != epochDays[i - 1] + 1) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.windsurferweatherservice.infra.cache;
+
+import com.example.windsurferweatherservice.domain.model.ForecastSeries;
+import com.example.windsurferweatherservice.domain.model.Freshness;
+
+public record CachedForecast(ForecastSeries forecast, Freshness freshness) {
+}
@@ -0,0 +1,282 @@
+package com.example.windsurferweatherservice.infra.cache;
+
+import com.example.windsurferweatherservice.application.adviser.exception.WeatherApiException;
+import com.example.windsurferweatherservice.domain.model.ForecastSeries;
+import com.example.windsurferweatherservice.domain.model.Freshness;
+import com.example.windsurferweatherservice.infra.dispatch.ForecastDispatcher;
+import com.example.windsurferweatherservice.infra.quota.FetchPriority;
+import com.example.windsurferweatherservice.infra.store.ForecastStore;
+import com.example.windsurferweatherservice.infra.store.StoredForecast;
+import com.example.windsurferweatherservice.shared.config.ForecastCacheProperties;
+import com.example.windsurferweatherservice.shared.config.RefreshProperties;
+import com.example.windsurferweatherservice.shared.metrics.ForecastMetrics;
+import com.example.windsurferweatherservice.shared.metrics.ForecastMetrics.CacheResult;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Keeps the whole 7-day forecast of a spot, so every date in the window is served from one upstream call.
+ * Concurrent misses for the same spot wait for the single in-flight fetch instead of starting their own,
+ * and all fetches go through {@link ForecastDispatcher}, which also joins them with the refresh sweeps.
+ * Misses are fetched as user requests, warm-ups and refreshes queue behind them for the Weatherbit call quota.
+ * While the background refresher is enabled, misses are only loaded on the request path until a sweep has ranked
+ * a location, see {@link #loadMissesOnRequest(boolean)}.
+ *
+ * Next to the fresh entries the last good forecast of every spot is kept for {@code maxStale}. It is served,
+ * marked as stale by its {@link Freshness}, whenever no fresh forecast is available because Weatherbit fails.
+ * Every lookup is counted as a hit, a miss or a stale hit in {@link ForecastMetrics}.
+ *
+ * Fetched forecasts are also appended to the {@link ForecastStore}. The forecasts it restores at construction,
+ * before the first warm-up sweep, are served as fresh for the rest of their ttl and as stale up to maxStale.
+ */
+@Slf4j
+@Component
+public class ForecastCache {
+
+    private final ForecastDispatcher dispatcher;
+    private final Duration ttl;
+    private final AsyncCache<ForecastKey, CachedForecast> cache;
+    private final Cache<ForecastKey, CachedForecast> lastKnownGood;
+    private volatile boolean loadOnMiss;
+    private final ForecastMetrics metrics;
+    private final ForecastStore store;
+
+    public ForecastCache(ForecastDispatcher dispatcher,
+                         ForecastCacheProperties properties,
+                         RefreshProperties refreshProperties,
+                         ForecastMetrics metrics,
+                         ForecastStore store) {
+        this.dispatcher = dispatcher;
+        this.metrics = metrics;
+        this.store = store;
+        this.ttl = properties.ttl();
+        // entries live until they go stale, which for restored forecasts is sooner than a full ttl from now
+        this.cache = Caffeine.newBuilder()
+                .expireAfter(Expiry.writing((ForecastKey key, CachedForecast cached) ->
+                        remaining(cached.freshness().staleAt())))
+                .maximumSize(properties.maxEntries())
+                .buildAsync();
+        this.lastKnownGood = Caffeine.newBuilder()
+                .expireAfter(Expiry.writing((ForecastKey key, CachedForecast cached) ->
+                        remaining(cached.freshness().fetchedAt().plus(properties.maxStale()))))
+                .maximumSize(properties.maxEntries())
+                .build();
+        this.loadOnMiss = !refreshProperties.enabled();
+        restore(store.load());
+    }
+
+    private void restore(List<StoredForecast> stored) {
+        for (var entry : stored) {
+            var fetchedAt = entry.fetchedAt();
+            var cached = new CachedForecast(entry.forecast(), new Freshness(fetchedAt, fetchedAt.plus(ttl)));
+            lastKnownGood.put(entry.key(), cached);
+            if (!cached.freshness().isStale()) {
+                cache.put(entry.key(), CompletableFuture.completedFuture(cached));
+            }
+        }
+    }
+
+    private static Duration remaining(Instant until) {
+        var remaining = Duration.between(Instant.now(), until);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    /**
+     * @return the cached forecast, or {@code null} when the spot is not cached and misses are not loaded
+     */
+    public ForecastSeries getForecast(double latitude, double longitude) {
+        var cached = getCachedForecast(latitude, longitude);
+        return cached == null ? null : cached.forecast();
+    }
+
+    /**
+     * Switches loading misses on the request path on or off. The refresher turns it on while no sweep has ranked a
+     * location, e.g. as Weatherbit was down at boot, so requests are not left without any forecast.
+     */
+    public void loadMissesOnRequest(boolean load) {
+        loadOnMiss = load;
+    }
+
+    /**
+     * Like {@link #getForecast(double, double)}, together with the freshness of the forecast served.
+     */
+    public CachedForecast getCachedForecast(double latitude, double longitude) {
+        return lookup(ForecastKey.of(latitude, longitude), latitude, longitude);
+    }
+
+    /**
+     * Non-blocking variant of {@link #getForecast(double, double)}, empty when the spot is not cached and misses
+     * are not loaded. A miss subscribes to the shared upstream call of the spot, so cancelling the returned
+     * {@link Mono} releases the call unless other requests still wait for it.
+     */
+    public Mono<ForecastSeries> forecast(double latitude, double longitude) {
+        return cachedForecast(latitude, longitude).map(CachedForecast::forecast);
+    }
+
+    /**
+     * Like {@link #forecast(double, double)}, together with the freshness of the forecast served.
+     */
+    public Mono<CachedForecast> cachedForecast(double latitude, double longitude) {
+        var key = ForecastKey.of(latitude, longitude);
+        var present = cache.getIfPresent(key);
+        if (present != null) {
+            return withStaleFallback(key, Mono.fromFuture(present, true), CacheResult.HIT);
+        }
+        if (!loadOnMiss) {
+            var stale = lastKnownGood.getIfPresent(key);
+            return Mono.justOrEmpty(counted(stale != null ? CacheResult.STALE : CacheResult.MISS, stale));
+        }
+        var loading = dispatcher.forecast(latitude, longitude)
+                .map(forecast -> {
+                    var loaded = cached(key, forecast);
+                    cache.put(key, CompletableFuture.completedFuture(loaded));
+                    return loaded;
+                });
+        return withStaleFallback(key, loading, CacheResult.MISS);
+    }
+
+    private Mono<CachedForecast> withStaleFallback(ForecastKey key, Mono<CachedForecast> lookup, CacheResult result) {
+        return lookup
+                .doOnSuccess(ignored -> metrics.recordCacheLookup(result))
+                .onErrorResume(e -> {
+                    var stale = lastKnownGood.getIfPresent(key);
+                    if (stale == null) {
+                        metrics.recordCacheLookup(result);
+                        return Mono.error(e);
+                    }
+                    log.warn("Serving stale forecast for {} fetched at {}: {}", key, stale.freshness().fetchedAt(), e.getMessage());
+                    return Mono.just(counted(CacheResult.STALE, stale));
+                });
+    }
+
+    /**
+     * @return the cached forecast of the spot when it stays fresh for at least the given time
+     */
+    public Optional<CachedForecast> freshFor(double latitude, double longitude, Duration atLeast) {
+        var cached = cache.getIfPresent(ForecastKey.of(latitude, longitude));
+        if (cached == null || !cached.isDone() || cached.isCompletedExceptionally() || cached.join() == null) {
+            return Optional.empty();
+        }
+        var fresh = cached.join();
+        return fresh.freshness().staleAt().isAfter(Instant.now().plus(atLeast)) ? Optional.of(fresh) : Optional.empty();
+    }
+
+    /**
+     * @return freshness of the forecast currently served for the spot
+     */
+    public Optional<Freshness> freshness(double latitude, double longitude) {
+        var key = ForecastKey.of(latitude, longitude);
+        var fresh = cache.getIfPresent(key);
+        if (fresh != null && fresh.isDone() && !fresh.isCompletedExceptionally() && fresh.join() != null) {
+            return Optional.of(fresh.join().freshness());
+        }
+        return Optional.ofNullable(lastKnownGood.getIfPresent(key)).map(CachedForecast::freshness);
+    }
+
+    /**
+     * Fetches the spot again and replaces the cached forecast. The previous forecast keeps being served
+     * until the new one arrives and stays cached when the fetch fails.
+     *
+     * @param priority {@link FetchPriority#WARM_UP} or {@link FetchPriority#REFRESH}
+     */
+    public CachedForecast refresh(double latitude, double longitude, FetchPriority priority) {
+        var key = ForecastKey.of(latitude, longitude);
+        var cached = fetch(key, latitude, longitude, priority);
+        if (cached != null) {
+            cache.put(key, CompletableFuture.completedFuture(cached));
+        }
+        return cached;
+    }
+
+    private CachedForecast lookup(ForecastKey key, double latitude, double longitude) {
+        if (!loadOnMiss) {
+            var cached = cache.getIfPresent(key);
+            if (cached != null) {
+                return counted(CacheResult.HIT, await(cached));
+            }
+            var stale = lastKnownGood.getIfPresent(key);
+            return counted(stale != null ? CacheResult.STALE : CacheResult.MISS, stale);
+        }
+
+        var loading = new CompletableFuture<CachedForecast>();
+        var inFlight = cache.asMap().putIfAbsent(key, loading);
+        var result = inFlight == null ? CacheResult.MISS : CacheResult.HIT;
+        if (inFlight == null) {
+            // loaded on the dispatcher's threads, so a caller interrupted at its deadline leaves the load to the
+            // callers still waiting for it; failed futures are dropped by Caffeine, so the next call retries
+            load(key, latitude, longitude, loading);
+            inFlight = loading;
+        }
+
+        try {
+            return counted(result, await(inFlight));
+        } catch (RuntimeException e) {
+            var stale = lastKnownGood.getIfPresent(key);
+            if (stale == null) {
+                metrics.recordCacheLookup(result);
+                throw e;
+            }
+            log.warn("Serving stale forecast for {} fetched at {}: {}", key, stale.freshness().fetchedAt(), e.getMessage());
+            return counted(CacheResult.STALE, stale);
+        }
+    }
+
+    private CachedForecast counted(CacheResult result, CachedForecast cached) {
+        metrics.recordCacheLookup(result);
+        return cached;
+    }
+
+    private void load(ForecastKey key, double latitude, double longitude, CompletableFuture<CachedForecast> loading) {
+        dispatcher.submit(latitude, longitude, FetchPriority.USER).whenComplete((forecast, error) -> {
+            if (error != null) {
+                loading.completeExceptionally(error instanceof CompletionException ? error.getCause() : error);
+                return;
+            }
+            try {
+                loading.complete(forecast == null ? null : cached(key, forecast));
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+            }
+        });
+    }
+
+    private CachedForecast fetch(ForecastKey key, double latitude, double longitude, FetchPriority priority) {
+        var forecast = dispatcher.getForecast(latitude, longitude, priority);
+        return forecast == null ? null : cached(key, forecast);
+    }
+
+    private CachedForecast cached(ForecastKey key, ForecastSeries forecast) {
+        var fetchedAt = Instant.now();
+        var cached = new CachedForecast(forecast, new Freshness(fetchedAt, fetchedAt.plus(ttl)));
+        lastKnownGood.put(key, cached);
+        store.append(new StoredForecast(key, fetchedAt, forecast));
+        return cached;
+    }
+
+    private CachedForecast await(CompletableFuture<CachedForecast> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new WeatherApiException("Failed to fetch weather data", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WeatherApiException("Interrupted while waiting for weather data", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.windsurferweatherservice.infra.cache;
+
+/**
+ * Cache key of a spot: coordinates rounded to two decimal places (roughly 1 km),
+ * so nearby coordinates share one cached forecast.
+ */
+public record ForecastKey(long latitude, long longitude) {
+
+    private static final double SCALE = 100.0;
+
+    public static ForecastKey of(double latitude, double longitude) {
+        return new ForecastKey(Math.round(latitude * SCALE), Math.round(longitude * SCALE));
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.windsurferweatherservice.infra.dispatch;
+
+import com.example.windsurferweatherservice.application.adviser.exception.WeatherApiException;
+import com.example.windsurferweatherservice.domain.model.ForecastSeries;
+import com.example.windsurferweatherservice.infra.cache.ForecastKey;
+import com.example.windsurferweatherservice.infra.quota.FetchPriority;
+import com.example.windsurferweatherservice.infra.quota.UpstreamQuota;
+import com.example.windsurferweatherservice.infra.resilience.ResilientWeatherClient;
+import com.example.windsurferweatherservice.shared.config.DispatchProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sits between the forecast cache and Weatherbit and turns the fetch demands of all concurrent requests
+ * and refresh sweeps into one upstream call per distinct spot.
+ *
+ * Demands are collected for a short window; every spot asked for in that window, or while its call is
+ * still running, waits for the same call. Under a flash crowd the number of upstream calls therefore follows
+ * the number of spots instead of the number of users.
+ *
+ * Reactive callers skip the window: subscribers of the same spot share one upstream call, which is cancelled
+ * once all of them have cancelled, e.g. because their clients disconnected. Blocking and reactive callers
+ * join each other's calls, a blocking caller never lets a shared reactive call be cancelled under its feet.
+ *
+ * Every call waits for the {@link UpstreamQuota} first. A user miss joining a refresh of the same spot that still
+ * waits for the quota moves it ahead of the other refreshes.
+ */
+@Slf4j
+@Component
+public class ForecastDispatcher {
+
+    private final ResilientWeatherClient weatherClient;
+    private final DispatchProperties properties;
+    private final UpstreamQuota quota;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<ForecastKey, Demand> inFlight = new ConcurrentHashMap<>();
+    private final Map<ForecastKey, Mono<ForecastSeries>> sharedInFlight = new ConcurrentHashMap<>();
+    private final ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("forecast-dispatcher").daemon().factory());
+    private Batch collecting;
+
+    public ForecastDispatcher(ResilientWeatherClient weatherClient, DispatchProperties properties, UpstreamQuota quota) {
+        this.weatherClient = weatherClient;
+        this.properties = properties;
+        this.quota = quota;
+    }
+
+    /**
+     * Waits for the coalesced upstream call of the spot. Leaving early does not cancel the call,
+     * other callers may still be waiting for it.
+     */
+    public ForecastSeries getForecast(double latitude, double longitude, FetchPriority priority) {
+        try {
+            return submit(latitude, longitude, priority).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new WeatherApiException("Failed to fetch weather data", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WeatherApiException("Interrupted while waiting for weather data", e);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #getForecast(double, double, FetchPriority)} for user misses. A blocking call
+     * already in flight is joined without cancelling it when this subscriber leaves.
+     */
+    public Mono<ForecastSeries> forecast(double latitude, double longitude) {
+        var key = ForecastKey.of(latitude, longitude);
+        // checked and inserted under the lock of blocking demands, so neither side starts a second call for the spot
+        lock.lock();
+        try {
+            var blocking = inFlight.get(key);
+            if (blocking != null) {
+                blocking.ticket().promote(FetchPriority.USER);
+                return Mono.fromFuture(blocking.future(), true);
+            }
+            return sharedInFlight.computeIfAbsent(key, ignored -> share(key, latitude, longitude));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // the shared call forgets itself when it terminates or when its last subscriber cancels
+    private Mono<ForecastSeries> share(ForecastKey key, double latitude, double longitude) {
+        var self = new AtomicReference<Mono<ForecastSeries>>();
+        var shared = quota.permit(FetchPriority.USER)
+                .then(weatherClient.forecast(latitude, longitude))
+                .doFinally(ignored -> sharedInFlight.remove(key, self.get()))
+                .flux()
+                .share()
+                .singleOrEmpty();
+        self.set(shared);
+        return shared;
+    }
+
+    /**
+     * Like {@link #getForecast(double, double, FetchPriority)} without waiting: the call runs on the dispatcher's
+     * threads and the returned future completes with it. Leaving early does not cancel the call either.
+     */
+    public CompletableFuture<ForecastSeries> submit(double latitude, double longitude, FetchPriority priority) {
+        var key = ForecastKey.of(latitude, longitude);
+        Batch full = null;
+        CompletableFuture<ForecastSeries> future;
+        lock.lock();
+        try {
+            var reactive = sharedInFlight.get(key);
+            if (reactive != null) {
+                return reactive.toFuture();
+            }
+            var joined = inFlight.get(key);
+            if (joined != null) {
+                joined.ticket().promote(priority);
+                return joined.future();
+            }
+            future = new CompletableFuture<>();
+            var demand = new Demand(key, latitude, longitude, future, quota.request(priority));
+            inFlight.put(key, demand);
+
+            if (properties.window().isZero()) {
+                full = new Batch();
+                full.add(demand);
+            } else {
+                if (collecting == null) {
+                    var batch = new Batch();
+                    timer.schedule(() -> flush(batch), properties.window().toNanos(), TimeUnit.NANOSECONDS);
+                    collecting = batch;
+                }
+                collecting.add(demand);
+                if (collecting.size() >= properties.maxBatchSize()) {
+                    full = collecting;
+                    collecting = null;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    private void flush(Batch batch) {
+        lock.lock();
+        try {
+            if (collecting != batch) {
+                return;
+            }
+            collecting = null;
+        } finally {
+            lock.unlock();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Batch batch) {
+        log.debug("Dispatching {} coalesced forecast fetches", batch.size());
+        for (var demand : batch.demands) {
+            callers.execute(() -> call(demand));
+        }
+    }
+
+    private void call(Demand demand) {
+        try {
+            demand.ticket().await();
+            demand.future().complete(weatherClient.getForecast(demand.latitude(), demand.longitude()));
+        } catch (RuntimeException e) {
+            demand.future().completeExceptionally(e);
+        } finally {
+            // a failed call is forgotten as well, so the next demand tries again
+            inFlight.remove(demand.key(), demand);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+        callers.shutdownNow();
+    }
+
+    private record Demand(ForecastKey key, double latitude, double longitude,
+                          CompletableFuture<ForecastSeries> future, UpstreamQuota.Ticket ticket) {
+    }
+
+    private static final class Batch {
+
+        private final List<Demand> demands = new ArrayList<>();
+
+        void add(Demand demand) {
+            demands.add(demand);
+        }
+
+        int size() {
+            return demands.size();
+        }
+    }
+}
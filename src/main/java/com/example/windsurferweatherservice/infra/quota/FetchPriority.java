@@ -0,0 +1,23 @@
+package com.example.windsurferweatherservice.infra.quota;
+
+/**
+ * Why a forecast is fetched; user misses are served from the call quota before warm-ups and warm-ups before
+ * refreshes.
+ */
+public enum FetchPriority {
+
+    /**
+     * A request is waiting for the forecast.
+     */
+    USER,
+
+    /**
+     * A forecast missing at startup or for a location just added; the instance is not ready before it is fetched.
+     */
+    WARM_UP,
+
+    /**
+     * The forecast is fetched ahead of its expiry, nobody is waiting for it yet.
+     */
+    REFRESH
+}
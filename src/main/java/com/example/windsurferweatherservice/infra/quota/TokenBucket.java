@@ -0,0 +1,51 @@
+package com.example.windsurferweatherservice.infra.quota;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Tokens refilled at a constant rate up to the capacity; every call takes one. Not thread safe,
+ * {@link UpstreamQuota} only touches it under its lock.
+ */
+class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final double perSecond;
+    private final double capacity;
+    private double tokens;
+    private Instant refilledAt;
+
+    TokenBucket(double perSecond, int capacity, Instant now) {
+        this.perSecond = perSecond;
+        this.capacity = capacity;
+        this.tokens = capacity;
+        this.refilledAt = now;
+    }
+
+    double available(Instant now) {
+        refill(now);
+        return tokens;
+    }
+
+    /**
+     * @return nanos until a whole token is available, zero when one is available now
+     */
+    long nanosUntilAvailable(Instant now) {
+        refill(now);
+        return tokens >= 1 ? 0 : (long) Math.ceil((1 - tokens) / perSecond * NANOS_PER_SECOND);
+    }
+
+    void take(Instant now) {
+        refill(now);
+        tokens -= 1;
+    }
+
+    private void refill(Instant now) {
+        if (now.isAfter(refilledAt)) {
+            double elapsed = Duration.between(refilledAt, now).toNanos() / (double) NANOS_PER_SECOND;
+            tokens = Math.min(capacity, tokens + elapsed * perSecond);
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,384 @@
+package com.example.windsurferweatherservice.infra.quota;
+
+import com.example.windsurferweatherservice.application.adviser.exception.WeatherApiException;
+import com.example.windsurferweatherservice.shared.config.QuotaProperties;
+import com.example.windsurferweatherservice.shared.metrics.ForecastMetrics;
+import com.example.windsurferweatherservice.shared.metrics.ForecastMetrics.QuotaDecision;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hands out the calls the Weatherbit key may make, so a traffic spike queues up here instead of exhausting
+ * the quota and failing everything until it resets.
+ *
+ * Calls are limited by a token bucket per second and by a budget per UTC day. Waiting requests are granted in
+ * priority order, user misses before warm-ups before refreshes and first come first served within a priority.
+ * Refreshes are paced evenly over the day and leave {@code userReserve} of the daily calls to user misses, so a busy
+ * morning does not starve the afternoon. Warm-ups share the budget of refreshes but are not paced, an instance
+ * started shortly after midnight would otherwise wait for most of its warm-up. A request that would not be granted
+ * within the wait of its priority fails with a {@link WeatherApiException} right away.
+ */
+@Slf4j
+@Component
+public class UpstreamQuota {
+
+    private static final long NANOS_PER_DAY = Duration.ofDays(1).toNanos();
+
+    private final QuotaProperties properties;
+    private final ForecastMetrics metrics;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final PriorityQueue<Ticket> waiting = new PriorityQueue<>(
+            Comparator.comparing((Ticket ticket) -> ticket.priority).thenComparingLong(ticket -> ticket.sequence));
+    private final TokenBucket perSecond;
+    private final Thread grantor;
+    private boolean pending;
+    private long sequence;
+    private LocalDate day;
+    private long usedToday;
+
+    @Autowired
+    public UpstreamQuota(QuotaProperties properties, ForecastMetrics metrics) {
+        this(properties, metrics, Clock.systemUTC(), true);
+    }
+
+    /**
+     * @param background whether permits are granted by a background thread; without it {@link #grant()} has to be
+     *                   called to hand them out
+     */
+    UpstreamQuota(QuotaProperties properties, ForecastMetrics metrics, Clock clock, boolean background) {
+        this.properties = properties;
+        this.metrics = metrics;
+        this.clock = clock;
+        var now = clock.instant();
+        this.perSecond = new TokenBucket(properties.callsPerSecond(), properties.burst(), now);
+        this.day = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        metrics.registerQuota(this::usedToday, properties.callsPerDay() > 0 ? this::remainingToday : null,
+                this::availableNow, this::waiting);
+        this.grantor = background
+                ? Thread.ofPlatform().name("upstream-quota").daemon().start(this::grantLoop)
+                : null;
+    }
+
+    /**
+     * Queues a request for one call, granted once the quota allows it and no request of a higher priority waits.
+     */
+    public Ticket request(FetchPriority priority) {
+        Ticket ticket;
+        Instant now;
+        boolean grantNow;
+        lock.lock();
+        try {
+            now = clock.instant();
+            ticket = new Ticket(priority, sequence++, now, now.plus(maxWait(priority)));
+            // nothing queued and the quota allows it: granted on the caller's thread without waking the grantor
+            grantNow = waiting.isEmpty() && delayFor(priority, now) == 0;
+            if (grantNow) {
+                take(now);
+            } else {
+                waiting.add(ticket);
+                pending = true;
+                changed.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (grantNow) {
+            ticket.grant(now);
+            return ticket;
+        }
+        // a cancelled ticket leaves the queue right away instead of when it reaches the head
+        ticket.granted.whenComplete((ignored, error) -> {
+            if (error != null) {
+                forget(ticket);
+            }
+        });
+        expireAt(ticket, maxWait(priority));
+        return ticket;
+    }
+
+    /**
+     * Non-blocking variant of {@link #request(FetchPriority)}, completes once the call is granted.
+     * Cancelling the subscription gives up the place in the queue.
+     */
+    public Mono<Void> permit(FetchPriority priority) {
+        return Mono.defer(() -> Mono.fromFuture(request(priority).granted, false));
+    }
+
+    /**
+     * Takes a call for a retry. Retries never wait: they only spend calls that no queued request needs
+     * and that a user miss could take right now.
+     */
+    public boolean tryAcquireRetry() {
+        lock.lock();
+        try {
+            var now = clock.instant();
+            if (!waiting.isEmpty() || delayFor(FetchPriority.USER, now) > 0) {
+                return false;
+            }
+            take(now);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Grants the queued requests the quota allows right now and rejects those that would wait too long.
+     *
+     * @return nanos until the quota may allow the next queued request, {@link Long#MAX_VALUE} when none is queued
+     */
+    long grant() {
+        List<Ticket> granted = new ArrayList<>();
+        List<Ticket> rejected = new ArrayList<>();
+        long wait = Long.MAX_VALUE;
+        Instant now;
+        lock.lock();
+        try {
+            pending = false;
+            now = clock.instant();
+            while (!waiting.isEmpty()) {
+                var head = waiting.peek();
+                long delay = delayFor(head.priority, now);
+                if (delay == 0) {
+                    take(now);
+                    granted.add(waiting.poll());
+                } else if (delay > Duration.between(now, head.deadline).toNanos()) {
+                    rejected.add(waiting.poll());
+                } else {
+                    wait = delay;
+                    break;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        // completing outside the lock, continuations of the callers may run on this thread
+        granted.forEach(ticket -> ticket.grant(now));
+        rejected.forEach(ticket -> ticket.reject(now, "Weatherbit call quota exhausted"));
+        return granted.isEmpty() && rejected.isEmpty() ? wait : 0;
+    }
+
+    private void grantLoop() {
+        try {
+            while (true) {
+                long wait;
+                try {
+                    wait = grant();
+                } catch (RuntimeException e) {
+                    // the grantor must survive, nothing would be granted anymore
+                    log.error("Granting Weatherbit call quota failed: {}", e.getMessage(), e);
+                    wait = TimeUnit.SECONDS.toNanos(1);
+                }
+                lock.lock();
+                try {
+                    if (!pending) {
+                        if (wait == Long.MAX_VALUE) {
+                            changed.await();
+                        } else {
+                            changed.awaitNanos(wait);
+                        }
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        } catch (InterruptedException e) {
+            log.debug("Upstream quota grantor stopped");
+        }
+    }
+
+    private long delayFor(FetchPriority priority, Instant now) {
+        var today = LocalDate.ofInstant(now, ZoneOffset.UTC);
+        if (!today.equals(day)) {
+            day = today;
+            usedToday = 0;
+        }
+        return Math.max(perSecond.nanosUntilAvailable(now), dailyDelay(priority, now));
+    }
+
+    // the calls refreshes may have made grow linearly from the burst at midnight to their whole budget at the end
+    // of the day
+    private long dailyDelay(FetchPriority priority, Instant now) {
+        long limit = properties.callsPerDay();
+        if (limit == 0) {
+            return 0;
+        }
+        long sinceMidnight = Duration.between(day.atStartOfDay(ZoneOffset.UTC).toInstant(), now).toNanos();
+        long untilMidnight = NANOS_PER_DAY - sinceMidnight;
+        if (priority == FetchPriority.USER) {
+            return usedToday < limit ? 0 : untilMidnight;
+        }
+        double budget = limit * (1 - properties.userReserve());
+        if (usedToday + 1 > budget) {
+            return untilMidnight;
+        }
+        if (priority == FetchPriority.WARM_UP) {
+            return 0;
+        }
+        long dueAt = (long) Math.ceil((usedToday + 1 - properties.burst()) / budget * NANOS_PER_DAY);
+        return Math.max(0, dueAt - sinceMidnight);
+    }
+
+    private void take(Instant now) {
+        perSecond.take(now);
+        usedToday++;
+    }
+
+    private Duration maxWait(FetchPriority priority) {
+        return priority == FetchPriority.USER ? properties.userMaxWait() : properties.refreshMaxWait();
+    }
+
+    private void expireAt(Ticket ticket, Duration wait) {
+        CompletableFuture.delayedExecutor(wait.toNanos(), TimeUnit.NANOSECONDS)
+                .execute(() -> ticket.reject(clock.instant(), "Timed out waiting for Weatherbit call quota"));
+    }
+
+    private void forget(Ticket ticket) {
+        lock.lock();
+        try {
+            waiting.remove(ticket);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long usedToday() {
+        lock.lock();
+        try {
+            delayFor(FetchPriority.USER, clock.instant());
+            return usedToday;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long remainingToday() {
+        return Math.max(0, properties.callsPerDay() - usedToday());
+    }
+
+    private double availableNow() {
+        lock.lock();
+        try {
+            return Math.floor(perSecond.available(clock.instant()));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int waiting() {
+        lock.lock();
+        try {
+            return waiting.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (grantor != null) {
+            grantor.interrupt();
+        }
+    }
+
+    /**
+     * A queued request for one call.
+     */
+    public final class Ticket {
+
+        private final CompletableFuture<Void> granted = new CompletableFuture<>();
+        private final long sequence;
+        private final Instant requestedAt;
+        private volatile FetchPriority priority;
+        private Instant deadline;
+
+        private Ticket(FetchPriority priority, long sequence, Instant requestedAt, Instant deadline) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.requestedAt = requestedAt;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Blocks until the call is granted.
+         *
+         * @throws WeatherApiException when the quota does not allow the call within the wait of its priority
+         */
+        public void await() {
+            try {
+                granted.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw new WeatherApiException("Failed to wait for Weatherbit call quota", e.getCause());
+            } catch (InterruptedException e) {
+                granted.cancel(false);
+                Thread.currentThread().interrupt();
+                throw new WeatherApiException("Interrupted while waiting for Weatherbit call quota", e);
+            }
+        }
+
+        public boolean isGranted() {
+            return granted.isDone() && !granted.isCompletedExceptionally();
+        }
+
+        /**
+         * Moves a waiting request ahead, e.g. when a user miss joins a refresh of the same spot. It then waits no
+         * longer than a request of the new priority would.
+         */
+        public void promote(FetchPriority to) {
+            Duration wait;
+            lock.lock();
+            try {
+                if (to.compareTo(priority) >= 0 || !waiting.remove(this)) {
+                    return;
+                }
+                wait = maxWait(to);
+                var now = clock.instant();
+                priority = to;
+                if (now.plus(wait).isBefore(deadline)) {
+                    deadline = now.plus(wait);
+                }
+                waiting.add(this);
+                pending = true;
+                changed.signal();
+            } finally {
+                lock.unlock();
+            }
+            expireAt(this, wait);
+        }
+
+        private void grant(Instant now) {
+            if (granted.complete(null)) {
+                metrics.recordQuotaWait(priority, QuotaDecision.GRANTED, Duration.between(requestedAt, now).toNanos());
+            }
+        }
+
+        private void reject(Instant now, String reason) {
+            if (granted.completeExceptionally(new WeatherApiException(reason))) {
+                metrics.recordQuotaWait(priority, QuotaDecision.REJECTED, Duration.between(requestedAt, now).toNanos());
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.windsurferweatherservice.infra.resilience;
+
+import com.example.windsurferweatherservice.shared.config.ResilienceProperties.CircuitBreakerSettings;
+
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * Count-based circuit breaker. Once the failure rate of the last calls reaches the threshold the circuit opens
+ * and calls fail fast; after the open duration a single trial call decides whether it closes again.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final CircuitBreakerSettings settings;
+    private final Clock clock;
+    private final boolean[] failedCalls;
+
+    private State state = State.CLOSED;
+    private Instant openedAt = Instant.MIN;
+    private boolean trialInFlight;
+    private int next;
+    private int recorded;
+    private int failures;
+
+    public CircuitBreaker(CircuitBreakerSettings settings, Clock clock) {
+        this.settings = settings;
+        this.clock = clock;
+        this.failedCalls = new boolean[settings.slidingWindowSize()];
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (clock.instant().isBefore(openedAt.plus(settings.openDuration()))) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            close();
+        } else {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (recorded >= settings.minimumCalls()
+            && failures * 100.0 / recorded >= settings.failureRateThreshold()) {
+            open();
+        }
+    }
+
+    /**
+     * Releases a permission without judging the upstream, e.g. when the call was rejected locally.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN) {
+            trialInFlight = false;
+        }
+    }
+
+    private void record(boolean failed) {
+        if (recorded == failedCalls.length) {
+            if (failedCalls[next]) {
+                failures--;
+            }
+        } else {
+            recorded++;
+        }
+        failedCalls[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % failedCalls.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.instant();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        trialInFlight = false;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.windsurferweatherservice.infra.resilience;
+
+import com.example.windsurferweatherservice.application.adviser.exception.WeatherApiException;
+import com.example.windsurferweatherservice.domain.model.ForecastSeries;
+import com.example.windsurferweatherservice.infra.ForecastDecodingException;
+import com.example.windsurferweatherservice.infra.WeatherBitClient;
+import com.example.windsurferweatherservice.infra.quota.UpstreamQuota;
+import com.example.windsurferweatherservice.shared.config.ResilienceProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calls Weatherbit through a bulkhead, a circuit breaker and budgeted retries with jittered backoff,
+ * so an upstream incident fails fast instead of piling up threads waiting for timeouts.
+ * Callers wait for the {@link UpstreamQuota} before the first attempt, retries only spend calls nobody waits for.
+ */
+@Slf4j
+@Component
+public class ResilientWeatherClient {
+
+    private final WeatherBitClient weatherBitClient;
+    private final ResilienceProperties properties;
+    private final CircuitBreaker circuitBreaker;
+    private final RetryBudget retryBudget;
+    private final Semaphore bulkhead;
+    private final UpstreamQuota quota;
+
+    @Autowired
+    public ResilientWeatherClient(WeatherBitClient weatherBitClient, ResilienceProperties properties,
+                                  UpstreamQuota quota) {
+        this(weatherBitClient, properties, quota, Clock.systemUTC());
+    }
+
+    ResilientWeatherClient(WeatherBitClient weatherBitClient, ResilienceProperties properties, UpstreamQuota quota,
+                           Clock clock) {
+        this.weatherBitClient = weatherBitClient;
+        this.properties = properties;
+        this.quota = quota;
+        this.circuitBreaker = new CircuitBreaker(properties.circuitBreaker(), clock);
+        this.retryBudget = new RetryBudget(properties.retry());
+        this.bulkhead = new Semaphore(properties.bulkhead().maxConcurrentCalls());
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    public ForecastSeries getForecast(double latitude, double longitude) {
+        retryBudget.onCall();
+        for (int attempt = 1; ; attempt++) {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                throw new WeatherApiException("Weatherbit is unavailable, circuit breaker is open");
+            }
+            try {
+                var forecast = callWithinBulkhead(latitude, longitude);
+                circuitBreaker.onSuccess();
+                return forecast;
+            } catch (BulkheadFullException e) {
+                circuitBreaker.onIgnored();
+                throw new WeatherApiException("Too many concurrent calls to Weatherbit");
+            } catch (BulkheadInterruptedException e) {
+                circuitBreaker.onIgnored();
+                throw new WeatherApiException("Interrupted while waiting for a Weatherbit call slot", e.getCause());
+            } catch (RuntimeException e) {
+                if (!isUpstreamFailure(e)) {
+                    circuitBreaker.onIgnored();
+                    throw e;
+                }
+                circuitBreaker.onFailure();
+                if (!mayRetry(attempt)) {
+                    throw new WeatherApiException("Failed to fetch weather data", e);
+                }
+                log.debug("Weatherbit call failed on attempt {}, retrying: {}", attempt, e.getMessage());
+                backOff(attempt);
+            }
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #getForecast(double, double)} with the same circuit breaker, retry budget
+     * and backoff. It never parks a thread, so a full bulkhead fails right away instead of waiting for a permit.
+     * Cancelling the subscription aborts the running attempt or the pending backoff.
+     */
+    public Mono<ForecastSeries> forecast(double latitude, double longitude) {
+        return Mono.defer(() -> {
+            retryBudget.onCall();
+            return attempt(latitude, longitude, 1);
+        });
+    }
+
+    private Mono<ForecastSeries> attempt(double latitude, double longitude, int attempt) {
+        return Mono.defer(() -> {
+                    if (!circuitBreaker.tryAcquirePermission()) {
+                        return Mono.error(new WeatherApiException("Weatherbit is unavailable, circuit breaker is open"));
+                    }
+                    if (!bulkhead.tryAcquire()) {
+                        circuitBreaker.onIgnored();
+                        return Mono.error(new WeatherApiException("Too many concurrent calls to Weatherbit"));
+                    }
+                    return weatherBitClient.forecast(latitude, longitude)
+                            .doOnSuccess(ignored -> circuitBreaker.onSuccess())
+                            .doOnError(this::onError)
+                            .doOnCancel(circuitBreaker::onIgnored)
+                            .doFinally(ignored -> bulkhead.release())
+                            .onErrorMap(ResilientWeatherClient::isUpstreamFailure, UpstreamFailure::new);
+                })
+                .onErrorResume(UpstreamFailure.class, failure -> {
+                    if (!mayRetry(attempt)) {
+                        return Mono.error(new WeatherApiException("Failed to fetch weather data", failure.getCause()));
+                    }
+                    log.debug("Weatherbit call failed on attempt {}, retrying: {}", attempt, failure.getCause().getMessage());
+                    return Mono.delay(Duration.ofMillis(backOffMillis(attempt)))
+                            .then(attempt(latitude, longitude, attempt + 1));
+                });
+    }
+
+    private boolean mayRetry(int attempt) {
+        // the budget is spent only once the quota took the call, a retry the quota refuses must not drain it
+        return attempt < properties.retry().maxAttempts()
+               && retryBudget.canWithdraw()
+               && quota.tryAcquireRetry()
+               && retryBudget.tryWithdraw();
+    }
+
+    private void onError(Throwable e) {
+        if (isUpstreamFailure(e)) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onIgnored();
+        }
+    }
+
+    private ForecastSeries callWithinBulkhead(double latitude, double longitude) {
+        acquireBulkhead();
+        try {
+            return weatherBitClient.getForecast(latitude, longitude);
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private void acquireBulkhead() {
+        try {
+            if (!bulkhead.tryAcquire(properties.bulkhead().maxWait().toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new BulkheadFullException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BulkheadInterruptedException(e);
+        }
+    }
+
+    private void backOff(int attempt) {
+        try {
+            Thread.sleep(backOffMillis(attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WeatherApiException("Interrupted while waiting to retry Weatherbit call", e);
+        }
+    }
+
+    // full jitter: a random delay between zero and the exponentially growing cap
+    private long backOffMillis(int attempt) {
+        var retry = properties.retry();
+        long cap = Math.min(retry.maxBackoff().toMillis(), retry.initialBackoff().toMillis() << (attempt - 1));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    // client errors such as an invalid key say nothing about the health of Weatherbit and are not retried,
+    // neither are payloads the decoder rejects, which a retry would only fetch again
+    private static boolean isUpstreamFailure(Throwable e) {
+        if (e instanceof ForecastDecodingException) {
+            return false;
+        }
+        if (e instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError()
+                   || response.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+        }
+        return true;
+    }
+
+    private static class BulkheadFullException extends RuntimeException {
+    }
+
+    private static class BulkheadInterruptedException extends RuntimeException {
+
+        BulkheadInterruptedException(InterruptedException cause) {
+            super(cause);
+        }
+    }
+
+    private static class UpstreamFailure extends RuntimeException {
+
+        UpstreamFailure(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.windsurferweatherservice.infra.resilience;
+
+import com.example.windsurferweatherservice.shared.config.ResilienceProperties.RetrySettings;
+
+/**
+ * Limits retries to a fraction of the calls, so retries cannot multiply the load on an upstream that is already
+ * struggling. Every call deposits {@code budgetRatio} tokens, every retry withdraws a whole one.
+ */
+public class RetryBudget {
+
+    private final double ratio;
+    private final double maxTokens;
+    private double tokens;
+
+    public RetryBudget(RetrySettings settings) {
+        this.ratio = settings.budgetRatio();
+        this.maxTokens = settings.maxBudget();
+        this.tokens = settings.maxBudget();
+    }
+
+    public synchronized void onCall() {
+        tokens = Math.min(maxTokens, tokens + ratio);
+    }
+
+    public synchronized boolean canWithdraw() {
+        return tokens >= 1;
+    }
+
+    public synchronized boolean tryWithdraw() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.windsurferweatherservice.infra.store;
+
+import com.example.windsurferweatherservice.domain.model.ForecastSeries;
+import com.example.windsurferweatherservice.infra.cache.ForecastKey;
+import com.example.windsurferweatherservice.shared.config.ForecastStoreProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of compact binary forecast records, so a restarted instance starts with the forecasts
+ * the previous one fetched instead of refetching every spot from Weatherbit.
+ *
+ * Every fetched forecast is appended as one record and the latest record of a spot wins. Appends are not
+ * forced to disk; a record torn by a crash fails its checksum and ends the load, which only costs a refetch.
+ * Once the file holds more than twice as many records as spots, it is rewritten with the latest record of
+ * every spot fetched within {@code maxAge} and atomically swapped in.
+ *
+ * Record layout: length of the rest of the record, latitude key, longitude key, fetched-at epoch millis and
+ * first epoch day as longs, number of days as int, the temperatures and wind speeds as doubles and a CRC32
+ * of everything between length and checksum.
+ */
+@Slf4j
+@Component
+public class ForecastStore {
+
+    private static final int MAGIC = 0x57465331;
+    private static final int FIXED_BYTES = 4 * Long.BYTES + Integer.BYTES;
+    private static final int MIN_RECORDS_BEFORE_COMPACTION = 1024;
+
+    private final ForecastStoreProperties properties;
+    private final Clock clock;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<ForecastKey, StoredForecast> latest = new HashMap<>();
+    private FileChannel channel;
+    private int records;
+
+    @Autowired
+    public ForecastStore(ForecastStoreProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    ForecastStore(ForecastStoreProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * Reads the forecasts persisted by previous runs and opens the file for appending. A file that cannot be
+     * read or written is logged and leaves the store disabled, the service then simply starts cold.
+     *
+     * @return the latest forecast of every spot fetched within {@code maxAge}
+     */
+    public List<StoredForecast> load() {
+        if (!properties.enabled()) {
+            return List.of();
+        }
+        lock.lock();
+        try {
+            read();
+            compact();
+            log.info("Forecast store {} loaded, {} forecasts restored.", properties.file(), latest.size());
+            return List.copyOf(latest.values());
+        } catch (IOException | RuntimeException e) {
+            log.error("Forecast store {} cannot be used, forecasts are not persisted: {}",
+                    properties.file(), e.getMessage());
+            latest.clear();
+            close();
+            return List.of();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void append(StoredForecast forecast) {
+        var record = encode(forecast);
+        lock.lock();
+        try {
+            if (channel == null) {
+                return;
+            }
+            latest.put(forecast.key(), forecast);
+            write(channel, record);
+            if (++records > Math.max(MIN_RECORDS_BEFORE_COMPACTION, 2 * latest.size())) {
+                compact();
+            }
+        } catch (IOException e) {
+            log.error("Writing forecast store {} failed, forecasts are no longer persisted: {}",
+                    properties.file(), e.getMessage());
+            close();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void read() throws IOException {
+        var file = properties.file();
+        if (!Files.exists(file)) {
+            return;
+        }
+        var cutoff = clock.instant().minus(properties.maxAge());
+        try (var in = FileChannel.open(file, StandardOpenOption.READ)) {
+            var buffer = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+            if (buffer.remaining() < Integer.BYTES || buffer.getInt() != MAGIC) {
+                log.warn("Forecast store {} has an unknown format, starting over.", file);
+                return;
+            }
+            int read = 0;
+            while (buffer.remaining() >= Integer.BYTES) {
+                var stored = decode(buffer);
+                if (stored == null) {
+                    log.warn("Forecast store {} ends with a torn record after {} records.", file, read);
+                    break;
+                }
+                read++;
+                if (!stored.fetchedAt().isBefore(cutoff)) {
+                    latest.merge(stored.key(), stored, (previous, next) ->
+                            next.fetchedAt().isBefore(previous.fetchedAt()) ? previous : next);
+                }
+            }
+        }
+    }
+
+    // rewrites the file with the latest record of every spot that is not too old
+    private void compact() throws IOException {
+        var cutoff = clock.instant().minus(properties.maxAge());
+        latest.values().removeIf(stored -> stored.fetchedAt().isBefore(cutoff));
+
+        var file = properties.file().toAbsolutePath();
+        Files.createDirectories(file.getParent());
+        var temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (var out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(out, ByteBuffer.allocate(Integer.BYTES).putInt(MAGIC).flip());
+            for (var stored : latest.values()) {
+                write(out, encode(stored));
+            }
+            out.force(true);
+        }
+        close();
+        Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        records = latest.size();
+    }
+
+    static ByteBuffer encode(StoredForecast stored) {
+        var forecast = stored.forecast();
+        int days = forecast.size();
+        int payload = FIXED_BYTES + days * 2 * Double.BYTES;
+        var buffer = ByteBuffer.allocate(Integer.BYTES + payload + Integer.BYTES)
+                .putInt(payload + Integer.BYTES)
+                .putLong(stored.key().latitude())
+                .putLong(stored.key().longitude())
+                .putLong(stored.fetchedAt().toEpochMilli())
+                .putLong(forecast.firstEpochDay())
+                .putInt(days);
+        for (int i = 0; i < days; i++) {
+            buffer.putDouble(forecast.temperature(i));
+        }
+        for (int i = 0; i < days; i++) {
+            buffer.putDouble(forecast.windSpeed(i));
+        }
+        var crc = new CRC32();
+        crc.update(buffer.array(), Integer.BYTES, payload);
+        return buffer.putInt((int) crc.getValue()).flip();
+    }
+
+    /**
+     * @return the record at the position of the buffer, or {@code null} when it is torn or corrupt
+     */
+    static StoredForecast decode(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < FIXED_BYTES + Integer.BYTES || length > buffer.remaining()) {
+            return null;
+        }
+        int payload = length - Integer.BYTES;
+        var crc = new CRC32();
+        crc.update(buffer.slice(buffer.position(), payload));
+        if ((int) crc.getValue() != buffer.getInt(buffer.position() + payload)) {
+            return null;
+        }
+
+        var key = new ForecastKey(buffer.getLong(), buffer.getLong());
+        var fetchedAt = Instant.ofEpochMilli(buffer.getLong());
+        long firstEpochDay = buffer.getLong();
+        int days = buffer.getInt();
+        if (days < 0 || days > ForecastSeries.MAX_DAYS || payload != FIXED_BYTES + days * 2 * Double.BYTES) {
+            return null;
+        }
+        var temperatures = new double[days];
+        var windSpeeds = new double[days];
+        buffer.asDoubleBuffer().get(temperatures).get(windSpeeds);
+        buffer.position(buffer.position() + days * 2 * Double.BYTES + Integer.BYTES);
+        return new StoredForecast(key, fetchedAt, new ForecastSeries(firstEpochDay, temperatures, windSpeeds));
+    }
+
+    private static void write(FileChannel out, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        lock.lock();
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } catch (IOException e) {
+            log.warn("Closing forecast store {} failed: {}", properties.file(), e.getMessage());
+        } finally {
+            channel = null;
+            lock.unlock();
+        }
+    }
+}
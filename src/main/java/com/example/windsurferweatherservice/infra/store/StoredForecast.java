@@ -0,0 +1,9 @@
+package com.example.windsurferweatherservice.infra.store;
+
+import com.example.windsurferweatherservice.domain.model.ForecastSeries;
+import com.example.windsurferweatherservice.infra.cache.ForecastKey;
+
+import java.time.Instant;
+
+public record StoredForecast(ForecastKey key, Instant fetchedAt, ForecastSeries forecast) {
+}
@@ -0,0 +1,35 @@
+package com.example.windsurferweatherservice.shared.config;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Settings of the location catalogue.
+ *
+ * @param source   {@code classpath:} resource, file or directory of {@code *.json} shards the locations are read from
+ * @param watch    whether a file or directory source is reloaded when it changes
+ * @param debounce how long the source has to stay unchanged before a reload starts, so a file being written
+ *                 is not read half-way
+ */
+@Validated
+@ConfigurationProperties(prefix = "windsurfing.catalogue")
+public record CatalogueProperties(
+        @NotBlank @DefaultValue("classpath:data/locations.json") String source,
+        @DefaultValue("true") boolean watch,
+        @NotNull @DefaultValue("500ms") Duration debounce) {
+
+    private static final String CLASSPATH_PREFIX = "classpath:";
+
+    public boolean isClasspathSource() {
+        return source.startsWith(CLASSPATH_PREFIX);
+    }
+
+    public String classpathLocation() {
+        return source.substring(CLASSPATH_PREFIX.length());
+    }
+}
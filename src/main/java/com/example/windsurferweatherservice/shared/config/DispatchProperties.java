@@ -0,0 +1,23 @@
+package com.example.windsurferweatherservice.shared.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Settings of the dispatcher that coalesces forecast fetches before they reach Weatherbit.
+ *
+ * @param window       how long demands are collected before one call per distinct spot is issued; zero dispatches
+ *                     right away and only joins calls already in flight
+ * @param maxBatchSize number of distinct spots after which a batch is dispatched before its window ends
+ */
+@Validated
+@ConfigurationProperties(prefix = "weatherbit.dispatch")
+public record DispatchProperties(
+        @NotNull @DefaultValue("10ms") Duration window,
+        @Positive @DefaultValue("64") int maxBatchSize) {
+}
@@ -0,0 +1,22 @@
+package com.example.windsurferweatherservice.shared.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Limits for fetching forecasts of all locations within a single request.
+ *
+ * @param maxConcurrency how many locations may be fetched at the same time
+ * @param deadline       overall time budget of one request; locations not fetched in time are skipped
+ */
+@Validated
+@ConfigurationProperties(prefix = "windsurfing.fetch")
+public record FetchProperties(
+        @Positive @DefaultValue("16") int maxConcurrency,
+        @NotNull @DefaultValue("12s") Duration deadline) {
+}
@@ -0,0 +1,24 @@
+package com.example.windsurferweatherservice.shared.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Settings of the in-memory forecast cache in front of Weatherbit.
+ *
+ * @param ttl        how long a fetched forecast is served before it is fetched again
+ * @param maxStale   how long the last good forecast is kept to be served while Weatherbit is unavailable
+ * @param maxEntries upper bound of cached spots; the least valuable entries are evicted first
+ */
+@Validated
+@ConfigurationProperties(prefix = "windsurfing.forecast-cache")
+public record ForecastCacheProperties(
+        @NotNull @DefaultValue("3h") Duration ttl,
+        @NotNull @DefaultValue("24h") Duration maxStale,
+        @Positive @DefaultValue("10000") long maxEntries) {
+}
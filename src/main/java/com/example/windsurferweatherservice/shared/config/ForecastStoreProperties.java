@@ -0,0 +1,29 @@
+package com.example.windsurferweatherservice.shared.config;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings of the on-disk forecast store that lets a restarted instance serve forecasts right away.
+ *
+ * @param enabled whether fetched forecasts are persisted and restored at startup
+ * @param path    file the forecasts are appended to
+ * @param maxAge  forecasts fetched longer ago are not restored and are dropped when the file is compacted
+ */
+@Validated
+@ConfigurationProperties(prefix = "windsurfing.forecast-store")
+public record ForecastStoreProperties(
+        @DefaultValue("true") boolean enabled,
+        @NotBlank @DefaultValue("var/forecast-store.bin") String path,
+        @NotNull @DefaultValue("24h") Duration maxAge) {
+
+    public Path file() {
+        return Path.of(path);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.windsurferweatherservice.shared.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Settings of the forecast pipeline metrics.
+ *
+ * @param perLocation tag upstream call latency with the spot; off by default, as every spot adds its own
+ *                    histogram series and large catalogues would flood the metrics backend
+ */
+@Validated
+@ConfigurationProperties(prefix = "windsurfing.metrics")
+public record MetricsProperties(
+        @DefaultValue("false") boolean perLocation) {
+}
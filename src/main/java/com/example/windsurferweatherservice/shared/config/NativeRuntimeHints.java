@@ -0,0 +1,35 @@
+package com.example.windsurferweatherservice.shared.config;
+
+import com.example.windsurferweatherservice.application.adviser.ErrorResponse;
+import com.example.windsurferweatherservice.application.controller.dto.DailyForecast;
+import com.example.windsurferweatherservice.application.controller.dto.LocationForecast;
+import com.example.windsurferweatherservice.application.controller.response.DailyRankingResponse;
+import com.example.windsurferweatherservice.application.controller.response.WindsurfingResponse;
+import com.example.windsurferweatherservice.application.controller.validation.FutureOrPresentAtLocationsValidator;
+import com.example.windsurferweatherservice.shared.loader.LocationsConfiguration;
+import com.example.windsurferweatherservice.shared.loader.TimeZoneLookup;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * What AOT processing cannot infer for the native image. Jackson binds the DTO records and the location catalogue
+ * by reflection, the catalogue is read through a streaming parser Spring never sees, the validator factory creates
+ * the constraint validators reflectively and the bundled data files are plain classpath resources.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                DailyForecast.class, LocationForecast.class,
+                WindsurfingResponse.class, DailyRankingResponse.class, ErrorResponse.class,
+                LocationsConfiguration.class, LocationsConfiguration.LocationConfiguration.class);
+        hints.reflection().registerType(FutureOrPresentAtLocationsValidator.class,
+                MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.resources()
+                .registerPattern("data/*.json")
+                .registerPattern(TimeZoneLookup.TABLE);
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.windsurferweatherservice.shared.config;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Call quota of the Weatherbit key, enforced before calls are made instead of learning about it from failed calls.
+ *
+ * @param callsPerSecond sustained rate of calls
+ * @param burst          calls that can be made at once after a quiet period
+ * @param callsPerDay    calls per UTC day, when Weatherbit resets its counters; zero for no daily limit
+ * @param userReserve    share of the daily calls refreshes leave to user misses
+ * @param userMaxWait    how long a user miss waits for a call before it fails
+ * @param refreshMaxWait how long a refresh or warm-up waits for a call before it is given up
+ */
+@Validated
+@ConfigurationProperties(prefix = "weatherbit.quota")
+public record QuotaProperties(
+        @Positive @DefaultValue("10") double callsPerSecond,
+        @Positive @DefaultValue("10") int burst,
+        @PositiveOrZero @DefaultValue("0") long callsPerDay,
+        @PositiveOrZero @DecimalMax("1") @DefaultValue("0.2") double userReserve,
+        @NotNull @DefaultValue("2s") Duration userMaxWait,
+        @NotNull @DefaultValue("10m") Duration refreshMaxWait) {
+}
@@ -0,0 +1,28 @@
+package com.example.windsurferweatherservice.shared.config;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Background refresh of all configured locations.
+ *
+ * @param enabled        when on, requests only read cached forecasts and never call Weatherbit themselves
+ * @param interval       pause between two refresh sweeps; keep it well below the cache TTL
+ * @param jitter         random delay added per location so a sweep does not hit Weatherbit in one burst
+ * @param maxConcurrency how many locations a sweep fetches at the same time
+ * @param warmUpTimeout  how long startup waits for the first sweep before accepting traffic anyway
+ */
+@Validated
+@ConfigurationProperties(prefix = "windsurfing.refresh")
+public record RefreshProperties(
+        @DefaultValue("true") boolean enabled,
+        @NotNull @DefaultValue("1h") Duration interval,
+        @NotNull @DefaultValue("5m") Duration jitter,
+        @Positive @DefaultValue("8") int maxConcurrency,
+        @NotNull @DefaultValue("30s") Duration warmUpTimeout) {
+}
@@ -0,0 +1,61 @@
+package com.example.windsurferweatherservice.shared.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * Protection of the service against a slow or failing Weatherbit API.
+ */
+@Validated
+@ConfigurationProperties(prefix = "weatherbit.resilience")
+public record ResilienceProperties(
+        @Valid @NotNull @DefaultValue CircuitBreakerSettings circuitBreaker,
+        @Valid @NotNull @DefaultValue RetrySettings retry,
+        @Valid @NotNull @DefaultValue BulkheadSettings bulkhead) {
+
+    /**
+     * @param failureRateThreshold percentage of failed calls in the window that opens the circuit
+     * @param slidingWindowSize    number of most recent calls the failure rate is computed from
+     * @param minimumCalls         calls needed in the window before the failure rate is evaluated
+     * @param openDuration         how long calls fail fast before a single trial call is let through
+     */
+    public record CircuitBreakerSettings(
+            @DecimalMin("1") @DecimalMax("100") @DefaultValue("50") double failureRateThreshold,
+            @Positive @DefaultValue("20") int slidingWindowSize,
+            @Positive @DefaultValue("10") int minimumCalls,
+            @NotNull @DefaultValue("30s") Duration openDuration) {
+    }
+
+    /**
+     * @param maxAttempts    attempts per call including the first one
+     * @param initialBackoff upper bound of the random delay before the first retry, doubled for every next one
+     * @param maxBackoff     cap of the random delay between retries
+     * @param budgetRatio    retries earned by every call, e.g. 0.2 allows one retry per five calls
+     * @param maxBudget      retries that can be saved up for a burst of failures
+     */
+    public record RetrySettings(
+            @Positive @DefaultValue("3") int maxAttempts,
+            @NotNull @DefaultValue("200ms") Duration initialBackoff,
+            @NotNull @DefaultValue("2s") Duration maxBackoff,
+            @PositiveOrZero @DefaultValue("0.2") double budgetRatio,
+            @Positive @DefaultValue("10") int maxBudget) {
+    }
+
+    /**
+     * @param maxConcurrentCalls calls to Weatherbit allowed in flight at the same time
+     * @param maxWait            how long a call waits for a free slot before it is rejected
+     */
+    public record BulkheadSettings(
+            @Positive @DefaultValue("32") int maxConcurrentCalls,
+            @NotNull @DefaultValue("500ms") Duration maxWait) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.windsurferweatherservice.shared.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.Map;
+
+/**
+ * Scoring profiles of the customer segments, selectable per request by name.
+ * Without any profile configured, a single {@code standard} profile with the default rules is used.
+ *
+ * @param defaultProfile profile used when a request does not select one
+ * @param profiles       rules of every profile by name
+ */
+@Validated
+@ConfigurationProperties(prefix = "windsurfing.scoring")
+public record ScoringProperties(
+        @NotBlank @DefaultValue("standard") String defaultProfile,
+        @NotNull @DefaultValue Map<String, @Valid @NotNull ProfileSettings> profiles) {
+
+    /**
+     * A day is suitable when both wind speed and temperature lie within their bounds, inclusive.
+     * Suitable days are scored as {@code windSpeed * windWeight + temperature * temperatureWeight}.
+     *
+     * @param minWindSpeed      lowest suitable wind speed in m/s
+     * @param maxWindSpeed      highest suitable wind speed in m/s
+     * @param minTemperature    lowest suitable temperature in °C
+     * @param maxTemperature    highest suitable temperature in °C
+     * @param windWeight        score per m/s of wind
+     * @param temperatureWeight score per °C
+     */
+    public record ProfileSettings(
+            @DefaultValue("5") double minWindSpeed,
+            @DefaultValue("18") double maxWindSpeed,
+            @DefaultValue("5") double minTemperature,
+            @DefaultValue("35") double maxTemperature,
+            @PositiveOrZero @DefaultValue("3") double windWeight,
+            @PositiveOrZero @DefaultValue("1") double temperatureWeight) {
+    }
+}
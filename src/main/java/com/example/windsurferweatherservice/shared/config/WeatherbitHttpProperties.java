@@ -0,0 +1,54 @@
+package com.example.windsurferweatherservice.shared.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+import org.springframework.validation.annotation.Validated;
+
+import java.time.Duration;
+
+/**
+ * HTTP connector used for Weatherbit calls.
+ *
+ * @param connectTimeout   time to establish a TCP connection
+ * @param responseTimeout  maximum time between writing the request and reading the response
+ * @param tcpKeepAlive     send TCP keepalive probes on pooled connections, so ones silently dropped by a firewall are
+ *                         noticed; HTTP keep-alive is always on, the pool relies on it
+ * @param compression      ask for gzip encoded responses
+ * @param http2            negotiate HTTP/2 over TLS, falling back to HTTP/1.1
+ * @param maxInMemorySize  largest response body that is buffered; a 7-day forecast is a few kilobytes
+ * @param pool             connection pool shared by all Weatherbit calls
+ */
+@Validated
+@ConfigurationProperties(prefix = "weatherbit.http")
+public record WeatherbitHttpProperties(
+        @NotNull @DefaultValue("2s") Duration connectTimeout,
+        @NotNull @DefaultValue("5s") Duration responseTimeout,
+        @DefaultValue("true") boolean tcpKeepAlive,
+        @DefaultValue("true") boolean compression,
+        @DefaultValue("false") boolean http2,
+        @NotNull @DefaultValue("256KB") DataSize maxInMemorySize,
+        @Valid @NotNull @DefaultValue Pool pool) {
+
+    /**
+     * @param maxConnections        connections kept open to Weatherbit at most
+     * @param pendingAcquireMaxCount calls allowed to wait for a connection before new ones are rejected
+     * @param pendingAcquireTimeout  how long a call waits for a free connection
+     * @param maxIdleTime            idle connections older than this are closed
+     * @param maxLifeTime            connections older than this are closed after their current call
+     * @param evictionInterval       how often idle and expired connections are evicted in the background
+     * @param metrics                publish pool and client metrics to Micrometer
+     */
+    public record Pool(
+            @Positive @DefaultValue("64") int maxConnections,
+            @Positive @DefaultValue("256") int pendingAcquireMaxCount,
+            @NotNull @DefaultValue("2s") Duration pendingAcquireTimeout,
+            @NotNull @DefaultValue("30s") Duration maxIdleTime,
+            @NotNull @DefaultValue("5m") Duration maxLifeTime,
+            @NotNull @DefaultValue("30s") Duration evictionInterval,
+            @DefaultValue("true") boolean metrics) {
+    }
+}
@@ -1,14 +1,21 @@
 package com.example.windsurferweatherservice.shared.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.http.codec.json.Jackson2JsonDecoder;
 import org.springframework.http.codec.json.Jackson2JsonEncoder;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
 
 @Configuration
 public class WebClientConfig {
@@ -17,9 +24,11 @@ public class WebClientConfig {
     private String weatherApiBaseUrl;
 
     @Bean
-    public WebClient webClient(ObjectMapper weatherbitObjectMapper) {
+    public WebClient webClient(ObjectMapper weatherbitObjectMapper, HttpClient weatherbitHttpClient,
+                               WeatherbitHttpProperties properties) {
         return WebClient.builder()
                 .baseUrl(weatherApiBaseUrl)
+                .clientConnector(new ReactorClientHttpConnector(weatherbitHttpClient))
                 .defaultHeader(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
                 .codecs(configurer -> {
                     configurer.defaultCodecs()
@@ -28,8 +37,46 @@ public class WebClientConfig {
                             .jackson2JsonEncoder(new Jackson2JsonEncoder(weatherbitObjectMapper));
                     configurer
                             .defaultCodecs()
-                            .maxInMemorySize(10 * 1024 * 1024);
+                            .maxInMemorySize((int) properties.maxInMemorySize().toBytes());
                 })
                 .build();
     }
+
+    @Bean
+    public HttpClient weatherbitHttpClient(ConnectionProvider weatherbitConnectionProvider,
+                                           WeatherbitHttpProperties properties) {
+        return HttpClient.create(weatherbitConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.connectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, properties.tcpKeepAlive())
+                .keepAlive(true)
+                .responseTimeout(properties.responseTimeout())
+                .compress(properties.compression())
+                .protocol(protocols(properties))
+                // tag by path only, the query string carries coordinates and the API key
+                .metrics(properties.pool().metrics(), uri -> URI.create(uri).getPath());
+    }
+
+    // pooled connections are reused LIFO, so bursts of forecast calls keep hitting the warmest connections
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider weatherbitConnectionProvider(WeatherbitHttpProperties properties) {
+        var pool = properties.pool();
+        return ConnectionProvider.builder("weatherbit")
+                .maxConnections(pool.maxConnections())
+                .pendingAcquireMaxCount(pool.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(pool.pendingAcquireTimeout())
+                .maxIdleTime(pool.maxIdleTime())
+                .maxLifeTime(pool.maxLifeTime())
+                .evictInBackground(pool.evictionInterval())
+                .metrics(pool.metrics())
+                .lifo()
+                .build();
+    }
+
+    // HTTP/2 is negotiated through TLS ALPN, so it only applies to an https base URL
+    private HttpProtocol[] protocols(WeatherbitHttpProperties properties) {
+        if (properties.http2() && weatherApiBaseUrl.startsWith("https")) {
+            return new HttpProtocol[]{HttpProtocol.H2, HttpProtocol.HTTP11};
+        }
+        return new HttpProtocol[]{HttpProtocol.HTTP11};
+    }
 }
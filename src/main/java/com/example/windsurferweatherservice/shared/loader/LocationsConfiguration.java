@@ -27,5 +27,10 @@ public class LocationsConfiguration {
         @DecimalMin("-180.0")
         @DecimalMax("180.0")
         private double longitude;
+
+        /**
+         * Time zone id of the spot, looked up from the coordinates when not configured.
+         */
+        private String timezone;
     }
 }
@@ -1,24 +1,132 @@
 package com.example.windsurferweatherservice.shared.loader;
 
+import com.example.windsurferweatherservice.shared.config.CatalogueProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Reads the location catalogue from a classpath resource, a file or a directory of {@code *.json} shards.
+ * Every source has the shape of {@link LocationsConfiguration}; its entries are read one by one with the
+ * streaming parser, so no tree of the whole document is built. Entries violating the constraints of
+ * {@link LocationsConfiguration.LocationConfiguration} are skipped with a warning.
+ *
+ * Entries without a {@code timezone} get the one {@link TimeZoneLookup} resolves from their coordinates, so the
+ * zone is looked up once per load instead of per request. Entries with an unknown zone id are skipped as well.
+ */
+@Slf4j
 @Configuration
 @RequiredArgsConstructor
 public class LocationsDataLoader {
 
+    private static final String SHARD_SUFFIX = ".json";
+
     private final ObjectMapper mapper;
+    private final Validator validator;
+    private final CatalogueProperties properties;
+    private final TimeZoneLookup timeZoneLookup;
 
     public LocationsConfiguration load() {
+        var locations = new ArrayList<LocationsConfiguration.LocationConfiguration>();
+        try {
+            if (properties.isClasspathSource()) {
+                var resource = new ClassPathResource(properties.classpathLocation());
+                try (var input = resource.getInputStream()) {
+                    read(input, properties.source(), locations);
+                }
+            } else {
+                for (var file : files(Path.of(properties.source()))) {
+                    try (var input = Files.newInputStream(file)) {
+                        read(input, file.toString(), locations);
+                    }
+                }
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Failed to load locations configuration from " + properties.source(), e);
+        }
+
+        var configuration = new LocationsConfiguration();
+        configuration.setLocations(locations);
+        var violations = validator.validate(configuration);
+        if (!violations.isEmpty()) {
+            throw new IllegalStateException("Invalid locations configuration in " + properties.source() + ": "
+                                            + violations.iterator().next().getMessage());
+        }
+        return configuration;
+    }
+
+    private static List<Path> files(Path source) throws IOException {
+        if (!Files.isDirectory(source)) {
+            return List.of(source);
+        }
+        try (var entries = Files.list(source)) {
+            return entries.filter(file -> file.getFileName().toString().endsWith(SHARD_SUFFIX))
+                    .filter(Files::isRegularFile)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void read(InputStream input, String name, List<LocationsConfiguration.LocationConfiguration> locations)
+            throws IOException {
+        try (JsonParser parser = mapper.getFactory().createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Expected a JSON object in " + name);
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                var field = parser.currentName();
+                if (parser.nextToken() == JsonToken.START_ARRAY && "locations".equals(field)) {
+                    readLocations(parser, name, locations);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+    }
+
+    private void readLocations(JsonParser parser, String name,
+                               List<LocationsConfiguration.LocationConfiguration> locations) throws IOException {
+        int index = 0;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            var location = mapper.readValue(parser, LocationsConfiguration.LocationConfiguration.class);
+            var violations = validator.validate(location);
+            if (!violations.isEmpty()) {
+                var violation = violations.iterator().next();
+                log.warn("Skipping location #{} in {}: {} {}", index, name, violation.getPropertyPath(), violation.getMessage());
+            } else if (resolveTimezone(location)) {
+                locations.add(location);
+            } else {
+                log.warn("Skipping location #{} in {}: timezone {} is unknown", index, name, location.getTimezone());
+            }
+            index++;
+        }
+    }
+
+    private boolean resolveTimezone(LocationsConfiguration.LocationConfiguration location) {
+        if (location.getTimezone() == null || location.getTimezone().isBlank()) {
+            location.setTimezone(timeZoneLookup.resolve(location.getLatitude(), location.getLongitude()).getId());
+            return true;
+        }
         try {
-            var resource = new ClassPathResource("data/locations.json");
-            return mapper.readValue(resource.getInputStream(), LocationsConfiguration.class);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load locations configuration from data/locations.json", e);
+            ZoneId.of(location.getTimezone());
+            return true;
+        } catch (DateTimeException e) {
+            return false;
         }
     }
-}
\ No newline at end of file
+}
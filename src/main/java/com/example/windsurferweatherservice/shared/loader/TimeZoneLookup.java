@@ -0,0 +1,71 @@
+package com.example.windsurferweatherservice.shared.loader;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Resolves the time zone of a spot from its coordinates without calling out, from the boxes of
+ * {@code data/timezones.csv}. The boxes are coarse: they are exact enough to tell the local date of the coastal
+ * spots the catalogue lists, not to draw borders. Spots outside every box get the nautical offset of their longitude.
+ */
+@Component
+public class TimeZoneLookup {
+
+    public static final String TABLE = "data/timezones.csv";
+
+    private final List<ZoneBox> boxes;
+
+    public TimeZoneLookup() {
+        var table = new ClassPathResource(TABLE);
+        try (var reader = new BufferedReader(new InputStreamReader(table.getInputStream(), StandardCharsets.UTF_8))) {
+            this.boxes = reader.lines()
+                    .map(String::strip)
+                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                    .map(ZoneBox::parse)
+                    // smallest first, so the first box containing a spot is the most specific one
+                    .sorted(Comparator.comparingDouble(ZoneBox::area))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read time zone table " + table.getPath(), e);
+        }
+    }
+
+    public ZoneId resolve(double latitude, double longitude) {
+        for (var box : boxes) {
+            if (box.contains(latitude, longitude)) {
+                return box.zone();
+            }
+        }
+        return ZoneOffset.ofHours((int) Math.max(-12, Math.min(12, Math.round(longitude / 15))));
+    }
+
+    private record ZoneBox(ZoneId zone, double south, double west, double north, double east) {
+
+        static ZoneBox parse(String line) {
+            var fields = line.split(",");
+            if (fields.length != 5) {
+                throw new IllegalStateException("Malformed time zone table row: " + line);
+            }
+            return new ZoneBox(ZoneId.of(fields[0].strip()), Double.parseDouble(fields[1]), Double.parseDouble(fields[2]),
+                    Double.parseDouble(fields[3]), Double.parseDouble(fields[4]));
+        }
+
+        boolean contains(double latitude, double longitude) {
+            return latitude >= south && latitude <= north && longitude >= west && longitude <= east;
+        }
+
+        double area() {
+            return (north - south) * (east - west);
+        }
+    }
+}
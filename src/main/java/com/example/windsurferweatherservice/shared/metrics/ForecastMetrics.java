@@ -0,0 +1,145 @@
+package com.example.windsurferweatherservice.shared.metrics;
+
+import com.example.windsurferweatherservice.shared.config.MetricsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Meters of the forecast pipeline, kept in one place so their names and tags stay consistent:
+ * <ul>
+ *     <li>{@code weatherbit.forecast.calls} - latency histogram of upstream calls by outcome, and by spot
+ *         with {@code windsurfing.metrics.per-location}</li>
+ *     <li>{@code forecast.cache.lookups} - forecast cache lookups by result, the hit ratio is hits over all lookups</li>
+ *     <li>{@code windsurfing.request.stage} - time spent in every stage of a request by operation and stage</li>
+ *     <li>{@code weatherbit.quota.wait} - time requests waited for the Weatherbit call quota by priority and decision</li>
+ *     <li>{@code weatherbit.quota.used} - calls made today, {@code weatherbit.quota.remaining} - calls left today and
+ *         this second by window, {@code weatherbit.quota.waiting} - requests queued for a call</li>
+ * </ul>
+ */
+@Component
+public class ForecastMetrics {
+
+    public static final String UPSTREAM_CALLS = "weatherbit.forecast.calls";
+    public static final String CACHE_LOOKUPS = "forecast.cache.lookups";
+    public static final String REQUEST_STAGE = "windsurfing.request.stage";
+    public static final String QUOTA_WAIT = "weatherbit.quota.wait";
+    public static final String QUOTA_USED = "weatherbit.quota.used";
+    public static final String QUOTA_REMAINING = "weatherbit.quota.remaining";
+    public static final String QUOTA_WAITING = "weatherbit.quota.waiting";
+
+    private static final String ALL_LOCATIONS = "all";
+
+    public enum Outcome { SUCCESS, ERROR, TIMEOUT, CANCELLED }
+
+    public enum CacheResult { HIT, MISS, STALE }
+
+    public enum QuotaDecision { GRANTED, REJECTED }
+
+    private final MeterRegistry registry;
+    private final boolean perLocation;
+    private final Map<CacheResult, Counter> cacheLookups = new EnumMap<>(CacheResult.class);
+    private final Map<String, Timer> stages = new ConcurrentHashMap<>();
+    private final Map<String, Timer> quotaWaits = new ConcurrentHashMap<>();
+    private final Map<String, Timer> upstreamCalls = new ConcurrentHashMap<>();
+
+    public ForecastMetrics(MeterRegistry registry, MetricsProperties properties) {
+        this.registry = registry;
+        this.perLocation = properties.perLocation();
+        for (var result : CacheResult.values()) {
+            cacheLookups.put(result, Counter.builder(CACHE_LOOKUPS)
+                    .description("Forecast cache lookups")
+                    .tag("result", tagValue(result))
+                    .register(registry));
+        }
+    }
+
+    public void recordUpstreamCall(double latitude, double longitude, long nanos, Outcome outcome) {
+        var location = perLocation ? location(latitude, longitude) : ALL_LOCATIONS;
+        upstreamCalls.computeIfAbsent(outcome.name() + '/' + location, ignored -> Timer.builder(UPSTREAM_CALLS)
+                        .description("Latency of Weatherbit forecast calls")
+                        .tag("outcome", tagValue(outcome))
+                        .tag("location", location)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(5))
+                        .maximumExpectedValue(Duration.ofSeconds(30))
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCacheLookup(CacheResult result) {
+        cacheLookups.get(result).increment();
+    }
+
+    /**
+     * @param operation request the stage belongs to, e.g. {@code best}
+     * @param stage     part of the request, e.g. {@code fetch}
+     */
+    public Timer stage(String operation, String stage) {
+        return stages.computeIfAbsent(operation + '/' + stage, ignored -> Timer.builder(REQUEST_STAGE)
+                .description("Time spent in a stage of a windsurfing request")
+                .tag("operation", operation)
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(1_000))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry));
+    }
+
+    /**
+     * @param priority the request waited with, e.g. {@code user}
+     */
+    public void recordQuotaWait(Enum<?> priority, QuotaDecision decision, long nanos) {
+        quotaWaits.computeIfAbsent(priority.name() + '/' + decision.name(), ignored -> Timer.builder(QUOTA_WAIT)
+                        .description("Time requests waited for the Weatherbit call quota")
+                        .tag("priority", tagValue(priority))
+                        .tag("decision", tagValue(decision))
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofNanos(1_000))
+                        .maximumExpectedValue(Duration.ofMinutes(10))
+                        .register(registry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param remainingToday calls left today, {@code null} without a daily limit
+     */
+    public void registerQuota(Supplier<Number> usedToday, Supplier<Number> remainingToday,
+                              Supplier<Number> remainingThisSecond, Supplier<Number> waiting) {
+        Gauge.builder(QUOTA_USED, usedToday)
+                .description("Weatherbit calls made today")
+                .register(registry);
+        if (remainingToday != null) {
+            Gauge.builder(QUOTA_REMAINING, remainingToday)
+                    .description("Weatherbit calls left in the quota window")
+                    .tag("window", "day")
+                    .register(registry);
+        }
+        Gauge.builder(QUOTA_REMAINING, remainingThisSecond)
+                .description("Weatherbit calls left in the quota window")
+                .tag("window", "second")
+                .register(registry);
+        Gauge.builder(QUOTA_WAITING, waiting)
+                .description("Requests waiting for the Weatherbit call quota")
+                .register(registry);
+    }
+
+    // same two decimal rounding as the forecast cache key, so one series per cached spot
+    private static String location(double latitude, double longitude) {
+        return String.format(Locale.ROOT, "%.2f,%.2f", latitude, longitude);
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
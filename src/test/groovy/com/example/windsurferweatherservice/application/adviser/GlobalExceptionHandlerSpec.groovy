@@ -1,13 +1,16 @@
 package com.example.windsurferweatherservice.application.adviser
 
 
+import com.example.windsurferweatherservice.application.adviser.exception.InvalidDateRangeException
 import com.example.windsurferweatherservice.application.adviser.exception.NoAvailableLocationsException
 import com.example.windsurferweatherservice.application.adviser.exception.NoSuitableLocationException
 import com.example.windsurferweatherservice.application.adviser.exception.WeatherApiException
+import org.springframework.context.support.DefaultMessageSourceResolvable
 import org.springframework.http.HttpStatus
 import org.springframework.validation.BindingResult
 import org.springframework.validation.FieldError
 import org.springframework.web.bind.MethodArgumentNotValidException
+import org.springframework.web.method.annotation.HandlerMethodValidationException
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException
 import spock.lang.Specification
 import spock.lang.Subject
@@ -62,6 +65,34 @@ class GlobalExceptionHandlerSpec extends Specification {
         }
     }
 
+    def "should handle InvalidDateRangeException and return 400"() {
+        given:
+        def exception = new InvalidDateRangeException("Date range must not exceed 7 days")
+
+        when:
+        def response = handler.handleInvalidDateRange(exception)
+
+        then:
+        response.statusCode == HttpStatus.BAD_REQUEST
+        response.body.message() == "Date range must not exceed 7 days"
+    }
+
+    def "should handle HandlerMethodValidationException and return 400 with all messages"() {
+        given:
+        def exception = Mock(HandlerMethodValidationException)
+        exception.getAllErrors() >> [
+                new DefaultMessageSourceResolvable(null, null, "Latitude must be between -90 and 90"),
+                new DefaultMessageSourceResolvable(null, null, "Radius must be at least 1 km")
+        ]
+
+        when:
+        def response = handler.handleParameterValidation(exception)
+
+        then:
+        response.statusCode == HttpStatus.BAD_REQUEST
+        response.body.message() == "Latitude must be between -90 and 90; Radius must be at least 1 km"
+    }
+
     def "should handle MethodArgumentNotValidException and return 400 with errors map"() {
         given:
         def fieldError = new FieldError("object", "date", "must be in the future")
@@ -1,36 +1,149 @@
 package com.example.windsurferweatherservice.application.controller
 
+import com.example.windsurferweatherservice.application.adviser.GlobalExceptionHandler
+import com.example.windsurferweatherservice.application.adviser.exception.InvalidDateRangeException
 import com.example.windsurferweatherservice.application.adviser.exception.NoSuitableLocationException
+import com.example.windsurferweatherservice.application.controller.cache.BestLocationResponseCache
+import com.example.windsurferweatherservice.application.controller.cache.SerializedResponse
+import com.example.windsurferweatherservice.application.controller.response.DailyRankingResponse
 import com.example.windsurferweatherservice.application.controller.response.WindsurfingResponse
+import com.example.windsurferweatherservice.application.adviser.exception.UnknownScoringProfileException
 import com.example.windsurferweatherservice.domain.WindsurfingFacade
+import com.example.windsurferweatherservice.application.controller.validation.FutureOrPresentAtLocationsValidator
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfiles
+import com.example.windsurferweatherservice.domain.time.LocationCalendar
+import com.example.windsurferweatherservice.shared.config.ScoringProperties
+import com.example.windsurferweatherservice.shared.config.ScoringProperties.ProfileSettings
+import org.springframework.http.HttpStatus
+import jakarta.validation.ConstraintValidatorFactory
+import org.springframework.http.MediaType
+import org.springframework.mock.web.MockHttpServletResponse
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders
+import org.springframework.test.web.servlet.setup.MockMvcBuilders
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean
+import reactor.core.publisher.Mono
+import reactor.test.StepVerifier
 import spock.lang.Specification
 import spock.lang.Subject
+import spock.lang.Unroll
 
+import java.time.Duration
 import java.time.LocalDate
 
 class WindsurfingControllerSpec extends Specification {
 
     def facade = Mock(WindsurfingFacade)
+    def responseCache = Mock(BestLocationResponseCache)
+    def scoringProfiles = new ScoringProfiles(new ScoringProperties("standard", [
+            standard: new ProfileSettings(5, 18, 5, 35, 3, 1),
+            pro     : new ProfileSettings(10, 30, 0, 35, 4, 0.5)]))
+    def standard = scoringProfiles.resolve("standard")
 
     @Subject
-    def windsurfingController = new WindsurfingController(facade)
+    def windsurfingController = new WindsurfingController(facade, responseCache, scoringProfiles)
 
     def "should get the best windsurfing location"() {
         given:
         def date = LocalDate.of(2025, 10, 15)
-        def response = new WindsurfingResponse("Bridgetown", "Barbados", date, 25.0, 15.0)
+        def body = '{"location":"Bridgetown"}'.bytes
+
+        and:
+        responseCache.get(date, standard) >> new SerializedResponse('"abc-1"', body)
+        responseCache.maxAge() >> Duration.ofMinutes(20)
+
+        when:
+        def result = windsurfingController.getBestLocation(date, null, null)
+
+        then:
+        result.statusCode == HttpStatus.OK
+        result.body == body
+        result.headers.getETag() == '"abc-1"'
+        result.headers.getCacheControl() == "max-age=1200, must-revalidate, public"
+        result.headers.getContentType() == MediaType.APPLICATION_JSON
+    }
+
+    @Unroll
+    def "should answer not modified when If-None-Match is #ifNoneMatch"() {
+        given:
+        def date = LocalDate.of(2025, 10, 15)
+
+        and:
+        responseCache.get(date, standard) >> new SerializedResponse('"abc-1"', '{}'.bytes)
+        responseCache.maxAge() >> Duration.ofMinutes(20)
+
+        when:
+        def result = windsurfingController.getBestLocation(date, ifNoneMatch, null)
+
+        then:
+        result.statusCode == HttpStatus.NOT_MODIFIED
+        result.body == null
+        result.headers.getETag() == '"abc-1"'
+
+        where:
+        ifNoneMatch << ['"abc-1"', 'W/"abc-1"', '"abc-0", "abc-1"']
+    }
+
+    def "should answer not modified to If-None-Match * when there is a best location"() {
+        given:
+        def date = LocalDate.of(2025, 10, 15)
+
+        and:
+        responseCache.get(date, standard) >> new SerializedResponse('"abc-1"', '{}'.bytes)
+        responseCache.maxAge() >> Duration.ofMinutes(20)
+
+        when:
+        def result = windsurfingController.getBestLocation(date, '*', null)
+
+        then:
+        result.statusCode == HttpStatus.NOT_MODIFIED
+        result.body == null
+        result.headers.getETag() == '"abc-1"'
+    }
+
+    def "should answer If-None-Match * with not found when there is no suitable location"() {
+        given:
+        def date = LocalDate.of(2025, 10, 15)
+
+        and:
+        responseCache.get(date, standard) >> new SerializedResponse('"abc-1"', null)
+
+        when:
+        windsurfingController.getBestLocation(date, '*', null)
+
+        then:
+        thrown(NoSuitableLocationException)
+    }
+
+    def "should answer again when the ETag sent is outdated"() {
+        given:
+        def date = LocalDate.of(2025, 10, 15)
+
+        and:
+        responseCache.get(date, standard) >> new SerializedResponse('"abc-2"', '{}'.bytes)
+        responseCache.maxAge() >> Duration.ZERO
+
+        when:
+        def result = windsurfingController.getBestLocation(date, '"abc-1"', null)
+
+        then:
+        result.statusCode == HttpStatus.OK
+        result.headers.getETag() == '"abc-2"'
+    }
+
+    def "should not let answers computed before the ranking is ready be cached"() {
+        given:
+        def date = LocalDate.of(2025, 10, 15)
 
         and:
-        facade.getBestLocation(date) >> Optional.of(response)
+        responseCache.get(date, standard) >> new SerializedResponse(null, '{}'.bytes)
+
         when:
-        def result = windsurfingController.getBestLocation(date)
+        def result = windsurfingController.getBestLocation(date, '*', null)
 
         then:
-        result == response
-        result.location() == "Bridgetown"
-        result.country() == "Barbados"
-        result.temperature() == 25.0d
-        result.windSpeed() == 15.0d
+        result.statusCode == HttpStatus.OK
+        result.headers.getETag() == null
+        result.headers.getCacheControl() == "no-cache"
     }
 
     def "should handle when no suitable location is found"() {
@@ -38,14 +151,227 @@ class WindsurfingControllerSpec extends Specification {
         def date = LocalDate.of(2025, 10, 15)
 
         and:
-        facade.getBestLocation(date) >> Optional.empty()
+        responseCache.get(date, standard) >> new SerializedResponse('"abc-1"', null)
 
         when:
-        windsurfingController.getBestLocation(date)
+        windsurfingController.getBestLocation(date, null, null)
 
         then:
         def exception = thrown(NoSuitableLocationException)
         exception.message.contains("No suitable location found for date: 2025-10-15")
     }
 
+    def "should answer with the scoring profile selected by the request"() {
+        given:
+        def date = LocalDate.of(2025, 10, 15)
+        def pro = scoringProfiles.resolve("pro")
+
+        when:
+        windsurfingController.getBestLocationNearby(date, 54.5, 18.5, 50.0, "pro")
+        windsurfingController.getRankings(date, date, 3, "pro")
+
+        then:
+        1 * facade.getBestLocationNear(date, 54.5, 18.5, 50.0, pro) >> Optional.of(
+                new WindsurfingResponse("Jastarnia", "Poland", date, 20.0, 12.0))
+        1 * facade.getRanking(date, 3, pro) >> new DailyRankingResponse(date, [])
+    }
+
+    def "should reject an unknown scoring profile"() {
+        when:
+        windsurfingController.getBestLocation(LocalDate.of(2025, 10, 15), null, "expert")
+
+        then:
+        thrown(UnknownScoringProfileException)
+        0 * responseCache._
+    }
+
+    def "should get the best windsurfing location without blocking"() {
+        given:
+        def date = LocalDate.of(2025, 10, 15)
+        def response = new WindsurfingResponse("Bridgetown", "Barbados", date, 25.0, 15.0)
+
+        and:
+        facade.bestLocation(date, standard) >> Mono.just(response)
+
+        expect:
+        windsurfingController.getBestLocationReactive(date, null).result == response
+    }
+
+    def "should answer with not found when the non-blocking query finds no location"() {
+        given:
+        def date = LocalDate.of(2025, 10, 15)
+
+        and:
+        facade.bestLocation(date, standard) >> Mono.empty()
+
+        when:
+        def result = windsurfingController.getBestLocationReactive(date, null).result
+
+        then:
+        result instanceof NoSuitableLocationException
+        result.message == "No suitable location found for date: 2025-10-15"
+    }
+
+    def "should cancel the non-blocking query when the request fails asynchronously"() {
+        given:
+        def date = LocalDate.of(2025, 10, 15)
+        def cancelled = false
+
+        and:
+        facade.bestLocation(date, standard) >> Mono.never().doOnCancel { cancelled = true }
+
+        when:
+        def deferred = windsurfingController.getBestLocationReactive(date, null)
+        deferred.getLifecycleInterceptor().handleError(null, deferred, new IOException("Broken pipe"))
+
+        then:
+        cancelled
+    }
+
+    def "should get the best windsurfing location near a point"() {
+        given:
+        def date = LocalDate.of(2025, 10, 15)
+        def response = new WindsurfingResponse("Jastarnia", "Poland", date, 20.0, 10.0)
+
+        and:
+        facade.getBestLocationNear(date, 54.5, 18.5, 50.0, standard) >> Optional.of(response)
+
+        expect:
+        windsurfingController.getBestLocationNearby(date, 54.5, 18.5, 50.0, null) == response
+    }
+
+    def "should handle when no suitable location is found near a point"() {
+        given:
+        def date = LocalDate.of(2025, 10, 15)
+
+        and:
+        facade.getBestLocationNear(date, 54.5, 18.5, 50.0, standard) >> Optional.empty()
+
+        when:
+        windsurfingController.getBestLocationNearby(date, 54.5, 18.5, 50.0, null)
+
+        then:
+        def exception = thrown(NoSuitableLocationException)
+        exception.message == "No suitable location found within 50.0 km for date: 2025-10-15"
+    }
+
+    def "should rank every day of the range"() {
+        given:
+        def from = LocalDate.of(2025, 10, 15)
+        def to = LocalDate.of(2025, 10, 17)
+
+        and:
+        facade.getRanking(_, 2, standard) >> { LocalDate date, int limit, profile ->
+            new DailyRankingResponse(date, [new WindsurfingResponse("Bridgetown", "Barbados", date, 25.0, 15.0)])
+        }
+
+        when:
+        def result = windsurfingController.getRankings(from, to, 2, null)
+
+        then:
+        result*.date() == [from, from.plusDays(1), to]
+        result.every { it.locations()*.location() == ["Bridgetown"] }
+    }
+
+    def "should stream the ranking of every day of the range"() {
+        given:
+        def from = LocalDate.of(2025, 10, 15)
+        def to = LocalDate.of(2025, 10, 16)
+
+        and:
+        facade.ranking(_, 3, standard) >> { LocalDate date, int limit, profile -> Mono.just(new DailyRankingResponse(date, [])) }
+
+        expect:
+        StepVerifier.create(windsurfingController.streamRankings(from, to, 3, null))
+                .expectNext(new DailyRankingResponse(from, []))
+                .expectNext(new DailyRankingResponse(to, []))
+                .verifyComplete()
+    }
+
+    @Unroll
+    def "should reject range from #from to #to"() {
+        when:
+        windsurfingController.getRankings(LocalDate.parse(from), LocalDate.parse(to), 3, null)
+
+        then:
+        def exception = thrown(InvalidDateRangeException)
+        exception.message == message
+
+        and:
+        0 * facade._
+
+        where:
+        from         | to           || message
+        "2025-10-15" | "2025-10-14" || "End date must not be before start date"
+        "2025-10-15" | "2025-10-22" || "Date range must not exceed 7 days"
+    }
+
+    @Unroll
+    def "should answer rankings with 400 when #query"() {
+        when:
+        def response = rankings(MediaType.APPLICATION_JSON, query)
+
+        then:
+        response.status == 400
+        response.contentAsString.contains(message)
+
+        and:
+        0 * facade._
+
+        where:
+        query                                    || message
+        "from=2025-10-15&to=2025-10-16&limit=0"  || "Limit must be at least 1"
+        "from=2025-10-15&to=2025-10-16&limit=21" || "Limit must be at most 20"
+        "from=2025-10-14&to=2025-10-16"          || "Date must be today or in the future"
+    }
+
+    // the error body is JSON, which a client accepting NDJSON only does not take, so it gets the status alone
+    @Unroll
+    def "should answer streamed rankings with 400 when #query"() {
+        when:
+        def response = rankings(MediaType.APPLICATION_NDJSON, query)
+
+        then:
+        response.status == 400
+
+        and:
+        0 * facade._
+
+        where:
+        query << ["from=2025-10-15&to=2025-10-16&limit=0", "from=2025-10-14&to=2025-10-16"]
+    }
+
+    def "should accept a full week range"() {
+        when:
+        def result = windsurfingController.getRankings(LocalDate.of(2025, 10, 15), LocalDate.of(2025, 10, 21), 3, null)
+
+        then:
+        7 * facade.getRanking(_, 3, standard) >> { LocalDate date, int limit, profile -> new DailyRankingResponse(date, []) }
+        result.size() == 7
+    }
+
+    private MockHttpServletResponse rankings(MediaType accept, String query) {
+        def calendar = Stub(LocationCalendar) {
+            earliestToday() >> LocalDate.of(2025, 10, 15)
+        }
+        def mvc = MockMvcBuilders.standaloneSetup(windsurfingController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .setValidator(validator(calendar))
+                .build()
+        mvc.perform(MockMvcRequestBuilders.get("/api/windsurfing/rankings?" + query).accept(accept)).andReturn().response
+    }
+
+    // the date constraint is validated against the calendar the application context would inject
+    private static LocalValidatorFactoryBean validator(LocationCalendar calendar) {
+        def validator = new LocalValidatorFactoryBean()
+        validator.constraintValidatorFactory = [
+                getInstance    : { Class type ->
+                    type == FutureOrPresentAtLocationsValidator
+                            ? new FutureOrPresentAtLocationsValidator(calendar)
+                            : type.getDeclaredConstructor().newInstance()
+                },
+                releaseInstance: { instance -> }] as ConstraintValidatorFactory
+        validator.afterPropertiesSet()
+        validator
+    }
 }
@@ -0,0 +1,204 @@
+package com.example.windsurferweatherservice.application.controller.cache
+
+import com.example.windsurferweatherservice.application.controller.response.WindsurfingResponse
+import com.example.windsurferweatherservice.domain.WindsurfingFacade
+import com.example.windsurferweatherservice.domain.model.Freshness
+import com.example.windsurferweatherservice.domain.ranking.RankingTable
+import com.example.windsurferweatherservice.domain.refresh.ForecastRefresher
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfile
+import com.example.windsurferweatherservice.domain.time.LocationCalendar
+import com.example.windsurferweatherservice.shared.config.JacksonConfig
+import org.springframework.beans.factory.ObjectProvider
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.time.Duration
+import java.time.Instant
+import java.time.LocalDate
+
+class BestLocationResponseCacheSpec extends Specification {
+
+    def facade = Mock(WindsurfingFacade)
+    def rankingTable = Mock(RankingTable)
+    def refresher = Mock(ForecastRefresher)
+    def refresherProvider = Mock(ObjectProvider)
+    def objectMapper = new JacksonConfig().weatherbitObjectMapper()
+
+    def lastDateChange = Instant.parse("2025-10-14T22:00:00Z")
+    def nextDateChange = Instant.now().plus(Duration.ofHours(1))
+    def calendar = Stub(LocationCalendar) {
+        lastDateChange() >> { lastDateChange }
+        nextDateChange() >> { nextDateChange }
+    }
+
+    @Subject
+    def responseCache = new BestLocationResponseCache(facade, rankingTable, calendar, objectMapper, refresherProvider)
+
+    def date = LocalDate.of(2025, 10, 15)
+    def standard = new ScoringProfile("standard", 0, 5, 18, 5, 35, 3, 1),
+        pro = new ScoringProfile("pro", 1, 10, 30, 0, 35, 4, 0.5)
+    def response = new WindsurfingResponse("Bridgetown", "Barbados", date, 25.0, 15.0)
+
+    def "should serialize the answer once per ranking version"() {
+        given:
+        rankingTable.isReady() >> true
+        rankingTable.version() >> 3L
+
+        when:
+        def first = responseCache.get(date, standard)
+        def second = responseCache.get(date, standard)
+
+        then:
+        1 * facade.getBestLocation(date, standard) >> Optional.of(response)
+
+        and:
+        second.is(first)
+        first.etag() != null
+        objectMapper.readValue(first.body(), Map).location == "Bridgetown"
+    }
+
+    def "should keep the answers of every scoring profile apart"() {
+        given:
+        rankingTable.isReady() >> true
+        rankingTable.version() >> 3L
+
+        when:
+        def standardAnswer = responseCache.get(date, standard)
+        def proAnswer = responseCache.get(date, pro)
+
+        then:
+        1 * facade.getBestLocation(date, standard) >> Optional.of(response)
+        1 * facade.getBestLocation(date, pro) >> Optional.empty()
+
+        and:
+        !standardAnswer.isEmpty()
+        proAnswer.isEmpty()
+    }
+
+    def "should render the answer again once the ranking changed"() {
+        given:
+        rankingTable.isReady() >> true
+        rankingTable.version() >>> [3L, 4L]
+
+        when:
+        def first = responseCache.get(date, standard)
+        def second = responseCache.get(date, standard)
+
+        then:
+        2 * facade.getBestLocation(date, standard) >> Optional.of(response)
+
+        and:
+        first.etag() != second.etag()
+    }
+
+    def "should render the answer again once the date changed at one of the locations"() {
+        given:
+        rankingTable.isReady() >> true
+        rankingTable.version() >> 3L
+
+        when:
+        def first = responseCache.get(date, standard)
+        lastDateChange = Instant.parse("2025-10-15T04:00:00Z")
+        def second = responseCache.get(date, standard)
+
+        then:
+        2 * facade.getBestLocation(date, standard) >> Optional.of(response)
+
+        and:
+        first.etag() != second.etag()
+    }
+
+    def "should render the answer again once its forecast went stale"() {
+        given:
+        rankingTable.isReady() >> true
+        rankingTable.version() >> 3L
+        def freshness = new Freshness(Instant.now(), Instant.now().plusMillis(50))
+        def expiring = new WindsurfingResponse("Bridgetown", "Barbados", date, 25.0, 15.0, freshness)
+
+        when:
+        def first = responseCache.get(date, standard)
+        Thread.sleep(100)
+        def second = responseCache.get(date, standard)
+        def third = responseCache.get(date, standard)
+
+        then:
+        2 * facade.getBestLocation(date, standard) >> Optional.of(expiring)
+
+        and:
+        first.etag() != second.etag()
+        !objectMapper.readValue(first.body(), Map).freshness.stale
+        objectMapper.readValue(second.body(), Map).freshness.stale
+        third.is(second)
+    }
+
+    def "should cache that no location is suitable"() {
+        given:
+        rankingTable.isReady() >> true
+        rankingTable.version() >> 3L
+
+        when:
+        def first = responseCache.get(date, standard)
+        def second = responseCache.get(date, standard)
+
+        then:
+        1 * facade.getBestLocation(date, standard) >> Optional.empty()
+        first.isEmpty()
+        second.isEmpty()
+    }
+
+    def "should neither cache nor tag answers before the ranking is ready"() {
+        given:
+        rankingTable.isReady() >> false
+
+        when:
+        def first = responseCache.get(date, standard)
+        responseCache.get(date, standard)
+
+        then:
+        2 * facade.getBestLocation(date, standard) >> Optional.of(response)
+
+        and:
+        first.etag() == null
+    }
+
+    def "should let answers be cached until the next sweep"() {
+        given:
+        refresherProvider.getIfAvailable() >> refresher
+        refresher.nextSweepAt() >> Optional.of(Instant.now().plus(Duration.ofMinutes(10)))
+
+        expect:
+        responseCache.maxAge() > Duration.ofMinutes(9)
+        responseCache.maxAge() <= Duration.ofMinutes(10)
+    }
+
+    def "should not let answers be cached past the next date change"() {
+        given:
+        refresherProvider.getIfAvailable() >> refresher
+        refresher.nextSweepAt() >> Optional.of(Instant.now().plus(Duration.ofMinutes(10)))
+        nextDateChange = Instant.now().plus(Duration.ofMinutes(3))
+
+        expect:
+        responseCache.maxAge() > Duration.ofMinutes(2)
+        responseCache.maxAge() <= Duration.ofMinutes(3)
+    }
+
+    def "should not let answers be cached when no sweep is due"() {
+        given:
+        refresherProvider.getIfAvailable() >> refresher
+        refresher.nextSweepAt() >> nextSweepAt
+
+        expect:
+        responseCache.maxAge() == Duration.ZERO
+
+        where:
+        nextSweepAt << [Optional.empty(), Optional.of(Instant.now().minusSeconds(5))]
+    }
+
+    def "should not let answers be cached when the refresher is disabled"() {
+        given:
+        refresherProvider.getIfAvailable() >> null
+
+        expect:
+        responseCache.maxAge() == Duration.ZERO
+    }
+}
@@ -1,28 +1,61 @@
 package com.example.windsurferweatherservice.domain
 
 import com.example.windsurferweatherservice.application.controller.dto.DailyForecast
+import com.example.windsurferweatherservice.application.controller.dto.LocationForecast
+import com.example.windsurferweatherservice.application.controller.response.DailyRankingResponse
 import com.example.windsurferweatherservice.application.controller.response.WindsurfingResponse
 import com.example.windsurferweatherservice.domain.model.Location
+import com.example.windsurferweatherservice.domain.ranking.RankedLocation
+import com.example.windsurferweatherservice.domain.ranking.RankingTable
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfile
+import com.example.windsurferweatherservice.domain.service.ReactiveWindsurfingService
 import com.example.windsurferweatherservice.domain.service.WindsurfingService
+import com.example.windsurferweatherservice.domain.time.LocationCalendar
+import com.example.windsurferweatherservice.shared.config.FetchProperties
+import com.example.windsurferweatherservice.shared.config.MetricsProperties
+import com.example.windsurferweatherservice.shared.metrics.ForecastMetrics
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import reactor.test.StepVerifier
 import spock.lang.Shared
 import spock.lang.Specification
 import spock.lang.Subject
 
+import java.time.Duration
 import java.time.LocalDate
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import java.util.function.Predicate
 
 
 class WindsurfingFacadeSpec extends Specification {
 
     def windsurfingService = Mock(WindsurfingService)
+    def reactiveService = Mock(ReactiveWindsurfingService)
+    def rankingTable = Mock(RankingTable)
+
+    def calendar = Stub(LocationCalendar) {
+        openOn(_) >> null
+    }
+
+    def registry = new SimpleMeterRegistry()
+
+    def metrics = new ForecastMetrics(registry, new MetricsProperties(true))
 
     @Subject
-    def facade = new WindsurfingFacade(windsurfingService)
+    def facade = new WindsurfingFacade(windsurfingService, reactiveService, rankingTable,
+            new FetchProperties(2, Duration.ofMillis(500)), metrics, calendar)
 
     @Shared
     def jastarnia = new Location("Jastarnia", "Poland", 54.7, 18.67),
         bridgetown = new Location("Bridgetown", "Barbados", 13.1, -59.6),
         fortaleza = new Location("Fortaleza", "Brazil", -3.7, -38.5)
 
+    @Shared
+    def profile = new ScoringProfile("standard", 0, 5, 18, 5, 35, 3, 1)
+
     @Shared
     def jastarniaDailyForecast = new DailyForecast("2025-10-01", 20.0, 10.0),
         bridgetownDailyForecast = new DailyForecast("2025-10-01", 25.0, 15.0),
@@ -38,15 +71,15 @@ class WindsurfingFacadeSpec extends Specification {
         windsurfingService.getAllLocations() >> locations
 
         and:
-        windsurfingService.getForecastForDate(jastarnia, date) >> Optional.of(jastarniaDailyForecast)
-        windsurfingService.getForecastForDate(bridgetown, date) >> Optional.of(bridgetownDailyForecast)
-        windsurfingService.getForecastForDate(fortaleza, date) >> Optional.of(fortalezaDailyForecast)
+        windsurfingService.getForecastForDate(jastarnia, date) >> Optional.of(forecastAt(jastarnia, jastarniaDailyForecast))
+        windsurfingService.getForecastForDate(bridgetown, date) >> Optional.of(forecastAt(bridgetown, bridgetownDailyForecast))
+        windsurfingService.getForecastForDate(fortaleza, date) >> Optional.of(forecastAt(fortaleza, fortalezaDailyForecast))
 
         and:
-        windsurfingService.findBestSuitableLocation(_, date) >> Optional.of(expectedBestLocation)
+        windsurfingService.findBestSuitableLocation(_, date, profile) >> Optional.of(expectedBestLocation)
 
         when:
-        def result = facade.getBestLocation(date)
+        def result = facade.getBestLocation(date, profile)
 
         then:
         result.isPresent()
@@ -66,15 +99,15 @@ class WindsurfingFacadeSpec extends Specification {
         windsurfingService.getAllLocations() >> locations
 
         and:
-        windsurfingService.getForecastForDate(jastarnia, date) >> Optional.of(jastarniaDailyForecast)
-        windsurfingService.getForecastForDate(bridgetown, date) >> Optional.of(bridgetownDailyForecast)
-        windsurfingService.getForecastForDate(fortaleza, date) >> Optional.of(fortalezaDailyForecast)
+        windsurfingService.getForecastForDate(jastarnia, date) >> Optional.of(forecastAt(jastarnia, jastarniaDailyForecast))
+        windsurfingService.getForecastForDate(bridgetown, date) >> Optional.of(forecastAt(bridgetown, bridgetownDailyForecast))
+        windsurfingService.getForecastForDate(fortaleza, date) >> Optional.of(forecastAt(fortaleza, fortalezaDailyForecast))
 
         and:
-        windsurfingService.findBestSuitableLocation(_, date) >> Optional.empty()
+        windsurfingService.findBestSuitableLocation(_, date, profile) >> Optional.empty()
 
         when:
-        def result = facade.getBestLocation(date)
+        def result = facade.getBestLocation(date, profile)
 
         then:
         !result.isPresent()
@@ -88,16 +121,306 @@ class WindsurfingFacadeSpec extends Specification {
 
         and:
         windsurfingService.getAllLocations() >> locations
-        windsurfingService.getForecastForDate(jastarnia, date) >> Optional.of(jastarniaDailyForecast)
+        windsurfingService.getForecastForDate(jastarnia, date) >> Optional.of(forecastAt(jastarnia, jastarniaDailyForecast))
         windsurfingService.getForecastForDate(bridgetown, date) >> Optional.empty()
         windsurfingService.getForecastForDate(fortaleza, date) >> Optional.empty()
-        windsurfingService.findBestSuitableLocation(_, date) >> Optional.of(expectedBestLocation)
+        windsurfingService.findBestSuitableLocation(_, date, profile) >> Optional.of(expectedBestLocation)
 
         when:
-        def result = facade.getBestLocation(date)
+        def result = facade.getBestLocation(date, profile)
 
         then:
         result.isPresent()
         result.get().location() == jastarnia.name()
     }
-}
\ No newline at end of file
+
+    def "should answer from the ranking table once it is ready"() {
+        given:
+        def date = LocalDate.of(2025, 10, 1)
+
+        and:
+        rankingTable.isReady() >> true
+        rankingTable.best(date, profile, null) >> Optional.of(new RankedLocation(bridgetown, bridgetownDailyForecast, 70.0, null))
+
+        when:
+        def result = facade.getBestLocation(date, profile)
+
+        then:
+        0 * windsurfingService._
+
+        and:
+        result.get() == new WindsurfingResponse("Bridgetown", "Barbados", date, 25.0, 15.0)
+    }
+
+    def "should time the fetch and select stages of a request"() {
+        given:
+        def date = LocalDate.of(2025, 10, 1)
+
+        and:
+        windsurfingService.getAllLocations() >> [jastarnia]
+        windsurfingService.getForecastForDate(jastarnia, date) >> Optional.of(forecastAt(jastarnia, jastarniaDailyForecast))
+        windsurfingService.findBestSuitableLocation(_, date, profile) >> Optional.empty()
+
+        when:
+        facade.getBestLocation(date, profile)
+
+        then:
+        ["fetch", "select"].every { stage ->
+            registry.get(ForecastMetrics.REQUEST_STAGE).tags("operation", "best", "stage", stage).timer().count() == 1
+        }
+        registry.find(ForecastMetrics.REQUEST_STAGE).tags("stage", "ranking").timer() == null
+    }
+
+    def "should answer a nearby search from the ranking table among the candidates only"() {
+        given:
+        def date = LocalDate.of(2025, 10, 1)
+
+        and:
+        windsurfingService.getLocationsWithin(54.5, 18.5, 100.0) >> [jastarnia]
+        rankingTable.isReady() >> true
+
+        when:
+        def result = facade.getBestLocationNear(date, 54.5, 18.5, 100.0, profile)
+
+        then:
+        1 * rankingTable.best(date, profile, _) >> { LocalDate day, ScoringProfile scoring, predicate ->
+            assert predicate.test(jastarnia)
+            assert !predicate.test(bridgetown)
+            Optional.of(new RankedLocation(jastarnia, jastarniaDailyForecast, 50.0, null))
+        }
+
+        and:
+        result.get().location() == "Jastarnia"
+    }
+
+    def "should fetch and score only the candidates of a nearby search before the ranking table is ready"() {
+        given:
+        def date = LocalDate.of(2025, 10, 1)
+        def expected = new WindsurfingResponse("Jastarnia", "Poland", date, 20.0, 10.0)
+
+        and:
+        windsurfingService.getLocationsWithin(54.5, 18.5, 100.0) >> [jastarnia]
+
+        when:
+        def result = facade.getBestLocationNear(date, 54.5, 18.5, 100.0, profile)
+
+        then:
+        1 * windsurfingService.getForecastForDate(jastarnia, date) >> Optional.of(forecastAt(jastarnia, jastarniaDailyForecast))
+        0 * windsurfingService.getForecastForDate(_, _)
+        0 * windsurfingService.getAllLocations()
+        1 * windsurfingService.findBestSuitableLocation({ it*.location() == [jastarnia] }, date, profile) >> Optional.of(expected)
+
+        and:
+        result.get() == expected
+    }
+
+    def "should return empty when there is no location within the radius"() {
+        given:
+        windsurfingService.getLocationsWithin(_, _, _) >> []
+
+        when:
+        def result = facade.getBestLocationNear(LocalDate.of(2025, 10, 1), 0.0, 0.0, 10.0, profile)
+
+        then:
+        0 * rankingTable.best(*_)
+        result.isEmpty()
+    }
+
+    def "should leave out the locations where the date is over already"() {
+        given:
+        def date = LocalDate.of(2025, 10, 1)
+        Predicate<Location> open = { it != jastarnia }
+        def overInPoland = Stub(LocationCalendar) {
+            openOn(date) >> open
+        }
+        def zonedFacade = new WindsurfingFacade(windsurfingService, reactiveService, rankingTable,
+                new FetchProperties(2, Duration.ofMillis(500)), metrics, overInPoland)
+
+        and:
+        windsurfingService.getAllLocations() >> [jastarnia, bridgetown]
+        windsurfingService.getForecastForDate(bridgetown, date) >> Optional.of(forecastAt(bridgetown, bridgetownDailyForecast))
+
+        when:
+        zonedFacade.getRanking(date, 1, profile)
+
+        then:
+        0 * windsurfingService.getForecastForDate(jastarnia, _)
+        1 * windsurfingService.findTopSuitableLocations({ it*.location() == [bridgetown] }, date, 1, profile) >> []
+
+        when:
+        zonedFacade.getRanking(date, 1, profile)
+
+        then:
+        rankingTable.isReady() >> true
+        1 * rankingTable.top(date, profile, 1, open) >> []
+    }
+
+    def "should rank a day from the ranking table once it is ready"() {
+        given:
+        def date = LocalDate.of(2025, 10, 1)
+
+        and:
+        rankingTable.isReady() >> true
+        rankingTable.top(date, profile, 2, null) >> [
+                new RankedLocation(bridgetown, bridgetownDailyForecast, 70.0, null),
+                new RankedLocation(jastarnia, jastarniaDailyForecast, 50.0, null)
+        ]
+
+        when:
+        def result = facade.getRanking(date, 2, profile)
+
+        then:
+        0 * windsurfingService._
+
+        and:
+        result.date() == date
+        result.locations()*.location() == ["Bridgetown", "Jastarnia"]
+    }
+
+    def "should rank a day from fetched forecasts before the ranking table is ready"() {
+        given:
+        def date = LocalDate.of(2025, 10, 1)
+        def ranked = [new WindsurfingResponse("Bridgetown", "Barbados", date, 25.0, 15.0)]
+
+        and:
+        windsurfingService.getAllLocations() >> [jastarnia, bridgetown]
+        windsurfingService.getForecastForDate(jastarnia, date) >> Optional.of(forecastAt(jastarnia, jastarniaDailyForecast))
+        windsurfingService.getForecastForDate(bridgetown, date) >> Optional.of(forecastAt(bridgetown, bridgetownDailyForecast))
+
+        when:
+        def result = facade.getRanking(date, 1, profile)
+
+        then:
+        1 * windsurfingService.findTopSuitableLocations({ it.size() == 2 }, date, 1, profile) >> ranked
+
+        and:
+        result == new DailyRankingResponse(date, ranked)
+    }
+
+    def "should skip locations that miss the request deadline"() {
+        given:
+        def date = LocalDate.of(2025, 10, 1)
+        def selected = []
+        def service = serviceFetching { location, day ->
+            if (location == fortaleza) {
+                Thread.sleep(5_000)
+            }
+            Optional.of(forecastAt(location, bridgetownDailyForecast))
+        } { forecasts -> selected.addAll(forecasts) }
+
+        and:
+        def concurrentFacade = new WindsurfingFacade(service, reactiveService, rankingTable,
+                new FetchProperties(3, Duration.ofMillis(300)), metrics, calendar)
+
+        when:
+        concurrentFacade.getBestLocation(date, profile)
+
+        then:
+        selected*.location() == [jastarnia, bridgetown]
+    }
+
+    def "should fetch locations concurrently within the concurrency limit"() {
+        given:
+        def date = LocalDate.of(2025, 10, 1)
+        def inFlight = new AtomicInteger()
+        def peakInFlight = new AtomicInteger()
+        def firstTwoStarted = new CountDownLatch(2)
+        def selected = []
+        def service = serviceFetching { location, day ->
+            peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max)
+            // the first two fetches only return once both of them are in flight
+            firstTwoStarted.countDown()
+            firstTwoStarted.await(5, TimeUnit.SECONDS)
+            inFlight.decrementAndGet()
+            Optional.of(forecastAt(location, jastarniaDailyForecast))
+        } { forecasts -> selected.addAll(forecasts) }
+
+        and:
+        def concurrentFacade = new WindsurfingFacade(service, reactiveService, rankingTable,
+                new FetchProperties(2, Duration.ofSeconds(5)), metrics, calendar)
+
+        when:
+        concurrentFacade.getBestLocation(date, profile)
+
+        then:
+        selected.size() == 3
+        peakInFlight.get() == 2
+    }
+
+    def "should find the best location without blocking before the ranking table is ready"() {
+        given:
+        def date = LocalDate.of(2025, 10, 1)
+        def expected = new WindsurfingResponse("Bridgetown", "Barbados", date, 25.0, 15.0)
+
+        and:
+        reactiveService.getAllLocations() >> Flux.just(jastarnia, bridgetown)
+        reactiveService.getForecastForDate(jastarnia, date) >> Mono.just(forecastAt(jastarnia, jastarniaDailyForecast))
+        reactiveService.getForecastForDate(bridgetown, date) >> Mono.just(forecastAt(bridgetown, bridgetownDailyForecast))
+        reactiveService.findBestSuitableLocation(_, date, profile) >> { Flux<LocationForecast> forecasts, LocalDate day, scoring ->
+            forecasts.collectList().map { expected }
+        }
+
+        expect:
+        StepVerifier.create(facade.bestLocation(date, profile))
+                .expectNext(expected)
+                .verifyComplete()
+
+        and:
+        registry.get(ForecastMetrics.REQUEST_STAGE).tags("operation", "best", "stage", "fetch").timer().count() == 1
+    }
+
+    def "should answer the non-blocking query from the ranking table once it is ready"() {
+        given:
+        def date = LocalDate.of(2025, 10, 1)
+
+        and:
+        rankingTable.isReady() >> true
+        rankingTable.best(date, profile, null) >> Optional.empty()
+
+        expect:
+        StepVerifier.create(facade.bestLocation(date, profile)).verifyComplete()
+    }
+
+    def "should cancel fetches that miss the deadline of a non-blocking query and leave their locations out"() {
+        given:
+        def date = LocalDate.of(2025, 10, 1)
+        def cancelled = new AtomicInteger()
+        def selected = []
+        def reactive = [
+                getAllLocations         : { -> Flux.just(jastarnia, bridgetown, fortaleza) },
+                getForecastForDate      : { Location location, LocalDate day ->
+                    location == fortaleza
+                            ? Mono.never().doOnCancel { cancelled.incrementAndGet() }
+                            : Mono.just(forecastAt(location, jastarniaDailyForecast))
+                },
+                findBestSuitableLocation: { Flux<LocationForecast> forecasts, LocalDate day, scoring ->
+                    forecasts.doOnNext { selected << it.location() }.then(Mono.empty())
+                }] as ReactiveWindsurfingService
+
+        and:
+        def deadlineFacade = new WindsurfingFacade(windsurfingService, reactive, rankingTable,
+                new FetchProperties(3, Duration.ofMillis(200)), metrics, calendar)
+
+        when:
+        deadlineFacade.bestLocation(date, profile).block(Duration.ofSeconds(5))
+
+        then:
+        selected == [jastarnia, bridgetown]
+        cancelled.get() == 1
+    }
+
+    private static LocationForecast forecastAt(Location location, DailyForecast forecast) {
+        new LocationForecast(location, forecast.temp(), forecast.windSpd(), null)
+    }
+
+    // Spock mocks serialize invocations, so concurrency is checked against a plain closure-backed service
+    private WindsurfingService serviceFetching(Closure fetch, Closure select) {
+        [getAllLocations         : { -> [jastarnia, bridgetown, fortaleza] },
+         getForecastForDate      : fetch,
+         findBestSuitableLocation: { forecasts, date, scoring ->
+             select(forecasts)
+             Optional.empty()
+         },
+         findTopSuitableLocations: { forecasts, date, limit, scoring -> [] }] as WindsurfingService
+    }
+}
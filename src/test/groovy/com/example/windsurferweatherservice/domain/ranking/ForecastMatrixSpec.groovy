@@ -0,0 +1,144 @@
+package com.example.windsurferweatherservice.domain.ranking
+
+import com.example.windsurferweatherservice.domain.model.ForecastSeries
+import com.example.windsurferweatherservice.domain.model.Location
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.time.LocalDate
+
+class ForecastMatrixSpec extends Specification {
+
+    static final LocalDate FIRST_DAY = LocalDate.of(2025, 10, 1)
+
+    @Subject
+    def matrix = new ForecastMatrix(1)
+
+    def "should find the best location among more locations than the initial capacity"() {
+        given:
+        def spots = (0..<200).collect { spot(it) }
+        spots.eachWithIndex { location, i -> put(location, [i % 97 as double]) }
+
+        expect:
+        matrix.best(FIRST_DAY, 0, null).get().location() == spots[96]
+        matrix.top(FIRST_DAY, 0, 3, null)*.location() == [spots[96], spots[193], spots[95]]
+    }
+
+    def "should keep equal scores in the order the locations were added"() {
+        given:
+        def spots = (0..<4).collect { spot(it) }
+        put(spots[0], [10.0d])
+        put(spots[1], [20.0d])
+        put(spots[2], [20.0d])
+        put(spots[3], [15.0d])
+
+        expect:
+        matrix.best(FIRST_DAY, 0, null).get().location() == spots[1]
+        matrix.top(FIRST_DAY, 0, 3, null)*.location() == [spots[1], spots[2], spots[3]]
+        matrix.top(FIRST_DAY, 0, 10, null)*.score() == [20.0d, 20.0d, 15.0d, 10.0d]
+    }
+
+    def "should only test the candidates that score better than the best one so far"() {
+        given:
+        def spots = (0..<3).collect { spot(it) }
+        put(spots[0], [30.0d])
+        put(spots[1], [10.0d])
+        put(spots[2], [20.0d])
+        def tested = []
+
+        when:
+        def best = matrix.best(FIRST_DAY, 0, { location -> tested << location; location != spots[0] })
+
+        then:
+        best.get().location() == spots[2]
+        tested == [spots[0], spots[1], spots[2]]
+
+        when:
+        tested.clear()
+        matrix.best(FIRST_DAY, 0, { location -> tested << location; true })
+
+        then:
+        tested == [spots[0]]
+    }
+
+    def "should only test the candidates that would make it into the top"() {
+        given:
+        def spots = (0..<4).collect { spot(it) }
+        put(spots[0], [30.0d])
+        put(spots[1], [20.0d])
+        put(spots[2], [25.0d])
+        put(spots[3], [10.0d])
+        def tested = []
+
+        when:
+        def top = matrix.top(FIRST_DAY, 0, 2, { location -> tested << location; location != spots[1] })
+
+        then:
+        top*.location() == [spots[0], spots[2]]
+        tested == [spots[0], spots[1], spots[2]]
+    }
+
+    def "should reuse the ordinal of a removed location"() {
+        given:
+        def (first, second, third) = [spot(0), spot(1), spot(2)]
+        put(first, [10.0d])
+        put(second, [20.0d])
+
+        when:
+        matrix.remove(second)
+        put(third, [5.0d])
+
+        then:
+        matrix.top(FIRST_DAY, 0, 5, null)*.location() == [first, third]
+        !matrix.remove(second)
+    }
+
+    def "should leave out unsuitable and missing days"() {
+        given:
+        def location = spot(0)
+        put(location, [Double.NaN, 12.0d])
+
+        expect:
+        matrix.best(FIRST_DAY, 0, null).isEmpty()
+        matrix.best(FIRST_DAY.plusDays(1), 0, null).get().score() == 12.0d
+        matrix.best(FIRST_DAY.plusDays(1), 0, null).get().forecast().validDate() == "2025-10-02"
+    }
+
+    def "should reuse the slot of an evicted day for a later day"() {
+        given:
+        def location = spot(0)
+        put(location, [10.0d])
+
+        when:
+        matrix.evictBefore(FIRST_DAY.plusDays(1))
+        put(location, [15.0d], FIRST_DAY.plusDays(ForecastMatrix.WINDOW_DAYS))
+
+        then:
+        matrix.best(FIRST_DAY, 0, null).isEmpty()
+        matrix.best(FIRST_DAY.plusDays(ForecastMatrix.WINDOW_DAYS), 0, null).get().score() == 15.0d
+        !matrix.evictBefore(FIRST_DAY)
+    }
+
+    def "should not overwrite a newer day sharing the slot with an older one"() {
+        given:
+        def (fresh, late) = [spot(0), spot(1)]
+        put(fresh, [15.0d], FIRST_DAY.plusDays(ForecastMatrix.WINDOW_DAYS))
+
+        when:
+        put(late, [30.0d])
+
+        then:
+        matrix.best(FIRST_DAY, 0, null).isEmpty()
+        matrix.best(FIRST_DAY.plusDays(ForecastMatrix.WINDOW_DAYS), 0, null).get().location() == fresh
+    }
+
+    private void put(Location location, List<Double> scores, LocalDate firstDay = FIRST_DAY) {
+        def days = scores.size()
+        def forecast = new ForecastSeries(firstDay.toEpochDay(), [20.0d] * days as double[], [10.0d] * days as double[])
+        matrix.put(location, forecast, scores as double[], null)
+    }
+
+    private static Location spot(int i) {
+        new Location("Spot " + i, "Country", i / 10.0d, i / 10.0d)
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.windsurferweatherservice.domain.ranking
+
+import com.example.windsurferweatherservice.application.controller.dto.DailyForecast
+import com.example.windsurferweatherservice.domain.model.ForecastSeries
+import com.example.windsurferweatherservice.domain.model.Freshness
+import com.example.windsurferweatherservice.domain.model.Location
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfiles
+import com.example.windsurferweatherservice.domain.storage.LocationsReloadedEvent
+import com.example.windsurferweatherservice.domain.validator.WeatherValidator
+import com.example.windsurferweatherservice.shared.config.ScoringProperties
+import com.example.windsurferweatherservice.shared.config.ScoringProperties.ProfileSettings
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.time.Instant
+import java.time.LocalDate
+
+class RankingTableSpec extends Specification {
+
+    def profiles = new ScoringProfiles(new ScoringProperties("standard", [
+            standard: new ProfileSettings(5, 18, 5, 35, 3, 1),
+            pro     : new ProfileSettings(10, 30, 0, 35, 4, 0.5)]))
+
+    def standard = profiles.resolve("standard"),
+        pro = profiles.resolve("pro")
+
+    @Subject
+    def table = new RankingTable(new WeatherValidator(), profiles)
+
+    @Shared
+    def jastarnia = new Location("Jastarnia", "Poland", 54.7, 18.67),
+        bridgetown = new Location("Bridgetown", "Barbados", 13.1, -59.6),
+        fortaleza = new Location("Fortaleza", "Brazil", -3.7, -38.5)
+
+    @Shared
+    def firstDay = LocalDate.of(2025, 10, 1),
+        secondDay = LocalDate.of(2025, 10, 2)
+
+    @Shared
+    def freshness = new Freshness(Instant.now(), Instant.now().plusSeconds(3600))
+
+    def "should rank suitable locations per date by score"() {
+        given:
+        table.update(jastarnia, forecast(["2025-10-01": [20.0, 10.0], "2025-10-02": [20.0, 16.0]]), freshness)
+        table.update(bridgetown, forecast(["2025-10-01": [25.0, 15.0], "2025-10-02": [25.0, 6.0]]), freshness)
+        table.update(fortaleza, forecast(["2025-10-01": [30.0, 3.0], "2025-10-02": [30.0, 12.0]]), freshness)
+
+        expect:
+        table.top(firstDay, standard, 5)*.location() == [bridgetown, jastarnia]
+        table.top(secondDay, standard, 5)*.location() == [jastarnia, fortaleza, bridgetown]
+        table.top(secondDay, standard, 2)*.location() == [jastarnia, fortaleza]
+
+        and:
+        table.best(firstDay, standard).get().score() == 70.0d
+        table.best(firstDay, standard).get().toResponse(firstDay).location() == "Bridgetown"
+        table.best(firstDay, standard).get().toResponse(firstDay).freshness() == freshness
+    }
+
+    def "should return the best ranked location among the candidates"() {
+        given:
+        table.update(jastarnia, forecast(["2025-10-01": [20.0, 10.0]]), freshness)
+        table.update(bridgetown, forecast(["2025-10-01": [25.0, 15.0]]), freshness)
+
+        expect:
+        table.best(firstDay, standard, { it == jastarnia }).get().location() == jastarnia
+        table.best(firstDay, standard, { true }).get().location() == bridgetown
+        table.best(firstDay, standard, { it == fortaleza }).isEmpty()
+        table.best(secondDay, standard, { true }).isEmpty()
+    }
+
+    def "should replace previous entries of a refreshed location"() {
+        given:
+        table.update(jastarnia, forecast(["2025-10-01": [20.0, 10.0], "2025-10-02": [20.0, 10.0]]), freshness)
+        table.update(bridgetown, forecast(["2025-10-01": [25.0, 15.0]]), freshness)
+
+        when:
+        table.update(jastarnia, forecast(["2025-10-01": [20.0, 18.0]]), freshness)
+
+        then:
+        table.top(firstDay, standard, 5)*.location() == [jastarnia, bridgetown]
+        table.top(firstDay, standard, 5)*.score() == [74.0d, 70.0d]
+        table.best(secondDay, standard).isEmpty()
+    }
+
+    def "should drop a location whose forecast became unsuitable or invalid"() {
+        given:
+        table.update(jastarnia, forecast(["2025-10-01": [20.0, 10.0]]), freshness)
+
+        when:
+        table.update(jastarnia, refreshed, freshness)
+
+        then:
+        table.best(firstDay, standard).isEmpty()
+
+        where:
+        refreshed << [forecast(["2025-10-01": [20.0, 30.0]]), null]
+    }
+
+    def "should drop the entries of locations removed from the catalogue"() {
+        given:
+        table.update(jastarnia, forecast(["2025-10-01": [20.0, 10.0], "2025-10-02": [20.0, 10.0]]), freshness)
+        table.update(bridgetown, forecast(["2025-10-01": [25.0, 15.0]]), freshness)
+
+        when:
+        table.handleLocationsReloaded(new LocationsReloadedEvent(2, [], [bridgetown]))
+
+        then:
+        table.top(firstDay, standard, 5)*.location() == [jastarnia]
+        table.top(secondDay, standard, 5)*.location() == [jastarnia]
+    }
+
+    def "should evict dates before the given day"() {
+        given:
+        table.update(jastarnia, forecast(["2025-10-01": [20.0, 10.0], "2025-10-02": [20.0, 10.0]]), freshness)
+
+        when:
+        table.evictBefore(secondDay)
+
+        then:
+        table.best(firstDay, standard).isEmpty()
+        table.best(secondDay, standard).isPresent()
+    }
+
+    def "should only become ready when marked"() {
+        expect:
+        !table.isReady()
+
+        when:
+        table.markReady()
+
+        then:
+        table.isReady()
+    }
+
+    def "should rank every location for all profiles at once"() {
+        given:
+        table.update(jastarnia, forecast(["2025-10-01": [20.0, 8.0], "2025-10-02": [20.0, 25.0]]), freshness)
+        table.update(bridgetown, forecast(["2025-10-01": [25.0, 15.0]]), freshness)
+
+        expect:
+        table.top(firstDay, standard, 5)*.location() == [bridgetown, jastarnia]
+        table.top(firstDay, pro, 5)*.location() == [bridgetown]
+        table.top(secondDay, standard, 5).isEmpty()
+        table.top(secondDay, pro, 5)*.score() == [110.0d]
+
+        and:
+        table.best(firstDay, pro).get().score() == 72.5d
+        table.best(firstDay, pro).get().forecast() == new DailyForecast("2025-10-01", 25.0, 15.0)
+    }
+
+    def "should bump the version on every change"() {
+        given:
+        def versions = [table.version()]
+
+        when:
+        table.markReady()
+        versions << table.version()
+        table.update(jastarnia, forecast(["2025-10-01": [20.0, 10.0]]), freshness)
+        versions << table.version()
+        table.evictBefore(firstDay)
+        versions << table.version()
+        table.evictBefore(secondDay)
+        versions << table.version()
+        table.handleLocationsReloaded(new LocationsReloadedEvent(2, [], [jastarnia]))
+        versions << table.version()
+
+        then:
+        versions == [0L, 1L, 2L, 2L, 3L, 4L]
+    }
+
+    private static ForecastSeries forecast(Map<String, List<Double>> days) {
+        ForecastSeries.of(days.collect { date, values -> new DailyForecast(date, values[0], values[1]) })
+    }
+}
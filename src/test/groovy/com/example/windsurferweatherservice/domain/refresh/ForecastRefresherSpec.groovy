@@ -0,0 +1,221 @@
+package com.example.windsurferweatherservice.domain.refresh
+
+import com.example.windsurferweatherservice.application.controller.dto.DailyForecast
+import com.example.windsurferweatherservice.domain.model.ForecastSeries
+import com.example.windsurferweatherservice.domain.model.Freshness
+import com.example.windsurferweatherservice.domain.model.Location
+import com.example.windsurferweatherservice.domain.ranking.RankingTable
+import com.example.windsurferweatherservice.domain.storage.LocationStorage
+import com.example.windsurferweatherservice.domain.storage.LocationsReloadedEvent
+import com.example.windsurferweatherservice.infra.cache.CachedForecast
+import com.example.windsurferweatherservice.infra.cache.ForecastCache
+import com.example.windsurferweatherservice.infra.quota.FetchPriority
+import com.example.windsurferweatherservice.shared.config.RefreshProperties
+import org.springframework.boot.Banner
+import org.springframework.boot.WebApplicationType
+import org.springframework.boot.availability.ApplicationAvailability
+import org.springframework.boot.availability.ApplicationAvailabilityBean
+import org.springframework.boot.availability.ReadinessState
+import org.springframework.boot.builder.SpringApplicationBuilder
+import org.springframework.context.ApplicationContextInitializer
+import org.springframework.context.ConfigurableApplicationContext
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.util.concurrent.PollingConditions
+
+import java.time.Duration
+import java.time.Instant
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicReference
+
+class ForecastRefresherSpec extends Specification {
+
+    def storage = Mock(LocationStorage)
+    def forecastCache = Mock(ForecastCache)
+    def rankingTable = Mock(RankingTable)
+    def properties = new RefreshProperties(true, Duration.ofHours(1), Duration.ZERO, 2, Duration.ofMillis(500))
+
+    @Subject
+    def refresher = new ForecastRefresher(storage, forecastCache, rankingTable, properties)
+
+    @Shared
+    def jastarnia = new Location("Jastarnia", "Poland", 54.7, 18.67),
+        bridgetown = new Location("Bridgetown", "Barbados", 13.1, -59.6),
+        fortaleza = new Location("Fortaleza", "Brazil", -3.7, -38.5)
+
+    @Shared
+    def forecast = ForecastSeries.of([new DailyForecast("2025-10-01", 20.0, 10.0)])
+
+    @Shared
+    def freshness = new Freshness(Instant.now(), Instant.now().plus(Duration.ofHours(3)))
+
+    @Shared
+    def cached = new CachedForecast(forecast, freshness)
+
+    def setup() {
+        forecastCache.freshFor(_, _, _) >> Optional.empty()
+    }
+
+    def cleanup() {
+        refresher.shutdown()
+    }
+
+    def "sweep should refresh every configured location"() {
+        given:
+        storage.findAll() >> [jastarnia, bridgetown, fortaleza]
+
+        when:
+        def refreshed = refresher.sweep(Duration.ZERO, Duration.ofSeconds(5))
+
+        then:
+        1 * forecastCache.refresh(54.7, 18.67, FetchPriority.REFRESH) >> cached
+        1 * forecastCache.refresh(13.1, -59.6, FetchPriority.REFRESH) >> cached
+        1 * forecastCache.refresh(-3.7, -38.5, FetchPriority.REFRESH) >> cached
+
+        and:
+        3 * rankingTable.update(_, forecast, freshness)
+        refreshed == 3
+    }
+
+    def "should refresh only the locations added by a catalogue reload"() {
+        given:
+        def refreshed = []
+        forecastCache.refresh(_, _, FetchPriority.WARM_UP) >> { double latitude, double longitude, priority ->
+            refreshed << latitude
+            cached
+        }
+
+        when:
+        refresher.handleLocationsReloaded(new LocationsReloadedEvent(2, [fortaleza], [bridgetown]))
+
+        then:
+        new PollingConditions(timeout: 5).eventually {
+            assert refreshed == [-3.7d]
+        }
+        0 * storage.findAll()
+    }
+
+    def "warm-up should rank restored forecasts that stay fresh until the next sweep without fetching them"() {
+        given:
+        storage.findAll() >> [jastarnia, bridgetown]
+
+        when:
+        refresher.handleApplicationStartedEvent(null)
+
+        then:
+        1 * forecastCache.freshFor(54.7, 18.67, Duration.ofHours(1)) >> Optional.of(cached)
+        0 * forecastCache.refresh(54.7, 18.67, _)
+        1 * forecastCache.refresh(13.1, -59.6, FetchPriority.WARM_UP) >> cached
+
+        and:
+        1 * rankingTable.update(jastarnia, forecast, freshness)
+        1 * rankingTable.update(bridgetown, forecast, freshness)
+        1 * rankingTable.markReady()
+    }
+
+    def "should keep refusing traffic until the warm-up sweep returned"() {
+        given:
+        def sweeping = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        storage.findAll() >> [jastarnia]
+        forecastCache.refresh(_, _, _) >> {
+            sweeping.countDown()
+            release.await()
+            cached
+        }
+
+        and: "a bare application with the refresher and the availability state Spring Boot exposes as readiness"
+        def warmingUp = new ForecastRefresher(storage, forecastCache, rankingTable,
+                new RefreshProperties(true, Duration.ofHours(1), Duration.ZERO, 2, Duration.ofSeconds(30)))
+        def context = new AtomicReference<ConfigurableApplicationContext>()
+        def application = new SpringApplicationBuilder(ApplicationAvailabilityBean)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .initializers({ ConfigurableApplicationContext created ->
+                    created.beanFactory.registerSingleton("forecastRefresher", warmingUp)
+                    context.set(created)
+                } as ApplicationContextInitializer)
+
+        when:
+        def started = CompletableFuture.supplyAsync { application.run() }
+        sweeping.await(5, TimeUnit.SECONDS)
+
+        then:
+        context.get().getBean(ApplicationAvailability).readinessState == ReadinessState.REFUSING_TRAFFIC
+
+        when:
+        release.countDown()
+        started.get(5, TimeUnit.SECONDS)
+
+        then:
+        context.get().getBean(ApplicationAvailability).readinessState == ReadinessState.ACCEPTING_TRAFFIC
+
+        cleanup:
+        release.countDown()
+        context.get()?.close()
+        warmingUp.shutdown()
+    }
+
+    def "should tell when the next sweep starts once warmed up"() {
+        given:
+        storage.findAll() >> []
+
+        expect:
+        refresher.nextSweepAt().isEmpty()
+
+        when:
+        def before = Instant.now()
+        refresher.handleApplicationStartedEvent(null)
+
+        then:
+        def nextSweepAt = refresher.nextSweepAt().get()
+        !nextSweepAt.isBefore(before.plus(properties.interval()))
+        !nextSweepAt.isAfter(Instant.now().plus(properties.interval()))
+    }
+
+    def "should let requests fetch missing forecasts until a sweep ranked a location"() {
+        given:
+        storage.findAll() >> [jastarnia]
+
+        when: "Weatherbit is down at boot"
+        refresher.handleApplicationStartedEvent(null)
+
+        then:
+        1 * forecastCache.refresh(54.7, 18.67, FetchPriority.WARM_UP) >> { throw new RuntimeException("API error") }
+        0 * rankingTable.markReady()
+        1 * forecastCache.loadMissesOnRequest(true)
+
+        when:
+        refresher.scheduledSweep()
+
+        then:
+        1 * forecastCache.refresh(54.7, 18.67, FetchPriority.REFRESH) >> cached
+        1 * rankingTable.markReady()
+        1 * forecastCache.loadMissesOnRequest(false)
+    }
+
+    def "sweep should count only locations refreshed successfully"() {
+        given:
+        storage.findAll() >> [jastarnia, bridgetown, fortaleza]
+
+        and:
+        forecastCache.refresh(54.7, 18.67, _) >> cached
+        forecastCache.refresh(13.1, -59.6, _) >> { throw new RuntimeException("API error") }
+        forecastCache.refresh(-3.7, -38.5, _) >> null
+
+        when:
+        def refreshed = refresher.sweep(Duration.ZERO, Duration.ofSeconds(5))
+
+        then:
+        refreshed == 1
+
+        and:
+        1 * rankingTable.update(jastarnia, forecast, freshness)
+        0 * rankingTable.update(bridgetown, _, _)
+        0 * rankingTable.update(fortaleza, _, _)
+    }
+}
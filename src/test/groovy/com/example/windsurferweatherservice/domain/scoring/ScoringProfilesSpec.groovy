@@ -0,0 +1,105 @@
+package com.example.windsurferweatherservice.domain.scoring
+
+import com.example.windsurferweatherservice.application.adviser.exception.UnknownScoringProfileException
+import com.example.windsurferweatherservice.application.controller.dto.DailyForecast
+import com.example.windsurferweatherservice.domain.model.ForecastSeries
+import com.example.windsurferweatherservice.shared.config.ScoringProperties
+import com.example.windsurferweatherservice.shared.config.ScoringProperties.ProfileSettings
+import spock.lang.Specification
+import spock.lang.Unroll
+
+class ScoringProfilesSpec extends Specification {
+
+    def standard = new ProfileSettings(5, 18, 5, 35, 3, 1),
+        beginner = new ProfileSettings(4, 10, 18, 35, 1, 1),
+        pro = new ProfileSettings(10, 30, 0, 35, 4, 0.5)
+
+    def profiles = new ScoringProfiles(new ScoringProperties("standard",
+            [standard: standard, beginner: beginner, pro: pro]))
+
+    def "should compile every configured profile with a fixed index"() {
+        expect:
+        profiles.all()*.name() == ["beginner", "pro", "standard"]
+        profiles.all()*.index() == [0, 1, 2]
+        profiles.size() == 3
+        profiles.defaultProfile().name() == "standard"
+    }
+
+    def "should use the standard rules when no profile is configured"() {
+        when:
+        def defaults = new ScoringProfiles(new ScoringProperties("standard", [:]))
+
+        then:
+        defaults.all() == [new ScoringProfile("standard", 0, 5, 18, 5, 35, 3, 1)]
+    }
+
+    @Unroll
+    def "should resolve '#name' to the #expected profile"() {
+        expect:
+        profiles.resolve(name).name() == expected
+
+        where:
+        name       || expected
+        null       || "standard"
+        ""         || "standard"
+        "beginner" || "beginner"
+        "pro"      || "pro"
+    }
+
+    def "should reject an unknown profile"() {
+        when:
+        profiles.resolve("expert")
+
+        then:
+        def exception = thrown(UnknownScoringProfileException)
+        exception.message == "Unknown scoring profile: expert, available: beginner, pro, standard"
+    }
+
+    @Unroll
+    def "should fail the startup when #scenario"() {
+        when:
+        new ScoringProfiles(properties)
+
+        then:
+        def exception = thrown(IllegalStateException)
+        exception.message == message
+
+        where:
+        scenario                          | properties                                                                               || message
+        "the default profile is missing"  | new ScoringProperties("kiters", [standard: new ProfileSettings(5, 18, 5, 35, 3, 1)])     || "Default scoring profile 'kiters' is not configured, available: [standard]"
+        "the wind bounds are swapped"     | new ScoringProperties("standard", [standard: new ProfileSettings(18, 5, 5, 35, 3, 1)])   || "Invalid scoring profile 'standard': minimum wind speed must not be greater than maximum wind speed"
+        "the temperature bounds are swapped" | new ScoringProperties("standard", [standard: new ProfileSettings(5, 18, 35, 5, 3, 1)]) || "Invalid scoring profile 'standard': minimum temperature must not be greater than maximum temperature"
+    }
+
+    @Unroll
+    def "standard profile should evaluate wind=#wind and temp=#temp to #expected"() {
+        expect:
+        profiles.resolve("standard").evaluate(temp, wind) == expected
+
+        where:
+        wind | temp || expected
+        10.0 | 20.0 || 50.0d
+        5.0  | 5.0  || 20.0d
+        18.0 | 35.0 || 89.0d
+        4.9  | 20.0 || Double.NaN
+        18.1 | 20.0 || Double.NaN
+        10.0 | 4.0  || Double.NaN
+        10.0 | 35.1 || Double.NaN
+    }
+
+    def "should score every day with every profile in one pass"() {
+        given:
+        def forecast = ForecastSeries.of([
+                new DailyForecast("2025-10-01", 20.0, 8.0),
+                new DailyForecast("2025-10-03", 25.0, 15.0)])
+        def scores = new double[profiles.size() * forecast.size()]
+
+        when:
+        profiles.evaluate(forecast, scores)
+
+        then: "beginner, pro and standard, each over 2025-10-01, a missing 2025-10-02 and 2025-10-03"
+        scores as List == [28.0d, Double.NaN, Double.NaN,
+                           Double.NaN, Double.NaN, 72.5d,
+                           44.0d, Double.NaN, 70.0d]
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.windsurferweatherservice.domain.service
+
+import com.example.windsurferweatherservice.application.controller.dto.DailyForecast
+import com.example.windsurferweatherservice.application.controller.dto.LocationForecast
+import com.example.windsurferweatherservice.application.controller.response.WindsurfingResponse
+import com.example.windsurferweatherservice.domain.model.ForecastSeries
+import com.example.windsurferweatherservice.domain.model.Freshness
+import com.example.windsurferweatherservice.domain.model.Location
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfile
+import com.example.windsurferweatherservice.domain.storage.LocationStorage
+import com.example.windsurferweatherservice.domain.validator.WeatherValidator
+import com.example.windsurferweatherservice.infra.cache.CachedForecast
+import com.example.windsurferweatherservice.infra.cache.ForecastCache
+import reactor.core.publisher.Flux
+import reactor.core.publisher.Mono
+import reactor.test.StepVerifier
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.time.Instant
+import java.time.LocalDate
+
+class ReactiveWindsurfingServiceImplSpec extends Specification {
+
+    def storage = Mock(LocationStorage)
+    def forecastCache = Mock(ForecastCache)
+
+    @Subject
+    def service = new ReactiveWindsurfingServiceImpl(storage, forecastCache, new WeatherValidator())
+
+    @Shared
+    def profile = new ScoringProfile("standard", 0, 5, 18, 5, 35, 3, 1)
+
+    @Shared
+    def jastarnia = new Location("Jastarnia", "Poland", 54.7, 18.67),
+        bridgetown = new Location("Bridgetown", "Barbados", 13.1, -59.6),
+        fortaleza = new Location("Fortaleza", "Brazil", -3.7, -38.5)
+
+    @Shared
+    def date = LocalDate.of(2025, 10, 1)
+
+    def "should get the forecast of the day from the cache with its freshness"() {
+        given:
+        def forecast = new DailyForecast("2025-10-01", 20.0, 10.0)
+        def freshness = new Freshness(Instant.parse("2025-10-01T06:00:00Z"), Instant.parse("2025-10-01T09:00:00Z"))
+        forecastCache.cachedForecast(54.7, 18.67) >> Mono.just(new CachedForecast(ForecastSeries.of([forecast]), freshness))
+
+        expect:
+        StepVerifier.create(service.getForecastForDate(jastarnia, date))
+                .expectNext(new LocationForecast(jastarnia, 20.0, 10.0, freshness))
+                .verifyComplete()
+    }
+
+    def "should complete empty when the forecast cannot be fetched"() {
+        given:
+        forecastCache.cachedForecast(_, _) >> Mono.error(new RuntimeException("API error"))
+
+        expect:
+        StepVerifier.create(service.getForecastForDate(jastarnia, date)).verifyComplete()
+    }
+
+    def "should pick the suitable location with the highest score"() {
+        given:
+        def forecasts = Flux.just(
+                forecastOf(jastarnia, 20.0, 10.0),
+                forecastOf(bridgetown, 25.0, 15.0),
+                forecastOf(fortaleza, 30.0, 25.0))
+
+        expect:
+        StepVerifier.create(service.findBestSuitableLocation(forecasts, date, profile))
+                .expectNext(new WindsurfingResponse("Bridgetown", "Barbados", date, 25.0, 15.0))
+                .verifyComplete()
+    }
+
+    def "should rank the suitable locations best first up to the limit"() {
+        given:
+        def forecasts = Flux.just(
+                forecastOf(jastarnia, 20.0, 10.0),
+                forecastOf(bridgetown, 25.0, 15.0),
+                forecastOf(fortaleza, 22.0, 12.0))
+
+        expect:
+        StepVerifier.create(service.findTopSuitableLocations(forecasts, date, 2, profile).map { it.location() })
+                .expectNext("Bridgetown", "Fortaleza")
+                .verifyComplete()
+    }
+
+    private static LocationForecast forecastOf(Location location, double temperature, double windSpeed) {
+        new LocationForecast(location, temperature, windSpeed, null)
+    }
+}
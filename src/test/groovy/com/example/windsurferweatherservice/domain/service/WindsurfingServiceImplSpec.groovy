@@ -1,38 +1,47 @@
 package com.example.windsurferweatherservice.domain.service
 
-import com.example.windsurferweatherservice.infra.WeatherBitClient
 import com.example.windsurferweatherservice.application.controller.dto.DailyForecast
 import com.example.windsurferweatherservice.application.controller.dto.LocationForecast
-import com.example.windsurferweatherservice.application.controller.dto.WeatherForecast
+import com.example.windsurferweatherservice.domain.model.ForecastSeries
+import com.example.windsurferweatherservice.domain.model.Freshness
 import com.example.windsurferweatherservice.domain.model.Location
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfile
 import com.example.windsurferweatherservice.domain.storage.LocationStorage
 import com.example.windsurferweatherservice.domain.validator.WeatherValidator
+import com.example.windsurferweatherservice.infra.cache.CachedForecast
+import com.example.windsurferweatherservice.infra.cache.ForecastCache
 import spock.lang.Shared
 import spock.lang.Specification
 import spock.lang.Subject
 import spock.lang.Unroll
 
+import java.time.Instant
 import java.time.LocalDate
 
 class WindsurfingServiceImplSpec extends Specification {
 
     def repository = Mock(LocationStorage)
-    def weatherBitClient = Mock(WeatherBitClient)
+    def forecastCache = Mock(ForecastCache)
     def weatherValidator = Mock(WeatherValidator)
 
     @Subject
-    def service = new WindsurfingServiceImpl(repository, weatherBitClient, weatherValidator)
+    def service = new WindsurfingServiceImpl(repository, forecastCache, weatherValidator)
+
+    @Shared
+    def profile = new ScoringProfile("standard", 0, 5, 18, 5, 35, 3, 1)
 
     @Shared
     def jastarnia = new Location("Jastarnia", "Poland", 54.7, 18.67),
         bridgetown = new Location("Bridgetown", "Barbados", 13.1, -59.6),
         fortaleza = new Location("Fortaleza", "Brazil", -3.7, -38.5)
 
+    @Shared
+    def freshness = new Freshness(Instant.parse("2025-10-01T06:00:00Z"), Instant.parse("2025-10-01T09:00:00Z"))
+
     @Shared
     def jastarniaDailyForecast = new DailyForecast("2025-10-01", 20.0, 10.0),
         bridgetownDailyForecast = new DailyForecast("2025-10-01", 25.0, 15.0)
 
-
     def "getAllLocations should return all locations from repository"() {
         given:
         def locations = [jastarnia, bridgetown, fortaleza]
@@ -59,7 +68,7 @@ class WindsurfingServiceImplSpec extends Specification {
         ]
 
         and:
-        weatherBitClient.getForecast(_, _) >> new WeatherForecast(forecasts, locationName, countryCode)
+        forecastCache.getCachedForecast(_, _) >> new CachedForecast(ForecastSeries.of(forecasts), freshness)
         weatherValidator.isForecastValid(_) >> true
 
 
@@ -68,9 +77,10 @@ class WindsurfingServiceImplSpec extends Specification {
 
         then:
         result.isPresent()
-        result.get().validDate() == dateStr
-        result.get().temp() == expectedTemp
-        result.get().windSpd() == expectedWind
+        result.get().location() == location
+        result.get().freshness() == freshness
+        result.get().temperature() == expectedTemp
+        result.get().windSpeed() == expectedWind
 
         where:
         location   | locationName | countryCode | dateStr      | expectedTemp | expectedWind
@@ -79,14 +89,25 @@ class WindsurfingServiceImplSpec extends Specification {
         fortaleza  | "Fortaleza"  | "Brazil"    | "2025-10-03" | 18.0d        | 8.0d
     }
 
+    def "getForecastForDate should return empty when the date is not forecast"() {
+        given:
+        def jastarniaForecastSeries = ForecastSeries.of([jastarniaDailyForecast])
+        forecastCache.getCachedForecast(_, _) >> new CachedForecast(jastarniaForecastSeries, freshness)
+        weatherValidator.isForecastValid(_) >> true
+
+        expect:
+        service.getForecastForDate(jastarnia, LocalDate.of(2025, 10, 2)).isEmpty()
+        service.getForecastForDate(jastarnia, LocalDate.of(2025, 9, 30)).isEmpty()
+    }
+
     def "getForecastForDate should return empty when forecast is invalid"() {
         given:
         def date = LocalDate.of(2025, 10, 01)
-        def jastarniaWeatherForecast = new WeatherForecast([jastarniaDailyForecast], "Jastarnia", "Poland")
+        def jastarniaForecastSeries = ForecastSeries.of([jastarniaDailyForecast])
 
 
         and:
-        weatherBitClient.getForecast(_, _) >> jastarniaWeatherForecast
+        forecastCache.getCachedForecast(_, _) >> new CachedForecast(jastarniaForecastSeries, freshness)
         weatherValidator.isForecastValid(_) >> false
 
         when:
@@ -101,7 +122,7 @@ class WindsurfingServiceImplSpec extends Specification {
         def date = LocalDate.of(2025, 10, 1)
 
         and:
-        weatherBitClient.getForecast(_, _) >> { throw new RuntimeException("API error") }
+        forecastCache.getCachedForecast(_, _) >> { throw new RuntimeException("API error") }
 
         when:
         def result = service.getForecastForDate(jastarnia, date)
@@ -116,24 +137,24 @@ class WindsurfingServiceImplSpec extends Specification {
         def forecast2 = new DailyForecast("2025-10-01", 25.0, 15.0)
         def forecast3 = new DailyForecast("2025-10-01", 30.0, 8.0)
         def locationForecasts = [
-                new LocationForecast(jastarnia, Optional.of(forecast1)),
-                new LocationForecast(bridgetown, Optional.of(forecast2)),
-                new LocationForecast(fortaleza, Optional.of(forecast3))
+                new LocationForecast(jastarnia, forecast1.temp(), forecast1.windSpd(), null),
+                new LocationForecast(bridgetown, forecast2.temp(), forecast2.windSpd(), null),
+                new LocationForecast(fortaleza, forecast3.temp(), forecast3.windSpd(), null)
         ]
         def date = LocalDate.of(2025, 10, 1)
 
         and:
-        weatherValidator.isSuitableForWindsurfing(Optional.of(forecast1)) >> true
-        weatherValidator.isSuitableForWindsurfing(Optional.of(forecast2)) >> true
-        weatherValidator.isSuitableForWindsurfing(Optional.of(forecast3)) >> true
+        weatherValidator.isSuitableForWindsurfing(forecast1.temp(), forecast1.windSpd(), profile) >> true
+        weatherValidator.isSuitableForWindsurfing(forecast2.temp(), forecast2.windSpd(), profile) >> true
+        weatherValidator.isSuitableForWindsurfing(forecast3.temp(), forecast3.windSpd(), profile) >> true
 
         and:
-        weatherValidator.calculateScore(Optional.of(forecast1)) >> 50.0
-        weatherValidator.calculateScore(Optional.of(forecast2)) >> 70.0
-        weatherValidator.calculateScore(Optional.of(forecast3)) >> 60.0
+        weatherValidator.calculateScore(forecast1.temp(), forecast1.windSpd(), profile) >> 50.0
+        weatherValidator.calculateScore(forecast2.temp(), forecast2.windSpd(), profile) >> 70.0
+        weatherValidator.calculateScore(forecast3.temp(), forecast3.windSpd(), profile) >> 60.0
 
         when:
-        def result = service.findBestSuitableLocation(locationForecasts, date)
+        def result = service.findBestSuitableLocation(locationForecasts, date, profile)
 
         then:
         result.isPresent()
@@ -147,20 +168,53 @@ class WindsurfingServiceImplSpec extends Specification {
     def "findBestSuitableLocation should return empty when no suitable locations"() {
         given:
         def forecast = new DailyForecast("2025-10-01", 20.0, 10.0)
-        def locationForecasts = [new LocationForecast(jastarnia, Optional.of(forecast))]
+        def locationForecasts = [new LocationForecast(jastarnia, forecast.temp(), forecast.windSpd(), null)]
         def date = LocalDate.of(2025, 10, 1)
 
         and:
-        weatherValidator.isSuitableForWindsurfing(_) >> false
+        weatherValidator.isSuitableForWindsurfing(_, _, profile) >> false
 
         when:
-        def result = service.findBestSuitableLocation(locationForecasts, date)
+        def result = service.findBestSuitableLocation(locationForecasts, date, profile)
 
         then:
         !result.isPresent()
     }
 
 
+    def "findTopSuitableLocations should return suitable locations best first up to the limit"() {
+        given:
+        def forecast1 = new DailyForecast("2025-10-01", 20.0, 10.0)
+        def forecast2 = new DailyForecast("2025-10-01", 25.0, 15.0)
+        def forecast3 = new DailyForecast("2025-10-01", 30.0, 8.0)
+        def locationForecasts = [
+                new LocationForecast(jastarnia, forecast1.temp(), forecast1.windSpd(), null),
+                new LocationForecast(bridgetown, forecast2.temp(), forecast2.windSpd(), null),
+                new LocationForecast(fortaleza, forecast3.temp(), forecast3.windSpd(), null)
+        ]
+        def date = LocalDate.of(2025, 10, 1)
+
+        and:
+        weatherValidator.isSuitableForWindsurfing(forecast1.temp(), forecast1.windSpd(), profile) >> true
+        weatherValidator.isSuitableForWindsurfing(forecast2.temp(), forecast2.windSpd(), profile) >> false
+        weatherValidator.isSuitableForWindsurfing(forecast3.temp(), forecast3.windSpd(), profile) >> true
+
+        and:
+        weatherValidator.calculateScore(forecast1.temp(), forecast1.windSpd(), profile) >> 50.0
+        weatherValidator.calculateScore(forecast3.temp(), forecast3.windSpd(), profile) >> 60.0
+
+        when:
+        def result = service.findTopSuitableLocations(locationForecasts, date, limit, profile)
+
+        then:
+        result*.location() == expected
+
+        where:
+        limit || expected
+        1     || ["Fortaleza"]
+        5     || ["Fortaleza", "Jastarnia"]
+    }
+
     @Unroll
     def "buildResponse should return correct WindsurfingResponse"() {
         given:
@@ -168,7 +222,8 @@ class WindsurfingServiceImplSpec extends Specification {
         def date = LocalDate.of(2025, 10, 01)
 
         when:
-        def result = service.buildResponse(location, Optional.of(forecast), date)
+        def result = service.buildResponse(
+                new LocationForecast(location, forecast.temp(), forecast.windSpd(), null), date)
 
         then:
         result.location() == location.name()
@@ -185,4 +240,20 @@ class WindsurfingServiceImplSpec extends Specification {
 
     }
 
+    def "buildResponse should report freshness of the forecast it was fetched with"() {
+        given:
+        def forecast = new DailyForecast("2025-10-01", 20.0, 10.0)
+
+        when:
+        def result = service.buildResponse(
+                new LocationForecast(jastarnia, forecast.temp(), forecast.windSpd(), freshness),
+                LocalDate.of(2025, 10, 1))
+
+        then:
+        0 * forecastCache._
+
+        and:
+        result.freshness() == freshness
+        result.freshness().isStale()
+    }
 }
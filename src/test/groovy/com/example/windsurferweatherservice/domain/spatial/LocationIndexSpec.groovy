@@ -0,0 +1,84 @@
+package com.example.windsurferweatherservice.domain.spatial
+
+import com.example.windsurferweatherservice.domain.model.Location
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Unroll
+
+class LocationIndexSpec extends Specification {
+
+    @Shared
+    def jastarnia = new Location("Jastarnia", "Poland", 54.6966, 18.6783),
+        hel = new Location("Hel", "Poland", 54.6081, 18.8011),
+        leba = new Location("Leba", "Poland", 54.7597, 17.5561),
+        pissouri = new Location("Pissouri", "Cyprus", 34.6693, 32.7041),
+        suva = new Location("Suva", "Fiji", -18.1416, 178.4419),
+        taveuni = new Location("Taveuni", "Fiji", -16.8, -179.9)
+
+    @Subject
+    def index = LocationIndex.of([jastarnia, hel, leba, pissouri, suva, taveuni])
+
+    def "should return locations within the radius nearest first"() {
+        when:
+        def result = index.withinRadius(54.70, 18.67, 100)
+
+        then:
+        result == [jastarnia, hel, leba]
+    }
+
+    @Unroll
+    def "should find #expected within #radiusKm km of Jastarnia"() {
+        expect:
+        index.withinRadius(54.6966, 18.6783, radiusKm)*.name() == expected
+
+        where:
+        radiusKm | expected
+        1        | ["Jastarnia"]
+        15       | ["Jastarnia", "Hel"]
+        80       | ["Jastarnia", "Hel", "Leba"]
+    }
+
+    def "should find locations across the antimeridian"() {
+        expect:
+        index.withinRadius(-17.5, 179.5, 300)*.name() as Set == ["Suva", "Taveuni"] as Set
+        index.withinBox(new BoundingBox(-20, 178, -15, -179))*.name() as Set == ["Suva", "Taveuni"] as Set
+    }
+
+    def "should return locations inside the bounding box"() {
+        expect:
+        index.withinBox(new BoundingBox(54.5, 18.0, 55.0, 19.0)) as Set == [jastarnia, hel] as Set
+        index.withinBox(new BoundingBox(30, 30, 40, 40)) == [pissouri]
+        index.withinBox(new BoundingBox(0, 0, 10, 10)).isEmpty()
+    }
+
+    def "should cover all longitudes when the radius reaches a pole"() {
+        when:
+        def box = BoundingBox.around(85, 0, 1000)
+
+        then:
+        box.maxLatitude() == 90
+        box.minLongitude() == -180
+        box.maxLongitude() == 180
+    }
+
+    def "should agree with a full scan for random points"() {
+        given:
+        def random = new Random(42)
+        def locations = (1..2000).collect {
+            new Location("Spot $it", "Nowhere", random.nextDouble() * 170 - 85, random.nextDouble() * 360 - 180)
+        }
+        def bigIndex = LocationIndex.of(locations)
+
+        expect:
+        (1..50).every {
+            def latitude = random.nextDouble() * 170 - 85
+            def longitude = random.nextDouble() * 360 - 180
+            def radiusKm = random.nextDouble() * 2000
+            def expected = locations.findAll {
+                GeoDistance.haversineKm(latitude, longitude, it.latitude(), it.longitude()) <= radiusKm
+            }
+            bigIndex.withinRadius(latitude, longitude, radiusKm) as Set == expected as Set
+        }
+    }
+}
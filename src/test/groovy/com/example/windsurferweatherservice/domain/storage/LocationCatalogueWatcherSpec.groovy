@@ -0,0 +1,57 @@
+package com.example.windsurferweatherservice.domain.storage
+
+import com.example.windsurferweatherservice.shared.config.CatalogueProperties
+import org.springframework.boot.context.event.ApplicationStartedEvent
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.util.concurrent.PollingConditions
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Duration
+
+class LocationCatalogueWatcherSpec extends Specification {
+
+    def storage = Mock(LocationStorage)
+
+    @TempDir
+    Path directory
+
+    def "should reload once after a burst of changes to the catalogue file"() {
+        given:
+        def file = directory.resolve("locations.json")
+        Files.writeString(file, "{}")
+        def watcher = new LocationCatalogueWatcher(storage, new CatalogueProperties(file.toString(), true, Duration.ofMillis(300)))
+        watcher.handleApplicationStartedEvent(Mock(ApplicationStartedEvent))
+
+        when:
+        3.times { Files.writeString(file, "{\"revision\": $it}") }
+        Files.writeString(directory.resolve("other.json"), "{}")
+
+        then:
+        new PollingConditions(timeout: 10).eventually {
+            assert reloads == 1
+        }
+
+        cleanup:
+        watcher.shutdown()
+    }
+
+    def "should not watch a classpath catalogue"() {
+        given:
+        def watcher = new LocationCatalogueWatcher(storage,
+                new CatalogueProperties("classpath:data/locations.json", true, Duration.ofMillis(100)))
+
+        when:
+        watcher.handleApplicationStartedEvent(Mock(ApplicationStartedEvent))
+
+        then:
+        watcher.watchService == null
+    }
+
+    private int reloads = 0
+
+    def setup() {
+        storage.reload() >> { reloads++; true }
+    }
+}
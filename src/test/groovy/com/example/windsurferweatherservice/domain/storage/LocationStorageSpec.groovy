@@ -2,13 +2,18 @@ package com.example.windsurferweatherservice.domain.storage
 
 import com.example.windsurferweatherservice.application.adviser.exception.NoAvailableLocationsException
 import com.example.windsurferweatherservice.domain.model.Location
+import com.example.windsurferweatherservice.domain.spatial.BoundingBox
+import com.example.windsurferweatherservice.shared.loader.LocationsConfiguration
 import com.example.windsurferweatherservice.shared.loader.LocationsDataLoader
+import org.springframework.boot.context.event.ApplicationStartedEvent
+import org.springframework.context.ApplicationEventPublisher
 import spock.lang.Specification
 
 class LocationStorageSpec extends Specification {
 
     def dataLoader = Mock(LocationsDataLoader)
-    def storage = new LocationStorage(dataLoader)
+    def eventPublisher = Mock(ApplicationEventPublisher)
+    def storage = new LocationStorage(dataLoader, eventPublisher)
 
 
     def "should load and return all locations on application started event"() {
@@ -20,9 +25,10 @@ class LocationStorageSpec extends Specification {
         ]
 
         and:
-        storage.locations.addAll(locations)
+        dataLoader.load() >> configuration(locations.collect { [it.name(), it.country(), it.latitude(), it.longitude()] })
 
         when:
+        storage.handleApplicationStartingEvent(Mock(ApplicationStartedEvent))
         def result = storage.findAll()
 
 
@@ -34,13 +40,14 @@ class LocationStorageSpec extends Specification {
             assert location.latitude() == locations[i].latitude()
             assert location.longitude() == locations[i].longitude()
         }
+
+        and:
+        storage.snapshot().version() == 1
+        0 * eventPublisher.publishEvent(_)
     }
 
 
     def "should throw exception when loaded locations list is empty"() {
-        given:
-        storage.locations.clear()
-
         when:
         storage.findAll()
 
@@ -48,4 +55,87 @@ class LocationStorageSpec extends Specification {
         def exception = thrown(NoAvailableLocationsException)
         exception.message == "No locations configured in the system"
     }
+
+    def "should index loaded locations for radius and bounding box queries"() {
+        given:
+        dataLoader.load() >> configuration([
+                ["Jastarnia", "Poland", 54.6966, 18.6783],
+                ["Hel", "Poland", 54.6081, 18.8011],
+                ["Bridgetown", "Barbados", 13.0969, -59.6145]
+        ])
+
+        when:
+        storage.handleApplicationStartingEvent(Mock(ApplicationStartedEvent))
+
+        then:
+        storage.findWithinRadius(54.70, 18.68, 20)*.name() == ["Jastarnia", "Hel"]
+        storage.findWithinRadius(54.70, 18.68, 1)*.name() == ["Jastarnia"]
+        storage.findWithinBox(new BoundingBox(10, -60, 15, -59))*.name() == ["Bridgetown"]
+        storage.findWithinRadius(0, 0, 100).isEmpty()
+    }
+
+    def "should throw exception on nearby query when no locations are loaded"() {
+        when:
+        storage.findWithinRadius(54.70, 18.68, 20)
+
+        then:
+        thrown(NoAvailableLocationsException)
+    }
+
+    def "should publish a new snapshot and announce added and removed locations on reload"() {
+        given:
+        dataLoader.load() >>> [
+                configuration([["Jastarnia", "Poland", 54.7, 18.67], ["Bridgetown", "Barbados", 13.1, -59.6]]),
+                configuration([["Jastarnia", "Poland", 54.7, 18.67], ["Fortaleza", "Brazil", -3.7, -38.5]])
+        ]
+        storage.handleApplicationStartingEvent(Mock(ApplicationStartedEvent))
+        def first = storage.snapshot()
+
+        when:
+        def reloaded = storage.reload()
+
+        then:
+        1 * eventPublisher.publishEvent({ LocationsReloadedEvent event ->
+            event.version() == 2 && event.added()*.name() == ["Fortaleza"] && event.removed()*.name() == ["Bridgetown"]
+        })
+
+        and:
+        reloaded
+        storage.snapshot().version() == 2
+        storage.findAll()*.name() == ["Jastarnia", "Fortaleza"]
+        first.index().all()*.name() == ["Jastarnia", "Bridgetown"]
+    }
+
+    def "should keep the current snapshot when a reload fails"() {
+        given:
+        dataLoader.load() >> configuration([["Jastarnia", "Poland", 54.7, 18.67]]) >> { throw new IllegalStateException("broken") }
+        storage.handleApplicationStartingEvent(Mock(ApplicationStartedEvent))
+
+        when:
+        def reloaded = storage.reload()
+
+        then:
+        !reloaded
+        storage.snapshot().version() == 1
+        storage.findAll()*.name() == ["Jastarnia"]
+        0 * eventPublisher.publishEvent(_)
+    }
+
+    def "should drop duplicate entries"() {
+        given:
+        dataLoader.load() >> configuration([["Jastarnia", "Poland", 54.7, 18.67], ["Jastarnia", "Poland", 54.7, 18.67]])
+
+        when:
+        storage.handleApplicationStartingEvent(Mock(ApplicationStartedEvent))
+
+        then:
+        storage.findAll().size() == 1
+    }
+
+    private static LocationsConfiguration configuration(List<List> locations) {
+        new LocationsConfiguration(locations: locations.collect { name, country, latitude, longitude ->
+            new LocationsConfiguration.LocationConfiguration(name: name, country: country,
+                    latitude: latitude, longitude: longitude)
+        })
+    }
 }
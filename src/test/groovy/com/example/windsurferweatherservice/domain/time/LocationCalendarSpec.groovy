@@ -0,0 +1,90 @@
+package com.example.windsurferweatherservice.domain.time
+
+import com.example.windsurferweatherservice.domain.model.Location
+import com.example.windsurferweatherservice.domain.spatial.LocationIndex
+import com.example.windsurferweatherservice.domain.storage.LocationSnapshot
+import com.example.windsurferweatherservice.domain.storage.LocationStorage
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Instant
+import java.time.LocalDate
+import java.time.ZoneId
+import java.time.ZoneOffset
+
+class LocationCalendarSpec extends Specification {
+
+    def jastarnia = new Location("Jastarnia", "Poland", 54.7, 18.67, ZoneId.of("Europe/Warsaw")),
+        leMorne = new Location("Le Morne", "Mauritius", -20.45, 57.31, ZoneId.of("Indian/Mauritius")),
+        bridgetown = new Location("Bridgetown", "Barbados", 13.1, -59.6, ZoneId.of("America/Barbados"))
+
+    def now = Instant.parse("2025-09-30T21:00:00Z")
+    def clock = Stub(Clock) {
+        instant() >> { now }
+        getZone() >> ZoneOffset.UTC
+    }
+
+    def storage = Stub(LocationStorage) {
+        snapshot() >> new LocationSnapshot(1, Instant.EPOCH, LocationIndex.of([jastarnia, leMorne, bridgetown]))
+    }
+
+    def calendar = new LocationCalendar(storage, clock)
+
+    def "should leave out only the locations where the date is over already"() {
+        given: "23:00 on September 30 in Poland, 01:00 on October 1 in Mauritius, 17:00 on September 30 in Barbados"
+        def open = calendar.openOn(LocalDate.of(2025, 9, 30))
+
+        expect:
+        [jastarnia, leMorne, bridgetown].findAll { open.test(it) } == [jastarnia, bridgetown]
+        calendar.earliestToday() == LocalDate.of(2025, 9, 30)
+    }
+
+    def "should not test any location for dates that are not over anywhere"() {
+        expect:
+        calendar.openOn(LocalDate.of(2025, 10, 1)) == null
+        calendar.openOn(LocalDate.of(2025, 10, 7)) == null
+    }
+
+    def "should move today forward once the date is over at every location"() {
+        when: "midnight in Barbados"
+        now = Instant.parse("2025-10-01T04:00:00Z")
+
+        then:
+        calendar.earliestToday() == LocalDate.of(2025, 10, 1)
+        [jastarnia, leMorne, bridgetown].every { !calendar.openOn(LocalDate.of(2025, 9, 30)).test(it) }
+    }
+
+    def "should tell the last and the next date change at any of the locations"() {
+        expect: "midnight in Mauritius an hour ago, in Poland in an hour"
+        calendar.lastDateChange() == Instant.parse("2025-09-30T20:00:00Z")
+        calendar.nextDateChange() == Instant.parse("2025-09-30T22:00:00Z")
+
+        when:
+        now = Instant.parse("2025-09-30T22:30:00Z")
+
+        then:
+        calendar.lastDateChange() == Instant.parse("2025-09-30T22:00:00Z")
+        calendar.nextDateChange() == Instant.parse("2025-10-01T04:00:00Z")
+    }
+
+    def "should judge by the earliest zone on earth while no location is loaded"() {
+        given:
+        def empty = new LocationCalendar(Stub(LocationStorage) {
+            snapshot() >> new LocationSnapshot(0, Instant.EPOCH, LocationIndex.of([]))
+        }, clock)
+
+        expect:
+        empty.earliestToday() == LocalDate.of(2025, 9, 30)
+    }
+
+    def "should share the table of a zone until the instant leaves its window"() {
+        given:
+        def warsaw = ZoneId.of("Europe/Warsaw")
+        def table = calendar.table(warsaw, now)
+
+        expect:
+        calendar.table(warsaw, now.plusSeconds(3_600)).is(table)
+        !calendar.table(warsaw, Instant.parse("2027-01-01T00:00:00Z")).is(table)
+        !new LocationCalendar(storage, clock).table(warsaw, now).is(calendar.table(warsaw, now))
+    }
+}
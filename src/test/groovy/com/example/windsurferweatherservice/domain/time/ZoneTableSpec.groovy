@@ -0,0 +1,41 @@
+package com.example.windsurferweatherservice.domain.time
+
+import spock.lang.Specification
+
+import java.time.Instant
+import java.time.LocalDate
+import java.time.ZoneId
+
+class ZoneTableSpec extends Specification {
+
+    def warsaw = ZoneId.of("Europe/Warsaw")
+
+    def "should tell the local date across daylight saving time transitions"() {
+        given:
+        def table = ZoneTable.build(warsaw, Instant.parse("2025-10-01T00:00:00Z"))
+
+        expect: "UTC+2 until the last Sunday of October, UTC+1 afterwards"
+        table.epochDay(epochSecond("2025-10-01T21:59:59Z")) == day("2025-10-01")
+        table.epochDay(epochSecond("2025-10-01T22:00:00Z")) == day("2025-10-02")
+        table.epochDay(epochSecond("2025-11-01T22:59:59Z")) == day("2025-11-01")
+        table.epochDay(epochSecond("2025-11-01T23:00:00Z")) == day("2025-11-02")
+        table.epochDay(epochSecond("2026-07-01T22:00:00Z")) == day("2026-07-02")
+    }
+
+    def "should fall back to the zone rules outside its window"() {
+        given:
+        def table = ZoneTable.build(warsaw, Instant.parse("2025-10-01T00:00:00Z"))
+
+        expect:
+        table.epochDay(epochSecond("2024-07-01T22:00:00Z")) == day("2024-07-02")
+        table.epochDay(epochSecond("2030-01-01T22:59:59Z")) == day("2030-01-01")
+    }
+
+    private static long epochSecond(String instant) {
+        Instant.parse(instant).epochSecond
+    }
+
+    private static long day(String date) {
+        LocalDate.parse(date).toEpochDay()
+    }
+}
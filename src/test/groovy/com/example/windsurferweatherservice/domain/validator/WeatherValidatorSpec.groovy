@@ -1,7 +1,9 @@
 package com.example.windsurferweatherservice.domain.validator
 
 import com.example.windsurferweatherservice.application.controller.dto.DailyForecast
-import com.example.windsurferweatherservice.application.controller.dto.WeatherForecast
+import com.example.windsurferweatherservice.domain.model.ForecastSeries
+import com.example.windsurferweatherservice.domain.scoring.ScoringProfile
+import spock.lang.Shared
 import spock.lang.Specification
 import spock.lang.Subject
 import spock.lang.Unroll
@@ -11,13 +13,13 @@ class WeatherValidatorSpec extends Specification {
     @Subject
     def validator = new WeatherValidator()
 
+    @Shared
+    def standard = new ScoringProfile("standard", 0, 5, 18, 5, 35, 3, 1),
+        pro = new ScoringProfile("pro", 1, 10, 30, 0, 35, 4, 0.5)
+
     def "isForecastValid should return true when forecast is valid"() {
         given:
-        def forecast = new WeatherForecast(
-                [new DailyForecast("2025-10-01", 20.0, 10.0)],
-                "Jastarnia",
-                "Poland"
-        )
+        def forecast = ForecastSeries.of([new DailyForecast("2025-10-01", 20.0, 10.0)])
 
         when:
         def result = validator.isForecastValid(forecast)
@@ -37,8 +39,7 @@ class WeatherValidatorSpec extends Specification {
         where:
         scenario        | forecast
         "null"          | null
-        "null data"     | new WeatherForecast(null, "Location", "Country")
-        "empty data"    | new WeatherForecast(Collections.emptyList(), "Location", "Country")
+        "empty"         | ForecastSeries.of(Collections.emptyList())
     }
 
     @Unroll
@@ -47,7 +48,7 @@ class WeatherValidatorSpec extends Specification {
         def dailyForecast = new DailyForecast("2025.10.01", temp, wind)
 
         when:
-        def result = validator.isSuitableForWindsurfing(Optional.of(dailyForecast))
+        def result = validator.isSuitableForWindsurfing(Optional.of(dailyForecast), standard)
 
         then:
         result == expected
@@ -66,61 +67,36 @@ class WeatherValidatorSpec extends Specification {
 
     def "isSuitableForWindsurfing should return false when forecast is empty"() {
         when:
-        def result = validator.isSuitableForWindsurfing(Optional.empty())
+        def result = validator.isSuitableForWindsurfing(Optional.empty(), standard)
 
         then:
         result == false
     }
 
     @Unroll
-    def "should validate wind speed: #windSpeed -> #expected"() {
-        when:
-        def result = validator.isWindSpeedSuitable(windSpeed)
-
-        then:
-        result == expected
-
-        where:
-        windSpeed | expected
-        10.0      | true
-        4.9       | false
-        5.0       | true
-        18.0      | true
-        18.1      | false
-
-    }
+    def "calculateScore should return #expectedScore for wind=#wind and temp=#temp with the #profile.name() profile"() {
+        given:
+        def forecast = Optional.of(new DailyForecast("2025-10-01", temp, wind))
 
-    @Unroll
-    def "should validate temperature: #temperature -> #expected"() {
         when:
-        def result = validator.isTemperatureSuitable(temperature)
+        def result = validator.calculateScore(forecast, profile)
 
         then:
-        result == expected
+        result == expectedScore
 
         where:
-        temperature | expected
-        4.0         | false
-        5.0         | true
-        15.0        | true
-        35.0        | true
-        36.1        | false
+        profile  | wind | temp || expectedScore
+        standard | 10.0 | 20.0 || 50.0d
+        standard | 15.0 | 25.0 || 70.0d
+        pro      | 15.0 | 25.0 || 72.5d
     }
 
-    @Unroll
-    def "calculateScore should return correct score for wind=#wind and temp=#temp"() {
+    def "isSuitableForWindsurfing should apply the bounds of the given profile"() {
         given:
-        def forecast = Optional.of(new DailyForecast("2025-10-01", temp, wind))
+        def lightWind = Optional.of(new DailyForecast("2025-10-01", 20.0, 8.0))
 
-        when:
-        def result = validator.calculateScore(forecast)
-
-        then:
-        result == expectedScore
-
-        where:
-        wind | temp | expectedScore
-        10.0 | 20.0 | 50.0d
-        15.0 | 25.0 | 70.0d
+        expect:
+        validator.isSuitableForWindsurfing(lightWind, standard)
+        !validator.isSuitableForWindsurfing(lightWind, pro)
     }
 }
@@ -0,0 +1,67 @@
+package com.example.windsurferweatherservice.infra
+
+import com.example.windsurferweatherservice.shared.config.MetricsProperties
+import com.example.windsurferweatherservice.shared.metrics.ForecastMetrics
+import com.fasterxml.jackson.databind.ObjectMapper
+import com.sun.net.httpserver.HttpServer
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.http.client.reactive.ReactorClientHttpConnector
+import org.springframework.web.reactive.function.client.WebClient
+import reactor.netty.http.client.HttpClient
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Unroll
+
+import java.time.Duration
+
+class WeatherBitClientSpec extends Specification {
+
+    def registry = new SimpleMeterRegistry()
+
+    def server = HttpServer.create(new InetSocketAddress("localhost", 0), 0)
+
+    def payload = getClass().getResourceAsStream("/weatherbit/forecast-daily.json").readAllBytes()
+
+    @Subject
+    WeatherBitClient client
+
+    def setup() {
+        def webClient = WebClient.builder()
+                .baseUrl("http://localhost:${server.address.port}")
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create().responseTimeout(Duration.ofMillis(200))))
+                .build()
+        client = new WeatherBitClient(webClient, new WeatherbitForecastDecoder(new ObjectMapper()),
+                new ForecastMetrics(registry, new MetricsProperties(true)))
+    }
+
+    def cleanup() {
+        server.stop(0)
+    }
+
+    @Unroll
+    def "should record a #outcome call in the latency histogram of the spot"() {
+        given:
+        server.createContext("/forecast/daily") { exchange ->
+            Thread.sleep(delay)
+            exchange.sendResponseHeaders(status, payload.length)
+            exchange.responseBody.withCloseable { it.write(payload) }
+        }
+        server.start()
+
+        when:
+        try {
+            client.getForecast(54.6966, 18.6783)
+        } catch (RuntimeException ignored) {
+        }
+
+        then:
+        def timer = registry.get(ForecastMetrics.UPSTREAM_CALLS).tags("outcome", outcome, "location", "54.70,18.68").timer()
+        timer.count() == 1
+
+        where:
+        status | delay || outcome
+        200    | 0     || "success"
+        503    | 0     || "error"
+        200    | 1000  || "timeout"
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.windsurferweatherservice.infra
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import spock.lang.Specification
+import spock.lang.Subject
+import spock.lang.Unroll
+
+import java.io.UncheckedIOException
+import java.nio.charset.StandardCharsets
+import java.time.LocalDate
+
+class WeatherbitForecastDecoderSpec extends Specification {
+
+    @Subject
+    def decoder = new WeatherbitForecastDecoder(new ObjectMapper())
+
+    def "should decode a recorded Weatherbit payload into a series indexed by date"() {
+        given:
+        def payload = getClass().getResourceAsStream("/weatherbit/forecast-daily.json").readAllBytes()
+
+        when:
+        def series = decoder.decode(payload)
+
+        then:
+        series.size() == 7
+        series.date(0) == LocalDate.of(2025, 10, 1)
+        series.temperature(LocalDate.of(2025, 10, 2)) == 15.1d
+        series.windSpeed(LocalDate.of(2025, 10, 2)) == 12.4d
+        series.hasDay(LocalDate.of(2025, 10, 7))
+        !series.hasDay(LocalDate.of(2025, 9, 30))
+        !series.hasDay(LocalDate.of(2025, 10, 8))
+    }
+
+    def "should place unordered days by date and leave gaps empty"() {
+        given:
+        def payload = json('''{"data": [
+                {"valid_date": "2025-10-04", "temp": 18.0, "wind_spd": 8.0},
+                {"valid_date": "2025-10-01", "temp": 20.0, "wind_spd": 10.0}
+        ]}''')
+
+        when:
+        def series = decoder.decode(payload)
+
+        then:
+        series.size() == 4
+        series.temperature(LocalDate.of(2025, 10, 1)) == 20.0d
+        !series.hasDay(LocalDate.of(2025, 10, 2))
+        series.windSpeed(LocalDate.of(2025, 10, 4)) == 8.0d
+    }
+
+    def "should skip days without a temperature or wind speed"() {
+        given:
+        def payload = json('''{"data": [
+                {"valid_date": "2025-10-01", "temp": null, "wind_spd": 10.0},
+                {"valid_date": "2025-10-02", "temp": 22.0, "wind_spd": 12.0, "weather": {"code": 800}}
+        ]}''')
+
+        when:
+        def series = decoder.decode(payload)
+
+        then:
+        series.size() == 1
+        series.temperature(LocalDate.of(2025, 10, 2)) == 22.0d
+    }
+
+    def "should return an empty series when there is no data"() {
+        expect:
+        decoder.decode(json('{"city_name": "Nowhere", "data": []}')).isEmpty()
+        decoder.decode(json('{"error": "No data"}')).isEmpty()
+    }
+
+    @Unroll
+    def "should reject #scenario"() {
+        when:
+        decoder.decode(json(payload))
+
+        then:
+        thrown(UncheckedIOException)
+
+        where:
+        scenario             | payload
+        "a non-object body"  | '[]'
+        "a malformed date"   | '{"data": [{"valid_date": "2025/10/01", "temp": 20.0, "wind_spd": 10.0}]}'
+        "an invalid month"   | '{"data": [{"valid_date": "2025-13-01", "temp": 20.0, "wind_spd": 10.0}]}'
+        "a day past April"   | '{"data": [{"valid_date": "2025-04-31", "temp": 20.0, "wind_spd": 10.0}]}'
+        "February 29, 2025"  | '{"data": [{"valid_date": "2025-02-29", "temp": 20.0, "wind_spd": 10.0}]}'
+        "truncated json"     | '{"data": [{"valid_date": "2025-10-01", "temp": 20.0'
+        "too many days"      | '{"data": [{"valid_date": "2025-10-01", "temp": 20.0, "wind_spd": 10.0}, ' +
+                '{"valid_date": "2025-11-02", "temp": 20.0, "wind_spd": 10.0}]}'
+    }
+
+    def "should accept February 29 of a leap year"() {
+        when:
+        def series = decoder.decode(json('{"data": [{"valid_date": "2024-02-29", "temp": 20.0, "wind_spd": 10.0}]}'))
+
+        then:
+        series.firstEpochDay() == LocalDate.of(2024, 2, 29).toEpochDay()
+    }
+
+    @Unroll
+    def "should compute the same epoch day as LocalDate for #date"() {
+        expect:
+        WeatherbitForecastDecoder.epochDay(date.year, date.monthValue, date.dayOfMonth) == date.toEpochDay()
+
+        where:
+        date << [LocalDate.of(1970, 1, 1), LocalDate.of(2024, 2, 29), LocalDate.of(2024, 3, 1),
+                 LocalDate.of(2025, 12, 31), LocalDate.of(2100, 3, 1), LocalDate.of(1969, 12, 31)]
+    }
+
+    private static byte[] json(String text) {
+        text.getBytes(StandardCharsets.UTF_8)
+    }
+}
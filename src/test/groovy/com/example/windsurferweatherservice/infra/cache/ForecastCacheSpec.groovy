@@ -0,0 +1,313 @@
+package com.example.windsurferweatherservice.infra.cache
+
+import com.example.windsurferweatherservice.application.adviser.exception.WeatherApiException
+import com.example.windsurferweatherservice.application.controller.dto.DailyForecast
+import com.example.windsurferweatherservice.domain.model.ForecastSeries
+import com.example.windsurferweatherservice.infra.dispatch.ForecastDispatcher
+import com.example.windsurferweatherservice.infra.quota.FetchPriority
+import com.example.windsurferweatherservice.infra.store.ForecastStore
+import com.example.windsurferweatherservice.infra.store.StoredForecast
+import com.example.windsurferweatherservice.shared.config.ForecastCacheProperties
+import com.example.windsurferweatherservice.shared.config.ForecastStoreProperties
+import com.example.windsurferweatherservice.shared.config.MetricsProperties
+import com.example.windsurferweatherservice.shared.config.RefreshProperties
+import com.example.windsurferweatherservice.shared.metrics.ForecastMetrics
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import reactor.core.publisher.Mono
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.nio.file.Files
+import java.time.Duration
+import java.time.Instant
+import java.util.concurrent.Callable
+import java.util.concurrent.CompletableFuture
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+
+class ForecastCacheSpec extends Specification {
+
+    def dispatcher = Mock(ForecastDispatcher)
+
+    def cacheProperties = new ForecastCacheProperties(Duration.ofHours(1), Duration.ofDays(1), 100)
+
+    def registry = new SimpleMeterRegistry()
+
+    def metrics = new ForecastMetrics(registry, new MetricsProperties(true))
+
+    def store = new ForecastStore(new ForecastStoreProperties(false, "unused", Duration.ofDays(1)))
+
+    @Subject
+    def cache = new ForecastCache(dispatcher, cacheProperties, refreshProperties(false), metrics, store)
+
+    @Shared
+    def jastarniaForecast = ForecastSeries.of([new DailyForecast("2025-10-01", 20.0, 10.0)])
+
+    def "should serve repeated calls for the same spot from one upstream fetch"() {
+        when:
+        def first = cache.getForecast(54.6966, 18.6783)
+        def second = cache.getForecast(54.6966, 18.6783)
+
+        then:
+        1 * dispatcher.submit(54.6966, 18.6783, FetchPriority.USER) >> CompletableFuture.completedFuture(jastarniaForecast)
+
+        and:
+        first == jastarniaForecast
+        second == jastarniaForecast
+    }
+
+    def "should share one entry between coordinates that round to the same key"() {
+        when:
+        cache.getForecast(54.6966, 18.6783)
+        cache.getForecast(54.7011, 18.6802)
+
+        then:
+        1 * dispatcher.submit(_, _, _) >> CompletableFuture.completedFuture(jastarniaForecast)
+    }
+
+    def "should coalesce concurrent misses for the same spot into one upstream call"() {
+        given:
+        def release = new CountDownLatch(1)
+        def executor = Executors.newVirtualThreadPerTaskExecutor()
+
+        when:
+        def callers = (1..10).collect { executor.submit({ cache.getForecast(54.6966, 18.6783) } as Callable) }
+        Thread.sleep(200)
+        release.countDown()
+        def results = callers*.get()
+
+        then:
+        1 * dispatcher.submit(_, _, _) >> CompletableFuture.supplyAsync {
+            release.await()
+            jastarniaForecast
+        }
+
+        and:
+        results.every { it == jastarniaForecast }
+
+        cleanup:
+        executor.close()
+    }
+
+    def "should keep loading a miss for the other callers when the first one is interrupted"() {
+        given:
+        def submitted = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+        def executor = Executors.newVirtualThreadPerTaskExecutor()
+
+        when:
+        def first = executor.submit({ cache.getForecast(54.6966, 18.6783) } as Callable)
+        submitted.await()
+        def second = executor.submit({ cache.getForecast(54.6966, 18.6783) } as Callable)
+        first.cancel(true)
+        release.countDown()
+
+        then:
+        1 * dispatcher.submit(_, _, _) >> {
+            submitted.countDown()
+            CompletableFuture.supplyAsync {
+                release.await()
+                jastarniaForecast
+            }
+        }
+
+        and:
+        second.get() == jastarniaForecast
+        cache.getForecast(54.6966, 18.6783) == jastarniaForecast
+
+        cleanup:
+        executor.close()
+    }
+
+    def "should not cache a failed fetch"() {
+        when:
+        cache.getForecast(54.6966, 18.6783)
+
+        then:
+        1 * dispatcher.submit(_, _, _) >> CompletableFuture.failedFuture(new RuntimeException("API error"))
+        thrown(RuntimeException)
+
+        when:
+        def result = cache.getForecast(54.6966, 18.6783)
+
+        then:
+        1 * dispatcher.submit(_, _, _) >> CompletableFuture.completedFuture(jastarniaForecast)
+        result == jastarniaForecast
+    }
+
+    def "should not call upstream on a miss while the background refresher is enabled"() {
+        given:
+        def readOnlyCache = new ForecastCache(dispatcher, cacheProperties, refreshProperties(true), metrics, store)
+
+        when:
+        def result = readOnlyCache.getForecast(54.6966, 18.6783)
+
+        then:
+        0 * dispatcher._
+        result == null
+    }
+
+    def "should call upstream on a miss while the refresher has not ranked any location"() {
+        given:
+        def readOnlyCache = new ForecastCache(dispatcher, cacheProperties, refreshProperties(true), metrics, store)
+        readOnlyCache.loadMissesOnRequest(true)
+
+        when:
+        def result = readOnlyCache.getForecast(54.6966, 18.6783)
+
+        then:
+        1 * dispatcher.submit(_, _, _) >> CompletableFuture.completedFuture(jastarniaForecast)
+        result == jastarniaForecast
+    }
+
+    def "should serve refreshed forecast and keep it when the next refresh fails"() {
+        given:
+        def readOnlyCache = new ForecastCache(dispatcher, cacheProperties, refreshProperties(true), metrics, store)
+
+        when:
+        def refreshed = readOnlyCache.refresh(54.6966, 18.6783, FetchPriority.REFRESH)
+        readOnlyCache.refresh(54.6966, 18.6783, FetchPriority.REFRESH)
+
+        then:
+        2 * dispatcher.getForecast(_, _, FetchPriority.REFRESH) >> jastarniaForecast >> { throw new RuntimeException("API error") }
+        def exception = thrown(RuntimeException)
+        exception.message == "API error"
+
+        and:
+        refreshed.forecast() == jastarniaForecast
+        readOnlyCache.getForecast(54.6966, 18.6783) == jastarniaForecast
+    }
+
+    def "should serve the last good forecast marked as stale while upstream fails"() {
+        given:
+        def expiringCache = new ForecastCache(dispatcher,
+                new ForecastCacheProperties(Duration.ofMillis(50), Duration.ofDays(1), 100), refreshProperties(false),
+                metrics, store)
+
+        when:
+        expiringCache.getForecast(54.6966, 18.6783)
+        Thread.sleep(100)
+        def result = expiringCache.getForecast(54.6966, 18.6783)
+
+        then:
+        2 * dispatcher.submit(_, _, _) >> CompletableFuture.completedFuture(jastarniaForecast) >>
+                CompletableFuture.failedFuture(new WeatherApiException("circuit open"))
+
+        and:
+        result == jastarniaForecast
+        expiringCache.freshness(54.6966, 18.6783).get().isStale()
+    }
+
+    def "should count lookups by result"() {
+        given:
+        def expiringCache = new ForecastCache(dispatcher,
+                new ForecastCacheProperties(Duration.ofMillis(50), Duration.ofDays(1), 100), refreshProperties(false),
+                metrics, store)
+
+        when:
+        expiringCache.getForecast(54.6966, 18.6783)
+        expiringCache.getForecast(54.6966, 18.6783)
+        Thread.sleep(100)
+        expiringCache.getForecast(54.6966, 18.6783)
+
+        then:
+        2 * dispatcher.submit(_, _, _) >> CompletableFuture.completedFuture(jastarniaForecast) >>
+                CompletableFuture.failedFuture(new WeatherApiException("circuit open"))
+
+        and:
+        lookups("miss") == 1
+        lookups("hit") == 1
+        lookups("stale") == 1
+    }
+
+    def "should load a miss without blocking and serve the next lookup from the cache"() {
+        when:
+        def first = cache.forecast(54.6966, 18.6783).block(Duration.ofSeconds(5))
+        def second = cache.forecast(54.6966, 18.6783).block(Duration.ofSeconds(5))
+        def blocking = cache.getForecast(54.6966, 18.6783)
+
+        then:
+        1 * dispatcher.forecast(54.6966, 18.6783) >> Mono.just(jastarniaForecast)
+        0 * dispatcher.submit(_, _, _)
+
+        and:
+        [first, second, blocking].every { it == jastarniaForecast }
+        lookups("miss") == 1
+        lookups("hit") == 2
+    }
+
+    def "should fall back to the last good forecast when a non-blocking load fails"() {
+        given:
+        def expiringCache = new ForecastCache(dispatcher,
+                new ForecastCacheProperties(Duration.ofMillis(50), Duration.ofDays(1), 100), refreshProperties(false),
+                metrics, store)
+
+        when:
+        expiringCache.forecast(54.6966, 18.6783).block(Duration.ofSeconds(5))
+        Thread.sleep(100)
+        def result = expiringCache.forecast(54.6966, 18.6783).block(Duration.ofSeconds(5))
+
+        then:
+        2 * dispatcher.forecast(_, _) >> Mono.just(jastarniaForecast) >> Mono.error(new WeatherApiException("circuit open"))
+
+        and:
+        result == jastarniaForecast
+        lookups("stale") == 1
+    }
+
+    def "should serve forecasts restored from the store as fresh for the rest of their ttl"() {
+        given:
+        def storeFile = Files.createTempFile("forecast-store", ".bin")
+        def storeProperties = new ForecastStoreProperties(true, storeFile.toString(), Duration.ofDays(1))
+        def previousRun = new ForecastStore(storeProperties)
+        previousRun.load()
+        def now = Instant.now()
+        previousRun.append(new StoredForecast(ForecastKey.of(54.6966, 18.6783), now.minusSeconds(600), jastarniaForecast))
+        previousRun.append(new StoredForecast(ForecastKey.of(13.0969, -59.6145), now.minusSeconds(7200), jastarniaForecast))
+        previousRun.close()
+
+        when:
+        def restored = new ForecastCache(dispatcher, cacheProperties, refreshProperties(true), metrics,
+                new ForecastStore(storeProperties))
+
+        then:
+        restored.getForecast(54.6966, 18.6783).temperature(0) == 20.0d
+        !restored.freshness(54.6966, 18.6783).get().isStale()
+        restored.freshFor(54.6966, 18.6783, Duration.ofMinutes(30)).isPresent()
+
+        and:
+        restored.getForecast(13.0969, -59.6145).windSpeed(0) == 10.0d
+        restored.freshness(13.0969, -59.6145).get().isStale()
+        restored.freshFor(13.0969, -59.6145, Duration.ZERO).isEmpty()
+
+        and:
+        0 * dispatcher._
+
+        cleanup:
+        Files.deleteIfExists(storeFile)
+    }
+
+    def "should report fresh forecasts as not stale"() {
+        given:
+        dispatcher.submit(_, _, _) >> CompletableFuture.completedFuture(jastarniaForecast)
+
+        when:
+        cache.getForecast(54.6966, 18.6783)
+
+        then:
+        with(cache.freshness(54.6966, 18.6783).get()) {
+            !isStale()
+            staleAt() == fetchedAt().plus(Duration.ofHours(1))
+        }
+        cache.freshness(13.0969, -59.6145).isEmpty()
+    }
+
+    private static RefreshProperties refreshProperties(boolean enabled) {
+        new RefreshProperties(enabled, Duration.ofMinutes(30), Duration.ZERO, 4, Duration.ofSeconds(5))
+    }
+
+    private double lookups(String result) {
+        registry.get(ForecastMetrics.CACHE_LOOKUPS).tag("result", result).counter().count()
+    }
+}
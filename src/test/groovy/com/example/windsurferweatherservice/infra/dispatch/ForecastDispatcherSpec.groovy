@@ -0,0 +1,249 @@
+package com.example.windsurferweatherservice.infra.dispatch
+
+import com.example.windsurferweatherservice.application.adviser.exception.WeatherApiException
+import com.example.windsurferweatherservice.application.controller.dto.DailyForecast
+import com.example.windsurferweatherservice.domain.model.ForecastSeries
+import com.example.windsurferweatherservice.infra.quota.FetchPriority
+import com.example.windsurferweatherservice.infra.quota.UpstreamQuota
+import com.example.windsurferweatherservice.infra.resilience.ResilientWeatherClient
+import com.example.windsurferweatherservice.shared.config.DispatchProperties
+import com.example.windsurferweatherservice.shared.config.MetricsProperties
+import com.example.windsurferweatherservice.shared.config.QuotaProperties
+import com.example.windsurferweatherservice.shared.metrics.ForecastMetrics
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import reactor.core.publisher.Mono
+import reactor.core.publisher.Sinks
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class ForecastDispatcherSpec extends Specification {
+
+    def weatherClient = Mock(ResilientWeatherClient)
+
+    @Shared
+    def forecast = ForecastSeries.of([new DailyForecast("2025-10-01", 20.0, 10.0)])
+
+    def cleanup() {
+        dispatchers*.shutdown()
+        quotas*.shutdown()
+    }
+
+    private List<ForecastDispatcher> dispatchers = []
+
+    private List<UpstreamQuota> quotas = []
+
+    def "should issue one upstream call per distinct spot for a flash crowd"() {
+        given:
+        def dispatcher = dispatcher(Duration.ofMillis(100), 64)
+        def spots = [[54.70, 18.67], [13.10, -59.61], [-3.72, -38.52]]
+        def executor = Executors.newVirtualThreadPerTaskExecutor()
+
+        when:
+        def callers = (1..90).collect { i ->
+            def spot = spots[i % spots.size()]
+            executor.submit({ dispatcher.getForecast(spot[0], spot[1], FetchPriority.USER) } as Callable)
+        }
+        def results = callers*.get(5, TimeUnit.SECONDS)
+
+        then:
+        1 * weatherClient.getForecast(54.70, 18.67) >> forecast
+        1 * weatherClient.getForecast(13.10, -59.61) >> forecast
+        1 * weatherClient.getForecast(-3.72, -38.52) >> forecast
+        0 * weatherClient._
+
+        and:
+        results.every { it == forecast }
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    def "should join a call that is still in flight"() {
+        given:
+        def dispatcher = dispatcher(Duration.ZERO, 64)
+        def started = new CountDownLatch(1)
+        def release = new CountDownLatch(1)
+
+        when:
+        def first = dispatcher.submit(54.70, 18.67, FetchPriority.USER)
+        started.await(5, TimeUnit.SECONDS)
+        def second = dispatcher.submit(54.7011, 18.6702, FetchPriority.USER)
+        release.countDown()
+
+        then:
+        1 * weatherClient.getForecast(54.70, 18.67) >> {
+            started.countDown()
+            release.await(5, TimeUnit.SECONDS)
+            forecast
+        }
+
+        and:
+        second.is(first)
+        first.get(5, TimeUnit.SECONDS) == forecast
+    }
+
+    def "should dispatch a full batch before its window ends"() {
+        given:
+        def dispatcher = dispatcher(Duration.ofMinutes(1), 2)
+
+        when:
+        def first = dispatcher.submit(54.70, 18.67, FetchPriority.USER)
+        def second = dispatcher.submit(13.10, -59.61, FetchPriority.USER)
+        def results = [first, second]*.get(5, TimeUnit.SECONDS)
+
+        then:
+        2 * weatherClient.getForecast(_, _) >> forecast
+
+        and:
+        results == [forecast, forecast]
+    }
+
+    def "should fan a failure out to every waiter and retry on the next demand"() {
+        given:
+        def dispatcher = dispatcher(Duration.ofMillis(50), 64)
+        def executor = Executors.newVirtualThreadPerTaskExecutor()
+
+        when:
+        def callers = (1..5).collect { executor.submit({ dispatcher.getForecast(54.70, 18.67, FetchPriority.USER) } as Callable) }
+        def failures = callers.collect { caller ->
+            try {
+                caller.get(5, TimeUnit.SECONDS)
+                null
+            } catch (Exception e) {
+                e.cause
+            }
+        }
+
+        then:
+        1 * weatherClient.getForecast(_, _) >> { throw new WeatherApiException("Failed to fetch weather data") }
+        failures.every { it instanceof WeatherApiException }
+
+        when:
+        def result = dispatcher.getForecast(54.70, 18.67, FetchPriority.USER)
+
+        then:
+        1 * weatherClient.getForecast(_, _) >> forecast
+        result == forecast
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    def "should share one reactive call per spot and cancel it only once every subscriber left"() {
+        given:
+        def dispatcher = dispatcher(Duration.ofMillis(100), 64)
+        def subscribed = new AtomicInteger()
+        def cancelled = new AtomicInteger()
+        weatherClient.forecast(_, _) >> Mono.never()
+                .doOnSubscribe { subscribed.incrementAndGet() }
+                .doOnCancel { cancelled.incrementAndGet() }
+
+        when:
+        def first = dispatcher.forecast(54.70, 18.67).subscribe()
+        def second = dispatcher.forecast(54.7011, 18.6702).subscribe()
+        first.dispose()
+
+        then:
+        subscribed.get() == 1
+        cancelled.get() == 0
+
+        when:
+        second.dispose()
+        dispatcher.forecast(54.70, 18.67).subscribe().dispose()
+
+        then:
+        subscribed.get() == 2
+        cancelled.get() == 2
+    }
+
+    def "should let a blocking caller join a reactive call in flight"() {
+        given:
+        def dispatcher = dispatcher(Duration.ZERO, 64)
+        def upstream = Sinks.<ForecastSeries> one()
+        weatherClient.forecast(54.70, 18.67) >> upstream.asMono()
+
+        when:
+        def reactive = dispatcher.forecast(54.70, 18.67).toFuture()
+        def blocking = dispatcher.submit(54.70, 18.67, FetchPriority.USER)
+        upstream.tryEmitValue(forecast)
+
+        then:
+        0 * weatherClient.getForecast(_, _)
+        reactive.get(5, TimeUnit.SECONDS) == forecast
+        blocking.get(5, TimeUnit.SECONDS) == forecast
+    }
+
+    def "should make one upstream call when blocking and reactive misses of a spot race"() {
+        given:
+        def dispatcher = dispatcher(Duration.ofMillis(50), 64)
+        def upstream = Sinks.<ForecastSeries> one()
+        def calls = new AtomicInteger()
+        weatherClient.forecast(54.70, 18.67) >> upstream.asMono().doOnSubscribe { calls.incrementAndGet() }
+        weatherClient.getForecast(54.70, 18.67) >> { calls.incrementAndGet(); upstream.asMono().block() }
+        def start = new CountDownLatch(1)
+        def executor = Executors.newVirtualThreadPerTaskExecutor()
+
+        when:
+        def callers = (1..64).collect { i ->
+            executor.submit({
+                start.await()
+                i % 2 == 0
+                        ? dispatcher.forecast(54.70, 18.67).toFuture()
+                        : dispatcher.submit(54.70, 18.67, FetchPriority.USER)
+            } as Callable)
+        }
+        start.countDown()
+        def results = callers*.get(5, TimeUnit.SECONDS)
+        upstream.tryEmitValue(forecast)
+
+        then:
+        results*.get(5, TimeUnit.SECONDS).every { it == forecast }
+        calls.get() == 1
+
+        cleanup:
+        executor.shutdownNow()
+    }
+
+    def "should move a refresh waiting for the quota ahead once a user miss joins it"() {
+        given:
+        def dispatcher = dispatcher(Duration.ZERO, 64, quota(20, 1))
+        def called = Collections.synchronizedList([])
+        weatherClient.getForecast(_, _) >> { latitude, longitude ->
+            called << latitude
+            forecast
+        }
+
+        when:
+        def first = dispatcher.submit(54.70, 18.67, FetchPriority.REFRESH)
+        def second = dispatcher.submit(13.10, -59.61, FetchPriority.REFRESH)
+        def third = dispatcher.submit(-3.72, -38.52, FetchPriority.REFRESH)
+        def joined = dispatcher.submit(-3.7201, -38.5202, FetchPriority.USER)
+        [first, second, third]*.get(5, TimeUnit.SECONDS)
+
+        then:
+        joined.is(third)
+        called == [54.70, -3.72, 13.10]
+    }
+
+    private ForecastDispatcher dispatcher(Duration window, int maxBatchSize,
+                                          UpstreamQuota quota = quota(1_000, 1_000)) {
+        def dispatcher = new ForecastDispatcher(weatherClient, new DispatchProperties(window, maxBatchSize), quota)
+        dispatchers << dispatcher
+        dispatcher
+    }
+
+    private UpstreamQuota quota(double callsPerSecond, int burst) {
+        def quota = new UpstreamQuota(
+                new QuotaProperties(callsPerSecond, burst, 0, 0.2, Duration.ofSeconds(5), Duration.ofSeconds(5)),
+                new ForecastMetrics(new SimpleMeterRegistry(), new MetricsProperties(true)))
+        quotas << quota
+        quota
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.windsurferweatherservice.infra.quota
+
+import com.example.windsurferweatherservice.application.adviser.exception.WeatherApiException
+import com.example.windsurferweatherservice.shared.config.MetricsProperties
+import com.example.windsurferweatherservice.shared.config.QuotaProperties
+import com.example.windsurferweatherservice.shared.metrics.ForecastMetrics
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.time.ZoneOffset
+
+class UpstreamQuotaSpec extends Specification {
+
+    def now = Instant.parse("2025-10-01T00:00:00Z")
+    def clock = Stub(Clock) {
+        instant() >> { now }
+        getZone() >> ZoneOffset.UTC
+    }
+
+    def registry = new SimpleMeterRegistry()
+
+    def metrics = new ForecastMetrics(registry, new MetricsProperties(true))
+
+    def "should grant the burst right away and then one call per refill"() {
+        given:
+        def quota = quota(2, 2, 0)
+
+        when:
+        def tickets = (1..3).collect { quota.request(FetchPriority.USER) }
+
+        then:
+        tickets*.isGranted() == [true, true, false]
+        quota.grant() == Duration.ofMillis(500).toNanos()
+
+        when:
+        now = now.plusMillis(500)
+        quota.grant()
+
+        then:
+        tickets[2].isGranted()
+        registry.get("weatherbit.quota.wait").tag("priority", "user").tag("decision", "granted").timer().count() == 3
+    }
+
+    def "should grant user misses before refreshes queued earlier"() {
+        given:
+        def quota = quota(1, 1, 0)
+        quota.request(FetchPriority.USER)
+        def refresh = quota.request(FetchPriority.REFRESH)
+        def user = quota.request(FetchPriority.USER)
+
+        when:
+        now = now.plusSeconds(1)
+        quota.grant()
+
+        then:
+        user.isGranted()
+        !refresh.isGranted()
+
+        when:
+        now = now.plusSeconds(1)
+        quota.grant()
+
+        then:
+        refresh.isGranted()
+    }
+
+    def "should move a promoted refresh ahead of the other refreshes"() {
+        given:
+        def quota = quota(1, 1, 0)
+        quota.request(FetchPriority.REFRESH)
+        def waiting = quota.request(FetchPriority.REFRESH)
+        def promoted = quota.request(FetchPriority.REFRESH)
+
+        when:
+        promoted.promote(FetchPriority.USER)
+        now = now.plusSeconds(1)
+        quota.grant()
+
+        then:
+        promoted.isGranted()
+        !waiting.isGranted()
+    }
+
+    def "should pace refreshes evenly over the day and keep the reserve for user misses"() {
+        given:
+        def quota = quota(1_000, 2, 100)
+
+        when:
+        def refreshes = (1..3).collect { quota.request(FetchPriority.REFRESH) }
+        def user = quota.request(FetchPriority.USER)
+        now = now.plusMillis(1)
+        quota.grant()
+
+        then:
+        refreshes*.isGranted() == [true, true, false]
+        user.isGranted()
+
+        when: "refreshes get 80 of 100 calls spread over the day on top of the burst, the user miss counts as well"
+        now = now.plus(Duration.ofDays(1).dividedBy(40)).minusSeconds(1)
+        quota.grant()
+
+        then:
+        !refreshes[2].isGranted()
+
+        when:
+        now = now.plusSeconds(1)
+        quota.grant()
+
+        then:
+        refreshes[2].isGranted()
+    }
+
+    def "should not pace warm-ups but keep the reserve for user misses"() {
+        given: "an instance started half an hour after midnight"
+        def quota = quota(1_000, 2, 100)
+        now = now.plus(Duration.ofMinutes(30))
+
+        when: "refreshes would get two calls on top of the burst by now"
+        def warmUps = (1..80).collect { quota.request(FetchPriority.WARM_UP) }
+        80.times {
+            now = now.plusMillis(1)
+            quota.grant()
+        }
+        def beyondBudget = quota.request(FetchPriority.WARM_UP)
+        quota.grant()
+
+        then:
+        warmUps.every { it.isGranted() }
+        !beyondBudget.isGranted()
+
+        when:
+        now = now.plusMillis(1)
+
+        then:
+        quota.request(FetchPriority.USER).isGranted()
+    }
+
+    def "should grant warm-ups after user misses and before refreshes queued earlier"() {
+        given:
+        def quota = quota(1, 1, 0)
+        quota.request(FetchPriority.USER)
+
+        when:
+        def refresh = quota.request(FetchPriority.REFRESH)
+        def warmUp = quota.request(FetchPriority.WARM_UP)
+        now = now.plusSeconds(1)
+        quota.grant()
+
+        then:
+        warmUp.isGranted()
+        !refresh.isGranted()
+    }
+
+    def "should reject user misses right away once the daily calls are used up"() {
+        given:
+        def quota = quota(1_000, 10, 2)
+        2.times { quota.request(FetchPriority.USER) }
+
+        when:
+        def rejected = quota.request(FetchPriority.USER)
+        quota.grant()
+        rejected.await()
+
+        then:
+        def exception = thrown(WeatherApiException)
+        exception.message == "Weatherbit call quota exhausted"
+        registry.get("weatherbit.quota.remaining").tag("window", "day").gauge().value() == 0
+
+        when: "Weatherbit resets the quota at midnight UTC"
+        now = now.plus(Duration.ofDays(1))
+
+        then:
+        quota.request(FetchPriority.USER).isGranted()
+        registry.get("weatherbit.quota.used").gauge().value() == 1
+    }
+
+    def "should only retry with calls nobody waits for"() {
+        given:
+        def quota = quota(1, 2, 0)
+
+        expect:
+        quota.tryAcquireRetry()
+
+        when:
+        quota.request(FetchPriority.REFRESH)
+        def waiting = quota.request(FetchPriority.REFRESH)
+
+        then:
+        !waiting.isGranted()
+        !quota.tryAcquireRetry()
+        registry.get("weatherbit.quota.waiting").gauge().value() == 1
+    }
+
+    def "should give up the place in the queue when the caller leaves"() {
+        given:
+        def quota = quota(1, 1, 0)
+        quota.request(FetchPriority.USER)
+        def left = quota.permit(FetchPriority.USER).subscribe()
+        def staying = quota.request(FetchPriority.USER)
+
+        when:
+        left.dispose()
+        now = now.plusSeconds(1)
+        quota.grant()
+
+        then:
+        staying.isGranted()
+    }
+
+    private UpstreamQuota quota(double callsPerSecond, int burst, long callsPerDay) {
+        new UpstreamQuota(new QuotaProperties(callsPerSecond, burst, callsPerDay, 0.2,
+                Duration.ofHours(1), Duration.ofHours(1)), metrics, clock, false)
+    }
+}
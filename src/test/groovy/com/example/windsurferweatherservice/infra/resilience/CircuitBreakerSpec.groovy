@@ -0,0 +1,95 @@
+package com.example.windsurferweatherservice.infra.resilience
+
+import com.example.windsurferweatherservice.shared.config.ResilienceProperties.CircuitBreakerSettings
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.time.ZoneOffset
+
+class CircuitBreakerSpec extends Specification {
+
+    def now = Instant.parse("2025-10-01T12:00:00Z")
+    def clock = Stub(Clock) {
+        instant() >> { now }
+        getZone() >> ZoneOffset.UTC
+    }
+
+    @Subject
+    def breaker = new CircuitBreaker(new CircuitBreakerSettings(50, 4, 4, Duration.ofSeconds(30)), clock)
+
+    def "should stay closed until the minimum number of calls is recorded"() {
+        when:
+        3.times { breaker.onFailure() }
+
+        then:
+        breaker.state() == CircuitBreaker.State.CLOSED
+        breaker.tryAcquirePermission()
+    }
+
+    def "should open when the failure rate reaches the threshold"() {
+        when:
+        2.times { breaker.onSuccess() }
+        2.times { breaker.onFailure() }
+
+        then:
+        breaker.state() == CircuitBreaker.State.OPEN
+        !breaker.tryAcquirePermission()
+    }
+
+    def "should only count the most recent calls of the sliding window"() {
+        when:
+        3.times { breaker.onFailure() }
+        4.times { breaker.onSuccess() }
+        breaker.onFailure()
+
+        then:
+        breaker.state() == CircuitBreaker.State.CLOSED
+    }
+
+    def "should let a single trial call through after the open duration"() {
+        given:
+        4.times { breaker.onFailure() }
+
+        when:
+        now = now.plusSeconds(31)
+
+        then:
+        breaker.tryAcquirePermission()
+        breaker.state() == CircuitBreaker.State.HALF_OPEN
+        !breaker.tryAcquirePermission()
+    }
+
+    def "should be #expected after the trial call reports #outcome"() {
+        given:
+        4.times { breaker.onFailure() }
+        now = now.plusSeconds(31)
+        breaker.tryAcquirePermission()
+
+        when:
+        breaker."$outcome"()
+
+        then:
+        breaker.state() == expected
+
+        where:
+        outcome     || expected
+        "onSuccess" || CircuitBreaker.State.CLOSED
+        "onFailure" || CircuitBreaker.State.OPEN
+    }
+
+    def "should release the trial permission of an ignored call"() {
+        given:
+        4.times { breaker.onFailure() }
+        now = now.plusSeconds(31)
+        breaker.tryAcquirePermission()
+
+        when:
+        breaker.onIgnored()
+
+        then:
+        breaker.tryAcquirePermission()
+    }
+}
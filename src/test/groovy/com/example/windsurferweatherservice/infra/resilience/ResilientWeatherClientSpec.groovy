@@ -0,0 +1,242 @@
+package com.example.windsurferweatherservice.infra.resilience
+
+import com.example.windsurferweatherservice.application.adviser.exception.WeatherApiException
+import com.example.windsurferweatherservice.application.controller.dto.DailyForecast
+import com.example.windsurferweatherservice.domain.model.ForecastSeries
+import com.example.windsurferweatherservice.infra.ForecastDecodingException
+import com.example.windsurferweatherservice.infra.WeatherBitClient
+import com.example.windsurferweatherservice.infra.quota.UpstreamQuota
+import com.example.windsurferweatherservice.shared.config.ResilienceProperties
+import com.example.windsurferweatherservice.shared.config.ResilienceProperties.BulkheadSettings
+import com.example.windsurferweatherservice.shared.config.ResilienceProperties.CircuitBreakerSettings
+import com.example.windsurferweatherservice.shared.config.ResilienceProperties.RetrySettings
+import org.springframework.http.HttpStatus
+import org.springframework.web.reactive.function.client.WebClientResponseException
+import reactor.core.publisher.Mono
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Subject
+
+import java.time.Clock
+import java.time.Duration
+
+class ResilientWeatherClientSpec extends Specification {
+
+    def weatherBitClient = Mock(WeatherBitClient)
+
+    def quota = Stub(UpstreamQuota) {
+        tryAcquireRetry() >> true
+    }
+
+    @Subject
+    def client = new ResilientWeatherClient(weatherBitClient, properties(3, 10), quota, Clock.systemUTC())
+
+    @Shared
+    def forecast = ForecastSeries.of([new DailyForecast("2025-10-01", 20.0, 10.0)])
+
+    def "should retry failed calls until one succeeds"() {
+        when:
+        def result = client.getForecast(54.7, 18.67)
+
+        then:
+        3 * weatherBitClient.getForecast(54.7, 18.67) >>
+                { throw new RuntimeException("timeout") } >>
+                { throw WebClientResponseException.create(503, "Service Unavailable", null, null, null) } >>
+                forecast
+
+        and:
+        result == forecast
+    }
+
+    def "should give up after the maximum number of attempts"() {
+        when:
+        client.getForecast(54.7, 18.67)
+
+        then:
+        3 * weatherBitClient.getForecast(_, _) >> { throw new RuntimeException("timeout") }
+
+        and:
+        def exception = thrown(WeatherApiException)
+        exception.cause.message == "timeout"
+    }
+
+    def "should not retry client errors"() {
+        when:
+        client.getForecast(54.7, 18.67)
+
+        then:
+        1 * weatherBitClient.getForecast(_, _) >> { throw WebClientResponseException.create(403, "Forbidden", null, null, null) }
+
+        and:
+        thrown(WebClientResponseException)
+        client.circuitState() == CircuitBreaker.State.CLOSED
+    }
+
+    def "should not retry forecasts the decoder rejects"() {
+        when:
+        client.getForecast(54.7, 18.67)
+
+        then:
+        1 * weatherBitClient.getForecast(_, _) >> { throw malformed() }
+
+        and:
+        thrown(ForecastDecodingException)
+        client.circuitState() == CircuitBreaker.State.CLOSED
+    }
+
+    def "should report an interrupt while waiting for the bulkhead as such"() {
+        given:
+        Thread.currentThread().interrupt()
+
+        when:
+        client.getForecast(54.7, 18.67)
+
+        then:
+        0 * weatherBitClient.getForecast(_, _)
+
+        and:
+        def exception = thrown(WeatherApiException)
+        exception.message == "Interrupted while waiting for a Weatherbit call slot"
+        exception.cause instanceof InterruptedException
+        Thread.interrupted()
+    }
+
+    def "should stop retrying once the retry budget is spent"() {
+        given:
+        def budgetedClient = new ResilientWeatherClient(weatherBitClient, properties(3, 1), quota, Clock.systemUTC())
+
+        when:
+        budgetedClient.getForecast(54.7, 18.67)
+
+        then:
+        2 * weatherBitClient.getForecast(_, _) >> { throw new RuntimeException("timeout") }
+        thrown(WeatherApiException)
+
+        when:
+        budgetedClient.getForecast(54.7, 18.67)
+
+        then:
+        1 * weatherBitClient.getForecast(_, _) >> { throw new RuntimeException("timeout") }
+        thrown(WeatherApiException)
+    }
+
+    def "should not retry when the call quota has no call to spare"() {
+        given:
+        def exhausted = Stub(UpstreamQuota) {
+            tryAcquireRetry() >> false
+        }
+        def quotaClient = new ResilientWeatherClient(weatherBitClient, properties(3, 10), exhausted, Clock.systemUTC())
+
+        when:
+        quotaClient.getForecast(54.7, 18.67)
+
+        then:
+        1 * weatherBitClient.getForecast(_, _) >> { throw new RuntimeException("timeout") }
+        thrown(WeatherApiException)
+    }
+
+    def "should not spend the retry budget on retries the call quota refuses"() {
+        given:
+        def refusing = Stub(UpstreamQuota) {
+            tryAcquireRetry() >>> [false, true]
+        }
+        def budgetedClient = new ResilientWeatherClient(weatherBitClient, properties(2, 1), refusing, Clock.systemUTC())
+
+        when:
+        budgetedClient.getForecast(54.7, 18.67)
+
+        then:
+        1 * weatherBitClient.getForecast(_, _) >> { throw new RuntimeException("timeout") }
+        thrown(WeatherApiException)
+
+        when:
+        def result = budgetedClient.getForecast(54.7, 18.67)
+
+        then:
+        2 * weatherBitClient.getForecast(_, _) >> { throw new RuntimeException("timeout") } >> forecast
+        result == forecast
+    }
+
+    def "should fail fast without calling upstream while the circuit is open"() {
+        given:
+        weatherBitClient.getForecast(_, _) >> { throw new RuntimeException("timeout") }
+        4.times {
+            try {
+                client.getForecast(54.7, 18.67)
+            } catch (WeatherApiException ignored) {
+            }
+        }
+
+        when:
+        client.getForecast(54.7, 18.67)
+
+        then:
+        0 * weatherBitClient.getForecast(_, _)
+        client.circuitState() == CircuitBreaker.State.OPEN
+
+        and:
+        def exception = thrown(WeatherApiException)
+        exception.message == "Weatherbit is unavailable, circuit breaker is open"
+    }
+
+    def "should retry failed calls without blocking until one succeeds"() {
+        when:
+        def result = client.forecast(54.7, 18.67).block(Duration.ofSeconds(5))
+
+        then:
+        3 * weatherBitClient.forecast(54.7, 18.67) >>>
+                [Mono.error(new RuntimeException("timeout")),
+                 Mono.error(WebClientResponseException.create(503, "Service Unavailable", null, null, null)),
+                 Mono.just(forecast)]
+
+        and:
+        result == forecast
+    }
+
+    def "should not retry client errors without blocking either"() {
+        when:
+        client.forecast(54.7, 18.67).block(Duration.ofSeconds(5))
+
+        then:
+        1 * weatherBitClient.forecast(_, _) >> Mono.error(WebClientResponseException.create(403, "Forbidden", null, null, null))
+        thrown(WebClientResponseException)
+    }
+
+    def "should not retry forecasts the decoder rejects without blocking either"() {
+        when:
+        client.forecast(54.7, 18.67).block(Duration.ofSeconds(5))
+
+        then:
+        1 * weatherBitClient.forecast(_, _) >> Mono.error(malformed())
+        thrown(ForecastDecodingException)
+    }
+
+    def "should release the bulkhead and not judge upstream when a call is cancelled"() {
+        given:
+        weatherBitClient.forecast(_, _) >> Mono.never()
+
+        when:
+        20.times { client.forecast(54.7, 18.67).subscribe().dispose() }
+
+        then:
+        client.circuitState() == CircuitBreaker.State.CLOSED
+
+        when:
+        def result = client.forecast(54.7, 18.67).block(Duration.ofSeconds(5))
+
+        then:
+        1 * weatherBitClient.forecast(_, _) >> Mono.just(forecast)
+        result == forecast
+    }
+
+    private static ForecastDecodingException malformed() {
+        new ForecastDecodingException("Failed to decode Weatherbit forecast", new IOException("Expected a JSON object"))
+    }
+
+    private static ResilienceProperties properties(int maxAttempts, int maxBudget) {
+        new ResilienceProperties(
+                new CircuitBreakerSettings(50, 10, 10, Duration.ofMinutes(1)),
+                new RetrySettings(maxAttempts, Duration.ofMillis(1), Duration.ofMillis(5), 0.0, maxBudget),
+                new BulkheadSettings(4, Duration.ofMillis(100)))
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.windsurferweatherservice.infra.store
+
+import com.example.windsurferweatherservice.domain.model.ForecastSeries
+import com.example.windsurferweatherservice.infra.cache.ForecastKey
+import com.example.windsurferweatherservice.shared.config.ForecastStoreProperties
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Clock
+import java.time.Duration
+import java.time.Instant
+import java.time.LocalDate
+import java.time.ZoneOffset
+
+class ForecastStoreSpec extends Specification {
+
+    @TempDir
+    Path directory
+
+    def now = Instant.parse("2025-10-01T12:00:00Z")
+
+    def clock = Clock.fixed(now, ZoneOffset.UTC)
+
+    def jastarnia = ForecastKey.of(54.7, 18.67)
+
+    def bridgetown = ForecastKey.of(13.1, -59.6)
+
+    def forecast = new ForecastSeries(LocalDate.of(2025, 10, 1).toEpochDay(),
+            [20.0d, Double.NaN, 18.5d] as double[], [10.0d, Double.NaN, 7.25d] as double[])
+
+    def "should restore appended forecasts after a restart"() {
+        given:
+        def first = store()
+        first.load()
+
+        when:
+        first.append(new StoredForecast(jastarnia, now.minusSeconds(60), forecast))
+        first.close()
+        def restored = store().load()
+
+        then:
+        restored.size() == 1
+        with(restored.first()) {
+            key() == jastarnia
+            fetchedAt() == now.minusSeconds(60)
+            forecast().firstEpochDay() == LocalDate.of(2025, 10, 1).toEpochDay()
+            forecast().size() == 3
+            forecast().temperature(2) == 18.5d
+            forecast().windSpeed(0) == 10.0d
+            !forecast().hasDay(1)
+        }
+    }
+
+    def "should restore only the latest forecast of every spot fetched within the maximum age"() {
+        given:
+        def first = store()
+        first.load()
+
+        when:
+        first.append(new StoredForecast(jastarnia, now.minus(Duration.ofHours(2)), forecast))
+        first.append(new StoredForecast(jastarnia, now.minus(Duration.ofHours(1)), forecast))
+        first.append(new StoredForecast(bridgetown, now.minus(Duration.ofHours(25)), forecast))
+        first.close()
+        def restored = store().load()
+
+        then:
+        restored*.key() == [jastarnia]
+        restored.first().fetchedAt() == now.minus(Duration.ofHours(1))
+    }
+
+    def "should restore the records before a torn one"() {
+        given:
+        def first = store()
+        first.load()
+        first.append(new StoredForecast(jastarnia, now, forecast))
+        first.append(new StoredForecast(bridgetown, now, forecast))
+        first.close()
+
+        and:
+        def file = directory.resolve("forecasts.bin")
+        def bytes = Files.readAllBytes(file)
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 5))
+
+        when:
+        def restored = store().load()
+
+        then:
+        restored*.key() == [jastarnia]
+    }
+
+    def "should compact the file once it holds far more records than spots"() {
+        given:
+        def first = store()
+        first.load()
+
+        when:
+        2_000.times { first.append(new StoredForecast(jastarnia, now, forecast)) }
+        first.close()
+
+        then:
+        Files.size(directory.resolve("forecasts.bin")) < 1_025 * 100
+        store().load().size() == 1
+    }
+
+    def "should start over from a file of an unknown format"() {
+        given:
+        Files.writeString(directory.resolve("forecasts.bin"), "not a forecast store")
+
+        expect:
+        store().load().isEmpty()
+    }
+
+    def "should neither read nor write while disabled"() {
+        given:
+        def disabled = new ForecastStore(
+                new ForecastStoreProperties(false, directory.resolve("forecasts.bin").toString(), Duration.ofDays(1)), clock)
+
+        when:
+        disabled.load()
+        disabled.append(new StoredForecast(jastarnia, now, forecast))
+
+        then:
+        !Files.exists(directory.resolve("forecasts.bin"))
+    }
+
+    private ForecastStore store() {
+        new ForecastStore(
+                new ForecastStoreProperties(true, directory.resolve("forecasts.bin").toString(), Duration.ofHours(24)), clock)
+    }
+}
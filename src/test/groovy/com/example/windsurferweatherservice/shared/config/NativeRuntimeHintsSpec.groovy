@@ -0,0 +1,41 @@
+package com.example.windsurferweatherservice.shared.config
+
+import com.example.windsurferweatherservice.application.controller.response.WindsurfingResponse
+import com.example.windsurferweatherservice.application.controller.validation.FutureOrPresentAtLocationsValidator
+import com.example.windsurferweatherservice.domain.time.LocationCalendar
+import com.example.windsurferweatherservice.shared.loader.LocationsConfiguration
+import org.springframework.aot.hint.MemberCategory
+import org.springframework.aot.hint.RuntimeHints
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates
+import spock.lang.Shared
+import spock.lang.Specification
+
+class NativeRuntimeHintsSpec extends Specification {
+
+    @Shared
+    def hints = new RuntimeHints()
+
+    def setupSpec() {
+        new NativeRuntimeHints().registerHints(hints, getClass().classLoader)
+    }
+
+    def "should let Jackson bind the location catalogue and the response records"() {
+        expect:
+        RuntimeHintsPredicates.reflection().onMethod(LocationsConfiguration.LocationConfiguration, "setTimezone").test(hints)
+        RuntimeHintsPredicates.reflection().onMethod(LocationsConfiguration, "getLocations").test(hints)
+        RuntimeHintsPredicates.reflection().onMethod(WindsurfingResponse, "windSpeed").test(hints)
+    }
+
+    def "should let the validator factory create the constraint validators"() {
+        expect:
+        RuntimeHintsPredicates.reflection().onType(FutureOrPresentAtLocationsValidator)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints)
+        FutureOrPresentAtLocationsValidator.getConstructor(LocationCalendar)
+    }
+
+    def "should bundle the data files"() {
+        expect:
+        RuntimeHintsPredicates.resource().forResource("data/locations.json").test(hints)
+        RuntimeHintsPredicates.resource().forResource("data/timezones.csv").test(hints)
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.windsurferweatherservice.shared.loader
+
+import com.example.windsurferweatherservice.shared.config.CatalogueProperties
+import com.example.windsurferweatherservice.shared.config.JacksonConfig
+import jakarta.validation.Validation
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Duration
+
+class LocationsDataLoaderSpec extends Specification {
+
+    @Shared
+    def validator = Validation.buildDefaultValidatorFactory().validator
+
+    @TempDir
+    Path directory
+
+    def "should load the bundled catalogue from the classpath"() {
+        when:
+        def configuration = loader("classpath:data/locations.json").load()
+
+        then:
+        configuration.locations*.name.contains("Jastarnia")
+        configuration.locations.every { it.country }
+    }
+
+    def "should load every json shard of a directory in file name order"() {
+        given:
+        Files.writeString(directory.resolve("b.json"), catalogue(["Bridgetown", "Barbados", 13.1, -59.6]))
+        Files.writeString(directory.resolve("a.json"), catalogue(["Jastarnia", "Poland", 54.7, 18.67]))
+        Files.writeString(directory.resolve("notes.txt"), "not a shard")
+
+        when:
+        def configuration = loader(directory.toString()).load()
+
+        then:
+        configuration.locations*.name == ["Jastarnia", "Bridgetown"]
+    }
+
+    def "should skip entries violating the constraints and ignore unknown fields"() {
+        given:
+        def file = directory.resolve("locations.json")
+        Files.writeString(file, '''{
+            "version": {"note": "skipped"},
+            "locations": [
+                {"name": "Jastarnia", "country": "Poland", "latitude": 54.7, "longitude": 18.67, "rating": 5},
+                {"name": "", "country": "Nowhere", "latitude": 10.0, "longitude": 10.0},
+                {"name": "North", "country": "Nowhere", "latitude": 95.0, "longitude": 10.0}
+            ]
+        }''')
+
+        when:
+        def configuration = loader(file.toString()).load()
+
+        then:
+        configuration.locations*.name == ["Jastarnia"]
+    }
+
+    def "should look up the time zone of entries that do not configure one"() {
+        given:
+        def file = directory.resolve("locations.json")
+        Files.writeString(file, '''{
+            "locations": [
+                {"name": "Jastarnia", "country": "Poland", "latitude": 54.7, "longitude": 18.67},
+                {"name": "Tarifa", "country": "Spain", "latitude": 36.01, "longitude": -5.6, "timezone": "Europe/Madrid"},
+                {"name": "Atlantis", "country": "Nowhere", "latitude": 10.0, "longitude": -30.0, "timezone": "Atlantis/Lost"}
+            ]
+        }''')
+
+        when:
+        def configuration = loader(file.toString()).load()
+
+        then:
+        configuration.locations*.name == ["Jastarnia", "Tarifa"]
+        configuration.locations*.timezone == ["Europe/Warsaw", "Europe/Madrid"]
+    }
+
+    def "should reject a catalogue without any valid location"() {
+        given:
+        def file = directory.resolve("locations.json")
+        Files.writeString(file, '{"locations": []}')
+
+        when:
+        loader(file.toString()).load()
+
+        then:
+        def exception = thrown(IllegalStateException)
+        exception.message.contains("At least one location must be configured")
+    }
+
+    def "should reject malformed json"() {
+        given:
+        def file = directory.resolve("locations.json")
+        Files.writeString(file, '{"locations": [{"name": "Jastarnia"')
+
+        when:
+        loader(file.toString()).load()
+
+        then:
+        thrown(RuntimeException)
+    }
+
+    private LocationsDataLoader loader(String source) {
+        new LocationsDataLoader(new JacksonConfig().weatherbitObjectMapper(), validator, new CatalogueProperties(source, false, Duration.ofMillis(100)),
+                new TimeZoneLookup())
+    }
+
+    private static String catalogue(List... locations) {
+        def entries = locations.collect { name, country, latitude, longitude ->
+            """{"name": "$name", "country": "$country", "latitude": $latitude, "longitude": $longitude}"""
+        }
+        """{"locations": [${entries.join(", ")}]}"""
+    }
+}
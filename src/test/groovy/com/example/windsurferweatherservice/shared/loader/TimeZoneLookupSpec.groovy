@@ -0,0 +1,64 @@
+package com.example.windsurferweatherservice.shared.loader
+
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.ZoneId
+import java.time.ZoneOffset
+
+class TimeZoneLookupSpec extends Specification {
+
+    @Shared
+    def lookup = new TimeZoneLookup()
+
+    @Unroll
+    def "should resolve the zone of #spot"() {
+        expect:
+        lookup.resolve(latitude, longitude) == ZoneId.of(zone)
+
+        where:
+        spot         | latitude | longitude || zone
+        "Jastarnia"  | 54.6966  | 18.6783   || "Europe/Warsaw"
+        "Bridgetown" | 13.0969  | -59.6145  || "America/Barbados"
+        "Fortaleza"  | -3.7319  | -38.5267  || "America/Fortaleza"
+        "Pissouri"   | 34.6693  | 32.7041   || "Asia/Nicosia"
+        "Le Morne"   | -20.4517 | 57.3139   || "Indian/Mauritius"
+        "Tarifa"     | 36.0143  | -5.6044   || "Europe/Madrid"
+        "Maui"       | 20.9338  | -156.3570 || "Pacific/Honolulu"
+    }
+
+    @Unroll
+    def "should resolve #spot next to a border to its own zone"() {
+        expect:
+        lookup.resolve(latitude, longitude) == ZoneId.of(zone)
+
+        where:
+        spot                         | latitude | longitude || zone
+        "Wissant"                    | 50.8853  | 1.6631    || "Europe/Paris"
+        "Boulogne-sur-Mer"           | 50.7264  | 1.6147    || "Europe/Paris"
+        "Dover"                      | 51.1279  | 1.3134    || "Europe/London"
+        "Camber Sands"               | 50.9336  | 0.7950    || "Europe/London"
+        "St Ouen's Bay"              | 49.2290  | -2.2400   || "Europe/Jersey"
+        "Portrush"                   | 55.2042  | -6.6524   || "Europe/London"
+        "Hendaye"                    | 43.3717  | -1.7740   || "Europe/Paris"
+        "Hondarribia"                | 43.3680  | -1.7920   || "Europe/Madrid"
+        "Leucate"                    | 42.9100  | 3.0550    || "Europe/Paris"
+        "Vila Real de Santo António" | 37.1947  | -7.4153   || "Europe/Lisbon"
+        "Isla Cristina"              | 37.1992  | -7.3208   || "Europe/Madrid"
+        "A Guarda"                   | 41.9013  | -8.8741   || "Europe/Madrid"
+    }
+
+    def "should prefer the smallest box containing the spot"() {
+        expect: "Sicily lies within the boxes of Italy and Malta's neighbourhood, Gozo only within Malta's"
+        lookup.resolve(36.05, 14.25) == ZoneId.of("Europe/Malta")
+        lookup.resolve(37.5, 14.25) == ZoneId.of("Europe/Rome")
+    }
+
+    def "should fall back to the nautical offset out at sea"() {
+        expect:
+        lookup.resolve(0.0, -30.0) == ZoneOffset.ofHours(-2)
+        lookup.resolve(-40.0, 80.0) == ZoneOffset.ofHours(5)
+        lookup.resolve(-60.0, 180.0) == ZoneOffset.ofHours(12)
+    }
+}
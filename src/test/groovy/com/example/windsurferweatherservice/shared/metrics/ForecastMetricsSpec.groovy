@@ -0,0 +1,40 @@
+package com.example.windsurferweatherservice.shared.metrics
+
+import com.example.windsurferweatherservice.shared.config.MetricsProperties
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import spock.lang.Specification
+
+class ForecastMetricsSpec extends Specification {
+
+    def registry = new SimpleMeterRegistry()
+
+    def "should record the upstream calls of every spot in one series per outcome by default"() {
+        given:
+        def metrics = new ForecastMetrics(registry, new MetricsProperties(false))
+
+        when:
+        metrics.recordUpstreamCall(54.6966, 18.6783, 1_000_000, ForecastMetrics.Outcome.SUCCESS)
+        metrics.recordUpstreamCall(36.0143, -5.6044, 2_000_000, ForecastMetrics.Outcome.SUCCESS)
+        metrics.recordUpstreamCall(36.0143, -5.6044, 3_000_000, ForecastMetrics.Outcome.ERROR)
+
+        then:
+        def timers = registry.get(ForecastMetrics.UPSTREAM_CALLS).timers()
+        timers.size() == 2
+        timers.every { it.id.getTag("location") == "all" }
+        registry.get(ForecastMetrics.UPSTREAM_CALLS).tags("outcome", "success").timer().count() == 2
+    }
+
+    def "should record the upstream calls of a spot in its own series when asked to"() {
+        given:
+        def metrics = new ForecastMetrics(registry, new MetricsProperties(true))
+
+        when:
+        2.times { metrics.recordUpstreamCall(54.6966, 18.6783, 1_000_000, ForecastMetrics.Outcome.SUCCESS) }
+        metrics.recordUpstreamCall(36.0143, -5.6044, 2_000_000, ForecastMetrics.Outcome.SUCCESS)
+
+        then:
+        registry.get(ForecastMetrics.UPSTREAM_CALLS).timers().size() == 2
+        registry.get(ForecastMetrics.UPSTREAM_CALLS).tags("location", "54.70,18.68").timer().count() == 2
+        registry.get(ForecastMetrics.UPSTREAM_CALLS).tags("location", "36.01,-5.60").timer().count() == 1
+    }
+}